@@ -0,0 +1,93 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+/*
+ * ARC (Megiddo and Modha's Adaptive Replacement Cache).
+ * T1 holds the tracks used once lately and T2 the ones used more than once,
+ * B1 and B2 remember the tracks evicted from each (just the track numbers, nothing is held for them).
+ * A miss on a track in B1 means T1 was too small, so its target size p grows, and a miss in B2 shrinks it,
+ * which lets the buffer lean toward recency or frequency depending on what the trace is doing.
+ * Tracks read ahead go into T1 without moving p, since nobody asked for them.
+ */
+final class ArcCache implements TrackCache {
+    static final int T1 = 0;
+    static final int T2 = 1;
+    static final int B1 = 2;
+    static final int B2 = 3;
+
+    private final int capacity;
+    final TrackLists lists;
+    int p = 0; // how big T1 should be
+
+    ArcCache(int capacity, int highestTrack) {
+        this.capacity = capacity;
+        this.lists = new TrackLists(4, highestTrack);
+    }
+
+    @Override
+    public boolean lookup(int track) {
+        int list = lists.list(track);
+        if (list != T1 && list != T2) return false;
+        lists.addFirst(T2, track);
+        return true;
+    }
+
+    @Override
+    public void load(int track, boolean prefetched) {
+        int list = lists.list(track);
+        if (list == T1 || list == T2) {
+            // already held, a write going through it still counts as a use
+            if (!prefetched) lists.addFirst(T2, track);
+            return;
+        }
+        if (list == B1 && !prefetched) {
+            p = Math.min(capacity, p + Math.max(lists.size(B2) / lists.size(B1), 1));
+            replace(false);
+            lists.addFirst(T2, track);
+            return;
+        }
+        if (list == B2 && !prefetched) {
+            p = Math.max(0, p - Math.max(lists.size(B1) / lists.size(B2), 1));
+            replace(true);
+            lists.addFirst(T2, track);
+            return;
+        }
+        // a track nobody's seen lately (or one read ahead, which is treated as new)
+        if (list != TrackLists.NONE) lists.remove(track);
+        int t1 = lists.size(T1);
+        int b1 = lists.size(B1);
+        if (t1 + b1 == capacity) {
+            if (t1 < capacity) {
+                lists.removeLast(B1);
+                replace(false);
+            } else {
+                lists.removeLast(T1);
+            }
+        } else {
+            int total = t1 + b1 + lists.size(T2) + lists.size(B2);
+            if (total >= capacity) {
+                if (total == 2 * capacity) lists.removeLast(B2);
+                replace(false);
+            }
+        }
+        lists.addFirst(T1, track);
+    }
+
+    // makes room by evicting from T1 or T2, whichever is over its share, into its ghost list
+    private void replace(boolean inB2) {
+        int t1 = lists.size(T1);
+        if (t1 > 0 && (t1 > p || (inB2 && t1 == p))) {
+            lists.addFirst(B1, lists.removeLast(T1));
+        } else if (lists.size(T2) > 0) {
+            lists.addFirst(B2, lists.removeLast(T2));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import java.util.SplittableRandom;
+
+/*
+ * When each request arrives, for the event simulation.
+ *   none          every request is waiting from the start
+ *   trace         the times in the trace itself (a timed trace needs @time on every line)
+ *   poisson:RATE  RATE requests a second on average, each one independent of the last
+ *   bursty:RATE   the same average, but in bursts of about 32 back to back at ten times the rate,
+ *                 with the disk left alone in between
+ * The made up ones come from the seed, so a given seed always makes the same times.
+ */
+public final class ArrivalProcess {
+    private static final double BURST = 32;       // how many requests a burst has on average
+    private static final double BURST_SPEEDUP = 10; // how much faster than the average they come during a burst
+
+    private ArrivalProcess() {}
+
+    // makes sure a description is one of the above before anything is run, throws IllegalArgumentException if not
+    public static void check(String spec) {
+        if (spec.equals("none") || spec.equals("trace")) return;
+        rate(spec);
+    }
+
+    // the arrival time of every request in the trace in nanoseconds, or null if they're all there from the start.
+    // a null spec uses the trace's own times if it has them
+    public static long[] arrivals(String spec, TraceFile.Trace trace, long seed) {
+        if (spec == null) return trace.arrivals;
+        if (spec.equals("none")) return null;
+        if (spec.equals("trace")) {
+            if (trace.arrivals == null) {
+                throw new IllegalArgumentException("the trace doesn't have arrival times");
+            }
+            return trace.arrivals;
+        }
+        Source source = source(spec, seed);
+        long times[] = new long[trace.size()];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = source.next();
+        }
+        return times;
+    }
+
+    // the made up times one after another, so a trace too big to hold can be timed while it's read.
+    // only for poisson and bursty, none and trace don't make anything up
+    public static Source source(String spec, long seed) {
+        return new Source(spec.startsWith("bursty:"), rate(spec), new SplittableRandom(seed));
+    }
+
+    public static final class Source {
+        private final boolean bursty;
+        private final SplittableRandom random;
+        private final double mean;  // nanoseconds between requests
+        private final double quiet; // between bursts
+        private final double fast;  // between requests in a burst
+        private double now = 0;
+        private int left = 0;       // how many more are in the current burst
+
+        private Source(boolean bursty, double rate, SplittableRandom random) {
+            this.bursty = bursty;
+            this.random = random;
+            this.mean = 1e9 / rate;
+            // the gaps between bursts make up the time the bursts saved, so the average rate comes out the same
+            this.quiet = mean * BURST * (1 - 1 / BURST_SPEEDUP);
+            this.fast = mean / BURST_SPEEDUP;
+        }
+
+        public long next() {
+            if (!bursty) {
+                now += exponential(random, mean);
+                return (long) now;
+            }
+            if (left == 0) {
+                now += exponential(random, quiet);
+                // geometric, so the burst sizes average out to BURST
+                left = 1;
+                while (random.nextDouble() >= 1 / BURST) left++;
+            } else {
+                now += exponential(random, fast);
+            }
+            left--;
+            return (long) now;
+        }
+    }
+
+    private static double rate(String spec) {
+        int colon = spec.indexOf(':');
+        String kind = (colon < 0) ? spec : spec.substring(0, colon);
+        if (!kind.equals("poisson") && !kind.equals("bursty")) {
+            throw new IllegalArgumentException(spec + " is not an arrival process");
+        }
+        double rate;
+        try {
+            rate = (colon < 0) ? -1 : Double.parseDouble(spec.substring(colon + 1));
+        } catch (NumberFormatException nfe) {
+            rate = -1;
+        }
+        if (!(rate > 0) || Double.isInfinite(rate)) {
+            throw new IllegalArgumentException(kind + " needs a rate of requests per second after it (e.g. " + kind + ":2000)");
+        }
+        return rate;
+    }
+
+    private static double exponential(SplittableRandom random, double mean) {
+        return -Math.log(1 - random.nextDouble()) * mean;
+    }
+}
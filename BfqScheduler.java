@@ -0,0 +1,249 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+/*
+ * BFQ: Budget Fair Queueing, after the Linux scheduler of the same name.
+ * Every client gets its own queue, and the disk serves one client at a time.
+ * A client keeps the disk until it has used up its budget (bfqBudget, counted as tracks moved
+ * plus one for each request), its time slice runs out (bfqSlice) or it has nothing left waiting.
+ * Within a turn its requests go in C-LOOK order from wherever the head is.
+ *
+ * Which client goes next is worked out the way BFQ's B-WF2Q+ does, on virtual time:
+ * each client's turn starts where its last one finished, and finishes that much later for what it used,
+ * and the one with the earliest start goes next. A client whose slice ran out is charged its whole budget,
+ * so a seeky client can't hold the disk for longer than one that streams.
+ * Every client has the same weight, and the disk never sits idle waiting for the one it's serving.
+ *
+ * When every request is waiting from the start, the clock moves by the disk's service time.
+ */
+public class BfqScheduler implements DiskScheduler {
+    @Override
+    public String name() {
+        return "BFQ";
+    }
+
+    @Override
+    public void schedule(int[] tracks, int count, SchedulerSettings settings, int[] order, byte[] directions) {
+        schedule(tracks, null, null, count, settings, order, directions);
+    }
+
+    @Override
+    public void schedule(int[] tracks, boolean[] writes, int count, SchedulerSettings settings, int[] order, byte[] directions) {
+        schedule(tracks, writes, null, count, settings, order, directions);
+    }
+
+    @Override
+    public void schedule(int[] tracks, boolean[] writes, int[] clients, int count, SchedulerSettings settings, int[] order, byte[] directions) {
+        if (count == 0) return;
+        SeekEngine.checkTracks(tracks, count, settings.tracks);
+        // everyone arrives at 0, then it's the same as when they come in over time
+        Queue queue = new Queue(settings, count, settings.tracks);
+        for (int i = 0; i < count; i++) {
+            queue.add(i, tracks[i], writes != null && writes[i], (clients == null) ? 0 : clients[i], 0);
+        }
+        int head = settings.startTrack;
+        long clock = 0;
+        for (int done = 0; done < count; done++) {
+            int request = queue.next(head, clock);
+            order[done] = request;
+            directions[done] = SeekEngine.ANY;
+            clock += settings.timing.serviceTime(SeekEngine.distance(head, tracks[request], SeekEngine.ANY, settings.tracks));
+            head = tracks[request];
+        }
+    }
+
+    @Override
+    public PendingQueue online(SchedulerSettings settings, int requests, int highestTrack) {
+        return new Queue(settings, requests, highestTrack);
+    }
+
+    static final class Queue implements PendingQueue {
+        private final SchedulerSettings settings;
+        private final int highestTrack;
+        // every client's index links its requests through the same array, a request is only ever in one of them
+        private final int links[];
+
+        // the clients are numbered densely in the order they first send something, and everything about them
+        // is kept in arrays by that number. slots finds a client's number from its id by open addressing
+        // (it holds the number plus 1, 0 for an empty slot), so nothing is boxed per request
+        private int ids[] = new int[16];
+        private int slots[] = new int[32];
+        private int known = 0;
+        private TrackIndex waiting[] = new TrackIndex[16]; // its requests by track, null while it has none and isn't being served
+        private int sizes[] = new int[16];
+        private long starts[] = new long[16];   // the virtual time its next turn starts at
+        private long finishes[] = new long[16]; // and the one its last turn finished at
+        private long since[] = new long[16];    // when it joined the backlog, so ties go to whoever was first
+
+        // the clients waiting for a turn, a binary heap on the earliest start
+        private int backlog[] = new int[16];
+        private int backlogged = 0;
+        private long joined = 0;
+        // the indexes of clients that ran dry, to hand to the next one that needs one
+        private TrackIndex spare[] = new TrackIndex[16];
+        private int spares = 0;
+        private int size = 0;
+
+        private long virtualTime = 0;
+        private int serving = -1;    // whose turn it is, -1 between turns
+        private long used = 0;       // how much of its budget it's used this turn
+        private long sliceStart = 0; // when its turn started
+
+        Queue(SchedulerSettings settings, int requests, int highestTrack) {
+            this.settings = settings;
+            this.highestTrack = Math.max(highestTrack, settings.startTrack);
+            links = new int[requests];
+        }
+
+        @Override
+        public void add(int request, int track, boolean write, long arrival) {
+            add(request, track, write, 0, arrival);
+        }
+
+        @Override
+        public void add(int request, int track, boolean write, int client, long arrival) {
+            int c = number(client);
+            if (waiting[c] == null) {
+                // it had nothing waiting, so its next turn can't start before now in virtual time
+                waiting[c] = (spares == 0) ? new TrackIndex(highestTrack, links) : spare[--spares];
+                starts[c] = Math.max(virtualTime, finishes[c]);
+                join(c);
+            }
+            waiting[c].add(request, track);
+            sizes[c]++;
+            size++;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        @Override
+        public int next(int head, long now) {
+            if (serving >= 0 && (sizes[serving] == 0 || used >= settings.bfqBudget || now - sliceStart >= settings.bfqSlice)) {
+                expire(now);
+            }
+            if (serving < 0) {
+                // the earliest start goes next
+                serving = leave();
+                virtualTime = Math.max(virtualTime, starts[serving]);
+                used = 0;
+                sliceStart = now;
+            }
+
+            // its requests in C-LOOK order from the head
+            TrackIndex index = waiting[serving];
+            int track = index.ceiling(head);
+            if (track < 0) track = index.ceiling(0);
+            int request = index.poll(track);
+            used += SeekEngine.distance(head, track, SeekEngine.ANY, settings.tracks) + 1;
+            sizes[serving]--;
+            size--;
+            return request;
+        }
+
+        // ends the turn of the client being served, charging it for what it used (or all of it, if its slice ran out)
+        private void expire(long now) {
+            long charged = (now - sliceStart >= settings.bfqSlice) ? Math.max(used, settings.bfqBudget) : used;
+            finishes[serving] = starts[serving] + charged;
+            if (sizes[serving] > 0) {
+                starts[serving] = finishes[serving];
+                join(serving);
+            } else {
+                if (spares == spare.length) spare = java.util.Arrays.copyOf(spare, spares * 2);
+                spare[spares++] = waiting[serving];
+                waiting[serving] = null;
+            }
+            serving = -1;
+        }
+
+        // a client's number, giving it the next one if it hasn't been seen
+        private int number(int client) {
+            int mask = slots.length - 1;
+            int i = mix(client) & mask;
+            while (slots[i] != 0) {
+                if (ids[slots[i] - 1] == client) return slots[i] - 1;
+                i = (i + 1) & mask;
+            }
+            if (known == ids.length) {
+                int grown = known * 2;
+                ids = java.util.Arrays.copyOf(ids, grown);
+                waiting = java.util.Arrays.copyOf(waiting, grown);
+                sizes = java.util.Arrays.copyOf(sizes, grown);
+                starts = java.util.Arrays.copyOf(starts, grown);
+                finishes = java.util.Arrays.copyOf(finishes, grown);
+                since = java.util.Arrays.copyOf(since, grown);
+                backlog = java.util.Arrays.copyOf(backlog, grown);
+            }
+            ids[known] = client;
+            slots[i] = ++known;
+            // kept at most half full, so a probe stays short
+            if (known * 2 > slots.length) {
+                slots = new int[slots.length * 2];
+                mask = slots.length - 1;
+                for (int c = 0; c < known; c++) {
+                    int j = mix(ids[c]) & mask;
+                    while (slots[j] != 0) {
+                        j = (j + 1) & mask;
+                    }
+                    slots[j] = c + 1;
+                }
+            }
+            return known - 1;
+        }
+
+        // pids and ASUs tend to be close together, so they're spread out before they're masked
+        private static int mix(int id) {
+            int h = id * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+
+        // puts a client in the backlog (a client is only ever in it once, so it never needs to grow past the clients)
+        private void join(int c) {
+            since[c] = joined++;
+            int i = backlogged++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!before(c, backlog[parent])) break;
+                backlog[i] = backlog[parent];
+                i = parent;
+            }
+            backlog[i] = c;
+        }
+
+        // takes the client with the earliest start out of the backlog
+        private int leave() {
+            int first = backlog[0];
+            int last = backlog[--backlogged];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= backlogged) break;
+                if (child + 1 < backlogged && before(backlog[child + 1], backlog[child])) child++;
+                if (!before(backlog[child], last)) break;
+                backlog[i] = backlog[child];
+                i = child;
+            }
+            backlog[i] = last;
+            return first;
+        }
+
+        private boolean before(int c, int other) {
+            return starts[c] < starts[other] || (starts[c] == starts[other] && since[c] < since[other]);
+        }
+
+        @Override
+        public byte direction() {
+            return SeekEngine.ANY;
+        }
+    }
+}
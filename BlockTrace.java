@@ -0,0 +1,274 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import java.io.*;
+
+/*
+ * Reading real I/O traces, so requests from a server can be replayed through the policies.
+ *   .blkparse  the text blkparse prints from a blktrace capture, e.g.
+ *              "  8,0    3        1     0.000000000   697  Q   W 223490 + 8 [kjournald]"
+ *              only the Q (queued) lines with a sector and an R or W are kept, every device goes to the one disk
+ *   .spc       SPC-1 / UMass style CSV, "ASU,LBA,size,opcode,timestamp", e.g. "0,20941264,8192,W,0.551706"
+ * Both have their times in seconds, and their addresses in 512 byte sectors,
+ * which a Geometry turns into the track (cylinder) the request starts on.
+ * The client that sent each request is the ASU of an SPC trace, and the pid of a blkparse one.
+ *
+ * Lines are picked apart straight from the bytes, nothing is made per line,
+ * so a trace parses about as fast as it can be read.
+ */
+public final class BlockTrace {
+    private BlockTrace() {}
+
+    public static boolean isBlockTrace(String path) {
+        return path.endsWith(".blkparse") || path.endsWith(".spc");
+    }
+
+    /*
+     * How sectors are laid out: heads surfaces with sectors on each track of a cylinder,
+     * so each track number the policies see is heads * sectors sectors.
+     */
+    public static final class Geometry {
+        // the old BIOS translation, 16 heads of 63 sectors
+        public static final Geometry DEFAULT = new Geometry(16, 63);
+
+        public final int heads;
+        public final int sectors;
+
+        public Geometry(int heads, int sectors) {
+            if (heads < 1 || sectors < 1) {
+                throw new IllegalArgumentException("a disk needs at least one head and one sector a track");
+            }
+            this.heads = heads;
+            this.sectors = sectors;
+        }
+
+        // "heads:sectors", e.g. "16:63"
+        public static Geometry parse(String text) {
+            int colon = text.indexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException(text + " isn't heads:sectors");
+            }
+            try {
+                return new Geometry(Integer.parseInt(text.substring(0, colon)), Integer.parseInt(text.substring(colon + 1)));
+            } catch (NumberFormatException nfe) {
+                throw new IllegalArgumentException(text + " isn't heads:sectors");
+            }
+        }
+
+        // tracks start from 1, the same as everywhere else
+        public long track(long sector) {
+            return sector / ((long) heads * sectors) + 1;
+        }
+    }
+
+    public static TraceFile.Reader openReader(File file, Geometry geometry) throws IOException {
+        return openReader(file, geometry, Integer.MAX_VALUE);
+    }
+
+    // tracks is how many the disk has, a sector on a track past it is an error
+    public static TraceFile.Reader openReader(File file, Geometry geometry, int tracks) throws IOException {
+        return new Reader(file, geometry, file.getPath().endsWith(".spc"), tracks);
+    }
+
+    private static final class Reader implements TraceFile.Reader {
+        private final InputStream in;
+        private final Geometry geometry;
+        private final boolean spc;
+        private final int tracks;
+        private final byte buffer[] = new byte[1 << 16];
+        private int position = 0;
+        private int limit = 0;
+        private long line = 0;
+        // the line being looked at, and where each of its fields starts and ends
+        private byte text[] = new byte[256];
+        private int length = 0;
+        private final int starts[] = new int[12];
+        private final int ends[] = new int[12];
+        private int fields = 0;
+
+        Reader(File file, Geometry geometry, boolean spc, int tracks) throws IOException {
+            this.in = new FileInputStream(file);
+            this.geometry = geometry;
+            this.spc = spc;
+            this.tracks = tracks;
+        }
+
+        @Override
+        public int read(int[] values, int offset, int length) throws IOException {
+            return read(values, null, null, offset, length);
+        }
+
+        @Override
+        public int read(int[] values, long[] arrivals, int offset, int length) throws IOException {
+            return read(values, arrivals, null, offset, length);
+        }
+
+        @Override
+        public int read(int[] values, long[] arrivals, int[] clients, int offset, int length) throws IOException {
+            int n = 0;
+            while (n < length && nextLine()) {
+                long sector;
+                long time;
+                boolean write;
+                long client;
+                if (spc) {
+                    // ASU,LBA,size,opcode,timestamp
+                    split((byte) ',');
+                    if (fields < 5 || !isNumber(1)) {
+                        // a header line, or the blank one at the end
+                        if (fields == 0 || line == 1) continue;
+                        throw new IOException("Line " + line + " of the trace isn't ASU,LBA,size,opcode,timestamp");
+                    }
+                    sector = number(1);
+                    byte op = text[starts[3]];
+                    if (op != 'R' && op != 'r' && op != 'W' && op != 'w') {
+                        throw new IOException("Line " + line + " of the trace has an opcode that isn't R or W");
+                    }
+                    write = (op == 'W' || op == 'w');
+                    time = seconds(4);
+                    client = isNumber(0) ? number(0) : 0;
+                } else {
+                    // device cpu sequence time pid action rwbs sector + blocks [process]
+                    split((byte) ' ');
+                    // the summary at the end and anything that isn't a queued read or write is skipped
+                    if (fields < 8 || !is(5, 'Q') || !isNumber(7)) continue;
+                    boolean read = has(6, 'R');
+                    write = has(6, 'W');
+                    if (!read && !write) continue;
+                    sector = number(7);
+                    time = seconds(3);
+                    client = isNumber(4) ? number(4) : 0;
+                }
+                long track = geometry.track(sector);
+                if (track > Integer.MAX_VALUE) {
+                    throw new IOException("Sector " + sector + " on line " + line + " of the trace is past any track this disk can have");
+                }
+                if (track > tracks) {
+                    throw new IOException("Sector " + sector + " on line " + line + " of the trace is on track " + track
+                            + ", past the end of the " + tracks + " track disk (the --geometry decides how sectors map to tracks)");
+                }
+                values[offset + n] = write ? ((int) track | TraceFile.WRITE) : (int) track;
+                if (arrivals != null) arrivals[offset + n] = time;
+                if (clients != null) clients[offset + n] = (int) Math.min(client, Integer.MAX_VALUE);
+                n++;
+            }
+            return (n == 0) ? -1 : n;
+        }
+
+        // reads the next line into text, false at the end of the file
+        private boolean nextLine() throws IOException {
+            length = 0;
+            int c = next();
+            if (c < 0) return false;
+            line++;
+            while (c >= 0 && c != '\n') {
+                if (length == text.length) text = java.util.Arrays.copyOf(text, length * 2);
+                text[length++] = (byte) c;
+                c = next();
+            }
+            if (length > 0 && text[length - 1] == '\r') length--;
+            return true;
+        }
+
+        // finds where each field of the line starts and ends, blanks around a separator don't count
+        private void split(byte separator) {
+            fields = 0;
+            int i = 0;
+            while (i < length && fields < starts.length) {
+                while (i < length && (text[i] == ' ' || text[i] == '\t')) i++;
+                if (i == length) break;
+                starts[fields] = i;
+                while (i < length && text[i] != separator && !(separator == ' ' && text[i] == '\t')) i++;
+                int end = i;
+                while (end > starts[fields] && (text[end - 1] == ' ' || text[end - 1] == '\t')) end--;
+                ends[fields++] = end;
+                if (i < length && text[i] == separator) i++;
+            }
+        }
+
+        private boolean is(int field, char c) {
+            return ends[field] - starts[field] == 1 && text[starts[field]] == c;
+        }
+
+        private boolean has(int field, char c) {
+            for (int i = starts[field]; i < ends[field]; i++) {
+                if (text[i] == c) return true;
+            }
+            return false;
+        }
+
+        private boolean isNumber(int field) {
+            if (ends[field] == starts[field]) return false;
+            for (int i = starts[field]; i < ends[field]; i++) {
+                if (text[i] < '0' || text[i] > '9') return false;
+            }
+            return true;
+        }
+
+        private long number(int field) throws IOException {
+            long value = 0;
+            for (int i = starts[field]; i < ends[field]; i++) {
+                value = value * 10 + (text[i] - '0');
+                if (value > Long.MAX_VALUE / 10) {
+                    throw new IOException("The number on line " + line + " of the trace is too big");
+                }
+            }
+            return value;
+        }
+
+        // a time in seconds with up to nine places after the point, in nanoseconds
+        private long seconds(int field) throws IOException {
+            long whole = 0;
+            long fraction = 0;
+            int places = -1; // -1 until the point
+            for (int i = starts[field]; i < ends[field]; i++) {
+                byte c = text[i];
+                if (c == '.' && places < 0) {
+                    places = 0;
+                } else if (c >= '0' && c <= '9') {
+                    if (places < 0) {
+                        whole = whole * 10 + (c - '0');
+                        if (whole > Long.MAX_VALUE / 1000000000L) {
+                            throw new IOException("The time on line " + line + " of the trace is too big");
+                        }
+                    } else if (places < 9) {
+                        fraction = fraction * 10 + (c - '0');
+                        places++;
+                    }
+                } else {
+                    throw new IOException("Line " + line + " of the trace has a time that isn't a number of seconds");
+                }
+            }
+            for (int p = Math.max(places, 0); p < 9; p++) {
+                fraction *= 10;
+            }
+            return whole * 1000000000L + fraction;
+        }
+
+        private int next() throws IOException {
+            if (position == limit) {
+                limit = in.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            // a byte past 0x7f (UTF-8 in a process name) mustn't come out negative and look like the end of the file
+            return buffer[position++] & 0xFF;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
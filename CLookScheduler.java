@@ -0,0 +1,36 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+/*
+ * C-LOOK: C-SCAN, except after the last request ahead the head seeks straight back
+ * to the furthest request behind it, instead of running out to the edge and wrapping around.
+ */
+public class CLookScheduler implements DiskScheduler {
+    @Override
+    public String name() {
+        return "C-LOOK";
+    }
+
+    @Override
+    public void schedule(int[] tracks, int count, SchedulerSettings settings, int[] order, byte[] directions) {
+        if (count == 0) return;
+        int ids[] = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = i;
+        }
+        ScanScheduler.sweep(settings.startTrack, tracks, ids, count, new long[count], true, true, order, directions, 0);
+    }
+
+    @Override
+    public PendingQueue online(SchedulerSettings settings, int requests, int highestTrack) {
+        return new ScanScheduler.Elevator(settings, requests, highestTrack, true, true);
+    }
+}
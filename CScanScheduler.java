@@ -0,0 +1,36 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+/*
+ * C-SCAN: like SCAN, but instead of sweeping back the head runs out to the edge,
+ * seeks all the way back to the far end without serving anything, and keeps going in the same direction.
+ */
+public class CScanScheduler implements DiskScheduler {
+    @Override
+    public String name() {
+        return "C-SCAN";
+    }
+
+    @Override
+    public void schedule(int[] tracks, int count, SchedulerSettings settings, int[] order, byte[] directions) {
+        if (count == 0) return;
+        int ids[] = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = i;
+        }
+        ScanScheduler.sweep(settings.startTrack, tracks, ids, count, new long[count], true, false, order, directions, 0);
+    }
+
+    @Override
+    public PendingQueue online(SchedulerSettings settings, int requests, int highestTrack) {
+        return new ScanScheduler.Elevator(settings, requests, highestTrack, true, false);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import java.util.Arrays;
+
+/*
+ * How each client that sent requests was served, and how evenly the disk was shared between them.
+ * A client's throughput is how many of its requests were served a second while every client still had some to go,
+ * from the first arrival until the first client was done with all of its requests,
+ * since after that the rest have the disk to themselves however fair the policy is.
+ * Jain's fairness index over those, (sum x)^2 / (n * sum x^2), is 1 when every client got the same throughput
+ * and falls toward 1/n as one client gets it all. When requests arrive over time a client can't get more than it sends,
+ * so it says the most when every client has more waiting than the disk can keep up with.
+ */
+public final class ClientStats {
+    public final int ids[];        // the clients, lowest first
+    public final int counts[];     // how many requests each one sent
+    public final double throughputs[]; // requests a second, while they all had requests to go
+    public final LatencyHistogram responseTimes[];
+    public final double fairness;  // Jain's index over the throughputs
+
+    private ClientStats(int[] ids, int[] counts, double[] throughputs, LatencyHistogram[] responseTimes, double fairness) {
+        this.ids = ids;
+        this.counts = counts;
+        this.throughputs = throughputs;
+        this.responseTimes = responseTimes;
+        this.fairness = fairness;
+    }
+
+    // completed[i] is when request i was done, arrivals is null if they were all waiting from the start.
+    // null if every request came from the same client, since there's nothing to share
+    public static ClientStats of(int[] clients, long[] arrivals, long[] completed, int count) {
+        if (clients == null || count == 0) return null;
+        int ids[] = Arrays.copyOf(clients, count);
+        Arrays.sort(ids);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || ids[i] != ids[i - 1]) ids[distinct++] = ids[i];
+        }
+        if (distinct < 2) return null;
+        ids = Arrays.copyOf(ids, distinct);
+
+        int counts[] = new int[distinct];
+        int client[] = new int[count];
+        long last[] = new long[distinct];
+        LatencyHistogram responseTimes[] = new LatencyHistogram[distinct];
+        for (int c = 0; c < distinct; c++) {
+            responseTimes[c] = new LatencyHistogram();
+        }
+        for (int i = 0; i < count; i++) {
+            int c = Arrays.binarySearch(ids, clients[i]);
+            long arrival = (arrivals == null) ? 0 : arrivals[i];
+            client[i] = c;
+            counts[c]++;
+            last[c] = Math.max(last[c], completed[i]);
+            responseTimes[c].record(completed[i] - arrival);
+        }
+
+        // what each one got served until the first of them was done
+        long start = (arrivals == null) ? 0 : arrivals[0];
+        long end = Long.MAX_VALUE;
+        for (int c = 0; c < distinct; c++) {
+            end = Math.min(end, last[c]);
+        }
+        int served[] = new int[distinct];
+        for (int i = 0; i < count; i++) {
+            if (completed[i] <= end) served[client[i]]++;
+        }
+        double throughputs[] = new double[distinct];
+        double sum = 0;
+        double squares = 0;
+        for (int c = 0; c < distinct; c++) {
+            throughputs[c] = (end <= start) ? 0 : served[c] * 1e9 / (end - start);
+            sum += throughputs[c];
+            squares += throughputs[c] * throughputs[c];
+        }
+        double fairness = (squares == 0) ? 1 : (sum * sum) / (distinct * squares);
+        return new ClientStats(ids, counts, throughputs, responseTimes, fairness);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+/*
+ * CLOCK: the buffer's slots are a ring with a hand going around it.
+ * Every use sets the track's reference bit, and the hand clears bits as it passes,
+ * evicting the first track it finds that hasn't been used since the last time around.
+ * Tracks read ahead go in with their bit clear, so they're the first to go if nobody asks for them.
+ */
+final class ClockCache implements TrackCache {
+    private final int tracks[];       // the track in each slot, -1 if it's empty
+    private final boolean used[];     // the reference bits
+    private final int slot[];         // the slot each track is in, -1 if it isn't in the buffer
+    private int hand = 0;
+
+    ClockCache(int capacity, int highestTrack) {
+        tracks = new int[capacity];
+        java.util.Arrays.fill(tracks, -1);
+        used = new boolean[capacity];
+        slot = new int[highestTrack + 1];
+        java.util.Arrays.fill(slot, -1);
+    }
+
+    @Override
+    public boolean lookup(int track) {
+        if (slot[track] < 0) return false;
+        used[slot[track]] = true;
+        return true;
+    }
+
+    @Override
+    public void load(int track, boolean prefetched) {
+        if (slot[track] >= 0) {
+            if (!prefetched) used[slot[track]] = true;
+            return;
+        }
+        // every bit gets cleared on the way around, so this stops within two turns
+        while (tracks[hand] >= 0 && used[hand]) {
+            used[hand] = false;
+            hand = (hand + 1) % tracks.length;
+        }
+        if (tracks[hand] >= 0) slot[tracks[hand]] = -1;
+        tracks[hand] = track;
+        used[hand] = !prefetched;
+        slot[track] = hand;
+        hand = (hand + 1) % tracks.length;
+    }
+}
@@ -0,0 +1,307 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * A closed loop of clients instead of a trace: each one sends a request, waits for it to be done,
+ * thinks for a while and sends the next, so there are never more requests out than there are clients.
+ * Every client is a thread of its own that blocks until its request is done, a virtual thread when the JVM
+ * has them (Java 21 and up) and a small platform thread when it doesn't, so thousands of clients are cheap.
+ * The disk still runs on simulated time. Its thread wakes one client at a time and waits for it to hand
+ * back its next request before going on, so the same seed always comes out the same.
+ *
+ * Running a policy with more and more clients shows where the disk saturates: past the knee the throughput
+ * stops growing, and every client added only makes the queue and the response times longer.
+ * The knee is taken as the client count with the most throughput for its response time (Kleinrock's power).
+ */
+public final class ClosedLoop {
+    // how big a platform thread's stack is when there aren't virtual threads, the clients barely use any
+    private static final long STACK_BYTES = 128 * 1024;
+    // Thread.ofVirtual() and Thread.Builder.unstarted(), looked up by name so this still runs on Java 17
+    private static final Method OF_VIRTUAL;
+    private static final Method UNSTARTED;
+    static {
+        Method ofVirtual = null;
+        Method unstarted = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            unstarted = Class.forName("java.lang.Thread$Builder").getMethod("unstarted", Runnable.class);
+        } catch (ReflectiveOperationException e) {
+            // before Java 21, the clients get platform threads
+        }
+        OF_VIRTUAL = ofVirtual;
+        UNSTARTED = unstarted;
+    }
+
+    // what one policy did with a given number of clients
+    public static final class Point {
+        public final String policy;
+        public final int clients;
+        public final int served;
+        public final long elapsed;              // simulated ns until the last request counted was done
+        public final long averageServiceTime;
+        public final long totalMoves;
+        public final double averageMoves;
+        public final long averageResponseTime;
+        public final LatencyHistogram responseTimes;
+        public final LatencyHistogram waitTimes;    // from asking to the head starting on it
+        public final LatencyHistogram serviceTimes; // from the head starting on it to being done
+        public final double averageQueueDepth;  // requests waiting or being served, averaged over elapsed
+        public final int maxQueueDepth;
+        public final TrackBuffer buffer;        // null if the drive doesn't have one
+        public final long cpuTime;              // the disk's thread, the clients' threads aren't counted
+
+        private Point(String policy, int clients, int served, long elapsed, long averageServiceTime, long totalMoves,
+                long averageResponseTime, LatencyHistogram responseTimes, LatencyHistogram waitTimes, LatencyHistogram serviceTimes, double averageQueueDepth, int maxQueueDepth,
+                TrackBuffer buffer, long cpuTime) {
+            this.policy = policy;
+            this.clients = clients;
+            this.served = served;
+            this.elapsed = elapsed;
+            this.averageServiceTime = averageServiceTime;
+            this.totalMoves = totalMoves;
+            this.averageMoves = (served == 0) ? 0 : (double) totalMoves / served;
+            this.averageResponseTime = averageResponseTime;
+            this.responseTimes = responseTimes;
+            this.waitTimes = waitTimes;
+            this.serviceTimes = serviceTimes;
+            this.averageQueueDepth = averageQueueDepth;
+            this.maxQueueDepth = maxQueueDepth;
+            this.buffer = buffer;
+            this.cpuTime = cpuTime;
+        }
+
+        // requests a second
+        public double throughput() {
+            return (elapsed <= 0) ? 0 : served * 1e9 / elapsed;
+        }
+
+        // throughput over response time, which peaks at the knee
+        public double power() {
+            return (averageResponseTime <= 0) ? 0 : throughput() / averageResponseTime;
+        }
+    }
+
+    private ClosedLoop() {}
+
+    public static boolean virtualThreads() {
+        return OF_VIRTUAL != null;
+    }
+
+    // which of the points (in order of client count) is the knee
+    public static int knee(Point[] points) {
+        int best = 0;
+        for (int p = 1; p < points.length; p++) {
+            if (points[p].power() > points[best].power()) best = p;
+        }
+        return best;
+    }
+
+    /*
+     * One client. It picks its tracks from its own generation method and random numbers,
+     * and hands each request to the disk's thread through its fields, parking in between.
+     */
+    private static final class Client implements Runnable {
+        private final Thread disk;
+        private final WorkloadGenerator.Distribution distribution;
+        private final SplittableRandom random;
+        private final int tracks;
+        private final double think;   // the average ns it thinks between requests
+        private int position;
+        Thread thread;
+
+        // what it hands over: its next track and how long it thought first
+        int track;
+        long thinking;
+        long arrival;                 // when the disk got its request, kept by the disk's thread
+        private volatile boolean ready = false;   // its next request is in the fields above
+        private volatile boolean resumed = false; // its last request is done (or the run is over)
+        private volatile boolean stopped = false;
+
+        Client(Thread disk, WorkloadGenerator.Distribution distribution, SplittableRandom random, int tracks, double think) {
+            this.disk = disk;
+            this.distribution = distribution;
+            this.random = random;
+            this.tracks = tracks;
+            this.think = think;
+            this.position = random.nextInt(tracks);
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                thinking = (think <= 0) ? 0 : (long) (-Math.log(1 - random.nextDouble()) * think);
+                // the same steps the generator takes, a track outright or a step from the last one
+                int value = distribution.draw(random);
+                position = (value >= 0) ? value : (int) (((long) position - value - 1) % tracks);
+                track = position + 1;
+                ready = true;
+                LockSupport.unpark(disk);
+                // then wait for the disk to do it
+                while (!resumed) {
+                    LockSupport.park(this);
+                }
+                resumed = false;
+                if (stopped) return;
+            }
+        }
+
+        // the disk's side: waits for the next request to be handed over
+        void take() {
+            while (!ready) {
+                LockSupport.park(this);
+            }
+            ready = false;
+        }
+
+        // the disk's side: its request is done, so it can think up the next one
+        void resume() {
+            resumed = true;
+            LockSupport.unpark(thread);
+        }
+
+        void stop() {
+            stopped = true;
+            resume();
+        }
+    }
+
+    // runs a policy with the given number of clients until requests of theirs are done.
+    // client k draws its tracks from the k-th of methods (joined with +, going round if there are more clients),
+    // and thinks for think ns on average (exponentially distributed) between requests
+    public static Point run(String policy, int clients, String methods, long think, int requests, SchedulerSettings settings,
+            long seed, boolean debug) throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        boolean cpuTimed = threads.isCurrentThreadCpuTimeSupported();
+        long cpuStart = cpuTimed ? threads.getCurrentThreadCpuTime() : System.nanoTime();
+
+        String method[] = methods.split("\\+");
+        SplittableRandom root = new SplittableRandom(seed);
+        Client client[] = new Client[clients];
+        for (int c = 0; c < clients; c++) {
+            client[c] = new Client(Thread.currentThread(), WorkloadGenerator.distribution(method[c % method.length], settings.tracks, root.split()),
+                    root.split(), settings.tracks, think);
+            client[c].thread = newThread(client[c], policy + " client " + (c + 1));
+        }
+
+        // each client only ever has one request out, so its number is its request's number
+        PendingQueue queue = SchedulerRegistry.create(policy).online(settings, clients, settings.tracks);
+        DiskHead head = new DiskHead(settings, settings.tracks);
+        EventQueue events = new EventQueue();
+        LatencyHistogram responseTimes = new LatencyHistogram();
+        LatencyHistogram waitTimes = new LatencyHistogram();
+        LatencyHistogram serviceTimes = new LatencyHistogram();
+        int served = 0;
+        long sumOfServiceTimes = 0;
+        long sumOfSeekLengths = 0;
+        long sumOfResponseTimes = 0;
+        double depthTime = 0;
+        int depth = 0;
+        int maxDepth = 0;
+        long lastChange = 0;
+        long now = 0;
+        try {
+            // everyone starts out thinking at 0
+            for (int c = 0; c < clients; c++) {
+                client[c].thread.start();
+                client[c].take();
+                events.push(client[c].thinking, EventQueue.ARRIVAL, c);
+            }
+            boolean busy = false;
+            boolean dispatching = false;
+            long serviceTime = 0;
+            while (served < requests && !events.isEmpty()) {
+                events.poll();
+                now = events.time();
+                int c = events.request();
+                switch (events.type()) {
+                    case EventQueue.ARRIVAL:
+                        depthTime += (double) depth * (now - lastChange);
+                        lastChange = now;
+                        depth++;
+                        maxDepth = Math.max(maxDepth, depth);
+                        client[c].arrival = now;
+                        queue.add(c, client[c].track, false, c, now);
+                        if (!busy && !dispatching) {
+                            events.push(now, EventQueue.DISPATCH, -1);
+                            dispatching = true;
+                        }
+                        break;
+                    case EventQueue.DISPATCH: {
+                        dispatching = false;
+                        int next = queue.next(head.track, now);
+                        serviceTime = head.serve(client[next].track, queue.direction(), false);
+                        sumOfServiceTimes += serviceTime;
+                        sumOfSeekLengths += head.moves;
+                        busy = true;
+                        events.push(now + serviceTime, EventQueue.COMPLETE, next);
+                        break;
+                    }
+                    case EventQueue.COMPLETE:
+                        depthTime += (double) depth * (now - lastChange);
+                        lastChange = now;
+                        depth--;
+                        served++;
+                        long response = now - client[c].arrival;
+                        responseTimes.record(response);
+                        // only one request is ever on the head, so the one finishing is the one serviceTime is for
+                        waitTimes.record(response - serviceTime);
+                        serviceTimes.record(serviceTime);
+                        sumOfResponseTimes += response;
+                        if (debug == true) System.out.println("(" + served + ") " + policy + ": client " + (c + 1) + " got (" + client[c].track + ") after " + response + "ns");
+                        // it thinks up its next request as soon as this one's done
+                        client[c].resume();
+                        client[c].take();
+                        events.push(now + client[c].thinking, EventQueue.ARRIVAL, c);
+                        busy = false;
+                        if (!queue.isEmpty()) {
+                            events.push(now, EventQueue.DISPATCH, -1);
+                            dispatching = true;
+                        }
+                        break;
+                }
+            }
+        } finally {
+            for (int c = 0; c < clients; c++) {
+                if (client[c].thread.isAlive()) client[c].stop();
+            }
+            for (int c = 0; c < clients; c++) {
+                client[c].thread.join();
+            }
+        }
+        long cpuTime = (cpuTimed ? threads.getCurrentThreadCpuTime() : System.nanoTime()) - cpuStart;
+        double averageQueueDepth = (now <= 0) ? 0 : depthTime / now;
+        return new Point(policy, clients, served, now, (served == 0) ? 0 : sumOfServiceTimes / served,
+                sumOfSeekLengths, (served == 0) ? 0 : sumOfResponseTimes / served,
+                responseTimes, waitTimes, serviceTimes, averageQueueDepth, maxDepth, head.buffer, cpuTime);
+    }
+
+    // a virtual thread if there are any, otherwise a platform thread with a small stack
+    private static Thread newThread(Runnable task, String name) {
+        if (OF_VIRTUAL != null) {
+            try {
+                Thread thread = (Thread) UNSTARTED.invoke(OF_VIRTUAL.invoke(null), task);
+                thread.setName(name);
+                return thread;
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // there but not turned on (a preview in Java 19 and 20), so the same as not there
+            }
+        }
+        Thread thread = new Thread(null, task, name, STACK_BYTES);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
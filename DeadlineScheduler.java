@@ -0,0 +1,190 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+/*
+ * DEADLINE: the Linux mq-deadline scheduler.
+ * Reads and writes each get a queue sorted by track and a FIFO in arrival order.
+ * Requests go out in track order, fifoBatch at a time, and in between
+ * the FIFO is checked: once its oldest request has waited past its deadline,
+ * the next batch starts from that one instead. Reads go first, but only writesStarved times
+ * in a row while writes are waiting, so neither side can be put off forever.
+ *
+ * Each request's deadline counts from when it arrived. When every request is waiting from the start,
+ * the clock moves by the disk's service time.
+ */
+public class DeadlineScheduler implements DiskScheduler {
+    private static final int READ = 0;
+    private static final int WRITE = 1;
+
+    @Override
+    public String name() {
+        return "DEADLINE";
+    }
+
+    @Override
+    public void schedule(int[] tracks, int count, SchedulerSettings settings, int[] order, byte[] directions) {
+        schedule(tracks, null, count, settings, order, directions);
+    }
+
+    @Override
+    public void schedule(int[] tracks, boolean[] writes, int count, SchedulerSettings settings, int[] order, byte[] directions) {
+        if (count == 0) return;
+        SeekEngine.checkTracks(tracks, count, settings.tracks);
+        // everyone arrives at 0, then it's the same as when they come in over time
+        Queue queue = new Queue(settings, count, settings.tracks);
+        for (int i = 0; i < count; i++) {
+            queue.add(i, tracks[i], writes != null && writes[i], 0);
+        }
+        int head = settings.startTrack;
+        long clock = 0;
+        for (int done = 0; done < count; done++) {
+            int request = queue.next(head, clock);
+            order[done] = request;
+            directions[done] = SeekEngine.ANY;
+            clock += settings.timing.serviceTime(SeekEngine.distance(head, tracks[request], SeekEngine.ANY, settings.tracks));
+            head = tracks[request];
+        }
+    }
+
+    @Override
+    public PendingQueue online(SchedulerSettings settings, int requests, int highestTrack) {
+        return new Queue(settings, requests, highestTrack);
+    }
+
+    static final class Queue implements PendingQueue {
+        private final SchedulerSettings settings;
+        // the sorted queues and the FIFOs, one of each for reads and writes.
+        // the FIFOs are rings, and each entry has the request's generation above its number,
+        // since a request number that was served can come back as a new request
+        private final TrackIndex sorted[];
+        private final long fifo[][];
+        private final int fifoHead[] = new int[2];
+        private final int fifoSize[] = new int[2];
+        private final int generation[];
+        private final long expire[];
+        private final long deadline[]; // when each request runs out of time
+        private final int tracks[];
+        private final boolean served[];
+        private int size = 0;
+
+        private int lastTrack = -1; // where the last request was, the batch carries on from there in track order
+        private int lastDir = READ;
+        private int batching = 0;   // how many have gone out in the current batch
+        private int starved = 0;    // how many times in a row reads went ahead of waiting writes
+
+        Queue(SchedulerSettings settings, int requests, int highestTrack) {
+            this.settings = settings;
+            int highest = Math.max(highestTrack, settings.startTrack);
+            sorted = new TrackIndex[] {new TrackIndex(highest, requests), new TrackIndex(highest, requests)};
+            fifo = new long[2][requests];
+            generation = new int[requests];
+            expire = new long[] {settings.readExpire, settings.writeExpire};
+            deadline = new long[requests];
+            tracks = new int[requests];
+            served = new boolean[requests];
+        }
+
+        @Override
+        public void add(int request, int track, boolean write, long arrival) {
+            int dir = write ? WRITE : READ;
+            sorted[dir].add(request, track);
+            generation[request]++;
+            served[request] = false;
+            if (fifoSize[dir] == fifo[dir].length) compact(dir);
+            fifo[dir][(fifoHead[dir] + fifoSize[dir]) % fifo[dir].length] = ((long) generation[request] << 32) | request;
+            fifoSize[dir]++;
+            deadline[request] = arrival + expire[dir];
+            tracks[request] = track;
+            size++;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        @Override
+        public int next(int head, long now) {
+            // the next request in track order after the last one, -1 if none
+            int next = -1;
+            if (lastTrack >= 0) {
+                int after = sorted[lastDir].ceiling(lastTrack);
+                if (after >= 0) next = sorted[lastDir].peek(after);
+            }
+            int request;
+            int dir;
+            if (next >= 0 && batching < settings.fifoBatch) {
+                // keep going with the batch
+                request = next;
+                dir = lastDir;
+            } else {
+                // the served requests are skipped over lazily at the front of the FIFOs
+                for (int d = READ; d <= WRITE; d++) {
+                    while (fifoSize[d] > 0 && gone(fifo[d][fifoHead[d]])) {
+                        if (++fifoHead[d] == fifo[d].length) fifoHead[d] = 0;
+                        fifoSize[d]--;
+                    }
+                }
+                boolean reads = fifoSize[READ] > 0;
+                boolean waitingWrites = fifoSize[WRITE] > 0;
+                if (reads && !(waitingWrites && starved++ >= settings.writesStarved)) {
+                    dir = READ;
+                } else {
+                    dir = WRITE;
+                    starved = 0;
+                }
+                // start from the oldest one if it's run out of time or there's nowhere to carry on from
+                int oldest = (int) fifo[dir][fifoHead[dir]];
+                if (deadline[oldest] <= now || next < 0 || lastDir != dir) {
+                    request = oldest;
+                } else {
+                    request = next;
+                }
+                batching = 0;
+            }
+
+            // take it out of both queues (the FIFO lazily).
+            // it's always the earliest on its track, either as the oldest overall or as the one peeked at
+            int track = tracks[request];
+            sorted[dir].poll(track);
+            served[request] = true;
+            batching++;
+            size--;
+            lastTrack = track;
+            lastDir = dir;
+            return request;
+        }
+
+        // whether a FIFO entry's request has been served already
+        private boolean gone(long entry) {
+            int request = (int) entry;
+            return served[request] || generation[request] != (int) (entry >>> 32);
+        }
+
+        // a FIFO can fill up with served requests the lazy skipping hasn't reached,
+        // so when it's full those are squeezed out, which leaves room for everything still waiting
+        private void compact(int dir) {
+            long ring[] = fifo[dir];
+            int kept = 0;
+            // each one kept only ever moves toward the head, so it can be done in place
+            for (int i = 0; i < fifoSize[dir]; i++) {
+                long entry = ring[(fifoHead[dir] + i) % ring.length];
+                if (!gone(entry)) ring[(fifoHead[dir] + kept++) % ring.length] = entry;
+            }
+            fifoSize[dir] = kept;
+        }
+
+        @Override
+        public byte direction() {
+            return SeekEngine.ANY;
+        }
+    }
+}
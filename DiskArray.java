@@ -0,0 +1,285 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+/*
+ * A striped array of disks instead of the one.
+ * The trace's tracks are the array's: they're cut into stripes stripeUnit tracks long,
+ * and the stripes go round robin across the disks (RAID-0), or across mirrored pairs (RAID-10).
+ * Every disk is still a -t track drive, so the same trace striped over more disks
+ * only uses the first part of each one.
+ *
+ * In RAID-10 a write goes to both disks of its pair and isn't done until both are.
+ * A read goes to whichever of the two was last sent a request nearest its track,
+ * the same guess Linux md's raid1 makes about where each head is (ties go to the one with fewer reads so far).
+ *
+ * Every disk gets its own instance of the policy and runs on its own thread,
+ * then the array's numbers are worked out from what each one did.
+ */
+public final class DiskArray {
+    // what --raid asked for
+    public static final class Config {
+        public final int level;      // 0 or 10
+        public final int disks;
+        public final int stripeUnit; // how many tracks in a row go on the same disk
+
+        public Config(int level, int disks, int stripeUnit) {
+            if (level != 0 && level != 10) {
+                throw new IllegalArgumentException("the level has to be 0 or 10");
+            }
+            if (disks < 1 || (level == 10 && (disks < 2 || disks % 2 != 0))) {
+                throw new IllegalArgumentException("RAID-" + level + " can't be made out of " + disks + " disks");
+            }
+            if (stripeUnit < 1) {
+                throw new IllegalArgumentException("a stripe has to be at least 1 track");
+            }
+            this.level = level;
+            this.disks = disks;
+            this.stripeUnit = stripeUnit;
+        }
+
+        // "10:4:16" is RAID-10 over 4 disks with 16 track stripes
+        public static Config parse(String spec) {
+            String parts[] = spec.split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("it needs to be level:disks:stripe");
+            }
+            try {
+                return new Config(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+            } catch (NumberFormatException nfe) {
+                throw new IllegalArgumentException(spec + " isn't three numbers");
+            }
+        }
+
+        // the disks the stripes go across, every other one is a mirror in RAID-10
+        int columns() {
+            return (level == 10) ? disks / 2 : disks;
+        }
+
+        // how many tracks in a row the array holds when each disk has diskTracks of them.
+        // a stripe that only partly fits on the disks is cut short on the first one, and past that nothing fits
+        public int tracks(int diskTracks) {
+            long rows = diskTracks / stripeUnit;
+            return (int) Math.min(Integer.MAX_VALUE, rows * stripeUnit * columns() + diskTracks % stripeUnit);
+        }
+
+        @Override
+        public String toString() {
+            return "RAID-" + level + " over " + disks + " disks in " + stripeUnit + " track stripes";
+        }
+    }
+
+    // what one policy did on the whole array
+    public static final class Run {
+        public final String policy;
+        public final Config config;
+        public final PolicyRun disks[];
+        public final int count;
+        public final LatencyHistogram responseTimes; // from arriving to done, on every disk it went to
+        public final LatencyHistogram waitTimes;     // every disk's requests, from arriving to its head starting on them
+        public final LatencyHistogram serviceTimes;  // every disk's requests, from its head starting on them to done
+        public final long averageServiceTime;        // every disk's busy time added up, per request (a mirrored write counts twice)
+        public final long totalMoves;                // every disk's head movement added up
+        public final long elapsed;                   // from the first arrival to the last request done
+        public final double averageQueueDepth;       // requests waiting or being served across the array, averaged over elapsed
+        public final int maxQueueDepth;
+        public final long cpuTime;                   // every disk's simulator time added up
+        public final ClientStats clients;            // how each client was served by the whole array, null if there was only one
+
+        private Run(String policy, Config config, PolicyRun[] disks, int count, LatencyHistogram responseTimes, LatencyHistogram waitTimes,
+                LatencyHistogram serviceTimes, long averageServiceTime, long totalMoves, long elapsed, double averageQueueDepth, int maxQueueDepth, long cpuTime, ClientStats clients) {
+            this.policy = policy;
+            this.config = config;
+            this.disks = disks;
+            this.count = count;
+            this.responseTimes = responseTimes;
+            this.waitTimes = waitTimes;
+            this.serviceTimes = serviceTimes;
+            this.averageServiceTime = averageServiceTime;
+            this.totalMoves = totalMoves;
+            this.elapsed = elapsed;
+            this.averageQueueDepth = averageQueueDepth;
+            this.maxQueueDepth = maxQueueDepth;
+            this.cpuTime = cpuTime;
+            this.clients = clients;
+        }
+
+        // requests a second the array got through
+        public double throughput() {
+            return (elapsed <= 0) ? 0 : count * 1e9 / elapsed;
+        }
+
+        public double averageMoves() {
+            return (count == 0) ? 0 : (double) totalMoves / count;
+        }
+    }
+
+    private DiskArray() {}
+
+    // arrivals is null if they're all waiting from the start, and clients if they all came from client 0.
+    // results gets every disk's requests and summaries if it isn't null
+    public static Run run(String policy, Config config, int[] tracks, boolean[] writes, int[] clients, long[] arrivals, int count,
+            SchedulerSettings settings, ResultsWriter results, boolean debug) throws InterruptedException, ExecutionException {
+        int columns = config.columns();
+        int unit = config.stripeUnit;
+
+        // where each request goes: the disk for a read (or RAID-0), -1 for a RAID-10 write going to both of its pair
+        int route[] = new int[count];
+        int physical[] = new int[count];
+        int sent[] = new int[config.disks];
+        int lastSent[] = new int[config.disks]; // the track each disk was last sent, where its head is guessed to be
+        long reads[] = new long[config.disks];
+        Arrays.fill(lastSent, settings.startTrack);
+        for (int i = 0; i < count; i++) {
+            if (tracks[i] < 1 || tracks[i] > config.tracks(settings.tracks)) {
+                throw new IllegalArgumentException("request " + (i + 1) + " is on track " + tracks[i] + ", but the array's tracks are 1-" + config.tracks(settings.tracks));
+            }
+            int stripe = (tracks[i] - 1) / unit;
+            int column = stripe % columns;
+            physical[i] = (stripe / columns) * unit + (tracks[i] - 1) % unit + 1;
+            boolean write = writes != null && writes[i];
+            if (config.level == 0) {
+                route[i] = column;
+            } else if (write) {
+                route[i] = -1;
+            } else {
+                int a = 2 * column;
+                int b = a + 1;
+                int toA = SeekEngine.distance(lastSent[a], physical[i], SeekEngine.ANY, settings.tracks);
+                int toB = SeekEngine.distance(lastSent[b], physical[i], SeekEngine.ANY, settings.tracks);
+                route[i] = (toA < toB || (toA == toB && reads[a] <= reads[b])) ? a : b;
+                reads[route[i]]++;
+            }
+            if (route[i] >= 0) {
+                sent[route[i]]++;
+                lastSent[route[i]] = physical[i];
+            } else {
+                sent[2 * column]++;
+                sent[2 * column + 1]++;
+                lastSent[2 * column] = physical[i];
+                lastSent[2 * column + 1] = physical[i];
+            }
+        }
+
+        // each disk's share of the trace, in the same order, with origin[] to find its place in the whole trace
+        int diskTracks[][] = new int[config.disks][];
+        boolean diskWrites[][] = new boolean[config.disks][];
+        long diskArrivals[][] = new long[config.disks][];
+        int diskClients[][] = new int[config.disks][];
+        int origin[][] = new int[config.disks][];
+        for (int d = 0; d < config.disks; d++) {
+            diskTracks[d] = new int[sent[d]];
+            diskWrites[d] = (writes == null) ? null : new boolean[sent[d]];
+            diskArrivals[d] = (arrivals == null) ? null : new long[sent[d]];
+            diskClients[d] = (clients == null) ? null : new int[sent[d]];
+            origin[d] = new int[sent[d]];
+        }
+        int filled[] = new int[config.disks];
+        for (int i = 0; i < count; i++) {
+            int first = (route[i] >= 0) ? route[i] : 2 * (((tracks[i] - 1) / unit) % columns);
+            int last = (route[i] >= 0) ? first : first + 1;
+            for (int d = first; d <= last; d++) {
+                int k = filled[d]++;
+                diskTracks[d][k] = physical[i];
+                if (writes != null) diskWrites[d][k] = writes[i];
+                if (arrivals != null) diskArrivals[d][k] = arrivals[i];
+                if (clients != null) diskClients[d][k] = clients[i];
+                origin[d][k] = i;
+            }
+        }
+
+        // one thread per spindle, each with its own instance of the policy
+        ExecutorService spindles = Executors.newFixedThreadPool(config.disks);
+        PolicyRun disks[] = new PolicyRun[config.disks];
+        try {
+            List<Future<PolicyRun>> futures = new ArrayList<Future<PolicyRun>>();
+            for (int d = 0; d < config.disks; d++) {
+                final int disk = d;
+                ResultsWriter.Records records = (results != null) ? results.records(diskName(policy, disk), origin[disk]) : null;
+                futures.add(spindles.submit(() -> PolicyRun.run(policy, diskTracks[disk], diskWrites[disk], diskClients[disk], diskArrivals[disk],
+                        sent[disk], settings, records, debug)));
+            }
+            for (int d = 0; d < config.disks; d++) {
+                disks[d] = futures.get(d).get();
+                if (debug == true) System.out.println("ARRAY: " + policy + " is done on disk " + (d + 1));
+            }
+        } finally {
+            spindles.shutdownNow();
+        }
+
+        // a request is done once every disk it went to is
+        long done[] = new long[count];
+        long busyTime = 0;
+        long totalMoves = 0;
+        long cpuTime = 0;
+        double depthTime = 0;
+        LatencyHistogram waitTimes = new LatencyHistogram();
+        LatencyHistogram serviceTimes = new LatencyHistogram();
+        for (int d = 0; d < config.disks; d++) {
+            for (int k = 0; k < sent[d]; k++) {
+                done[origin[d][k]] = Math.max(done[origin[d][k]], disks[d].completed[k]);
+            }
+            busyTime += disks[d].averageServiceTime * disks[d].count;
+            totalMoves += disks[d].totalMoves;
+            cpuTime += disks[d].cpuTime;
+            waitTimes.add(disks[d].waitTimes);
+            serviceTimes.add(disks[d].serviceTimes);
+        }
+        LatencyHistogram responseTimes = new LatencyHistogram();
+        long start = (count == 0 || arrivals == null) ? 0 : arrivals[0];
+        long end = start;
+        for (int i = 0; i < count; i++) {
+            long arrival = (arrivals == null) ? 0 : arrivals[i];
+            responseTimes.record(done[i] - arrival);
+            end = Math.max(end, done[i]);
+            // every request is in the array from when it arrives until it's done
+            depthTime += done[i] - arrival;
+        }
+        long elapsed = end - start;
+        double averageQueueDepth = (elapsed <= 0) ? 0 : depthTime / elapsed;
+        int maxQueueDepth = (arrivals == null) ? count : maxDepth(arrivals, done, count);
+        if (results != null) {
+            for (int d = 0; d < config.disks; d++) {
+                results.summary(diskName(policy, d), disks[d]);
+            }
+        }
+        return new Run(policy, config, disks, count, responseTimes, waitTimes, serviceTimes, (count == 0) ? 0 : busyTime / count, totalMoves, elapsed,
+                averageQueueDepth, maxQueueDepth, cpuTime, ClientStats.of(clients, arrivals, done, count));
+    }
+
+    // the most requests in the array at once. arrivals are already in order, the done times get sorted,
+    // and a request that's done at the same time another arrives is gone first
+    private static int maxDepth(long[] arrivals, long[] done, int count) {
+        long sorted[] = Arrays.copyOf(done, count);
+        Arrays.sort(sorted);
+        int depth = 0;
+        int most = 0;
+        int gone = 0;
+        for (int i = 0; i < count; i++) {
+            while (gone < count && sorted[gone] <= arrivals[i]) {
+                gone++;
+                depth--;
+            }
+            depth++;
+            most = Math.max(most, depth);
+        }
+        return most;
+    }
+
+    // what each disk's results are written under
+    public static String diskName(String policy, int disk) {
+        return policy + "@disk" + (disk + 1);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+/*
+ * The head, and what stands between it and the requests the policy sends out:
+ * the track buffer, if the drive has one, and the requests merged onto the one just served.
+ * Every run has one, so the batch loop, the EventSimulator and the StreamingRun all time requests the same way.
+ */
+final class DiskHead {
+    private final SchedulerSettings settings;
+    final TrackBuffer buffer; // null if the drive doesn't have one
+
+    int track;        // where the head is
+    int moves;        // how far the last request took it
+    boolean buffered; // whether the last request came out of the buffer instead
+
+    DiskHead(SchedulerSettings settings, int highestTrack) {
+        this.settings = settings;
+        this.buffer = (settings.buffer != null) ? settings.buffer.open(highestTrack) : null;
+        this.track = settings.startTrack;
+    }
+
+    // goes to a track the policy picked, the way it said to go, and returns how long that took
+    long serve(int to, byte direction, boolean write) {
+        if (buffered(to, write)) return TrackBuffer.HIT_TIME;
+        moves = SeekEngine.distance(track, to, direction, settings.tracks);
+        track = to;
+        return settings.timing.serviceTime(moves);
+    }
+
+    // carries on to a request that was merged onto the one just served.
+    // it's one I/O, so the head goes straight there without waiting on the platter again
+    long follow(int to, boolean write) {
+        if (buffered(to, write)) return TrackBuffer.HIT_TIME;
+        moves = SeekEngine.distance(track, to, SeekEngine.ANY, settings.tracks);
+        track = to;
+        return settings.timing.serviceTime(moves) - settings.timing.serviceTime(0) + settings.timing.transferTime();
+    }
+
+    private boolean buffered(int to, boolean write) {
+        buffered = buffer != null && buffer.serve(track, to, write);
+        if (buffered) moves = 0;
+        return buffered;
+    }
+}
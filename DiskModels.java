@@ -0,0 +1,45 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import java.util.*;
+
+/*
+ * The disks -d can pick from, by name.
+ */
+public final class DiskModels {
+    private static final Map<String, Factory> MODELS = new LinkedHashMap<String, Factory>();
+    static {
+        // a desktop drive: 7200rpm, 8.5ms average seek
+        MODELS.put("hdd", tracks -> new MechanicalDiskModel(tracks, 0.5, 8.5, 16.0, 7200, 150, 4096));
+        // an enterprise drive: 15000rpm, 3.5ms average seek
+        MODELS.put("hdd15k", tracks -> new MechanicalDiskModel(tracks, 0.3, 3.5, 7.0, 15000, 250, 4096));
+        // no head at all, every request costs the same
+        MODELS.put("ssd", tracks -> cylinders -> 100000);
+    }
+
+    private DiskModels() {}
+
+    public interface Factory {
+        DiskTimingModel create(int tracks);
+    }
+
+    public static Set<String> names() {
+        return Collections.unmodifiableSet(MODELS.keySet());
+    }
+
+    public static DiskTimingModel create(String name, int tracks) {
+        Factory factory = MODELS.get(name);
+        if (factory == null) {
+            throw new IllegalArgumentException(name + " is not a known disk");
+        }
+        return factory.create(tracks);
+    }
+}
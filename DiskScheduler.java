@@ -0,0 +1,45 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+/*
+ * A disk scheduling policy.
+ * Policies are found through META-INF/services/os_project3.DiskScheduler,
+ * so a new one only needs a class and a line in that file.
+ */
+public interface DiskScheduler {
+    // the name used to pick this policy with -p
+    String name();
+
+    // decides the order the requests are served in
+    // tracks[0..count) are the requested tracks in arrival order,
+    // order[i] is filled with the index of the request served i-th,
+    // and directions[i] with the way the head travels to reach it (a SeekEngine direction)
+    void schedule(int[] tracks, int count, SchedulerSettings settings, int[] order, byte[] directions);
+
+    // the same, but writes[i] is set when request i is a write (writes is null when they're all reads).
+    // most policies treat reads and writes alike, so by default the flags are ignored
+    default void schedule(int[] tracks, boolean[] writes, int count, SchedulerSettings settings, int[] order, byte[] directions) {
+        schedule(tracks, count, settings, order, directions);
+    }
+
+    // the same, but clients[i] is the client that sent request i (clients is null when they're all from client 0).
+    // only the policies that share the disk between clients look at them
+    default void schedule(int[] tracks, boolean[] writes, int[] clients, int count, SchedulerSettings settings, int[] order, byte[] directions) {
+        schedule(tracks, writes, count, settings, order, directions);
+    }
+
+    // the queue this policy keeps while requests arrive over time, for the event simulation.
+    // requests is how many will arrive in all, and none of them is on a track past highestTrack.
+    // by default the policy plans over whatever is waiting every time the disk is free
+    default PendingQueue online(SchedulerSettings settings, int requests, int highestTrack) {
+        return new ReplanQueue(this, settings, requests);
+    }
+}
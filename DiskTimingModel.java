@@ -0,0 +1,25 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+/*
+ * How long the simulated disk takes to serve a request.
+ * Times come from the model rather than a clock, so the same trace always takes the same time.
+ */
+public interface DiskTimingModel {
+    // simulated nanoseconds to serve one request the head had to travel the given number of cylinders for
+    long serviceTime(int cylinders);
+
+    // how long one more request takes when it's merged onto the one before it, once the head's there,
+    // which skips waiting for the platter to come around. a model that can't tell charges it the same as any other
+    default long transferTime() {
+        return serviceTime(0);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+/*
+ * The events of the simulation, soonest first.
+ * It's a binary heap over plain arrays, so nothing is boxed or allocated per event.
+ * Events at the same time go arrivals, then completions, then dispatches,
+ * so the policy sees everything that has arrived by then before it picks,
+ * and the same kind at the same time go in the order they were pushed.
+ */
+final class EventQueue {
+    static final int ARRIVAL = 0;  // a request shows up
+    static final int COMPLETE = 1; // the head has reached a request and served it
+    static final int DISPATCH = 2; // the disk is free and the policy picks what's next
+
+    private long times[] = new long[16];
+    private long orders[] = new long[16]; // the kind in the top bits, then when it was pushed
+    private int requests[] = new int[16];
+    private int size = 0;
+    private long pushed = 0;
+
+    // what the last poll took off
+    private long time;
+    private int type;
+    private int request;
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void push(long time, int type, int request) {
+        if (size == times.length) {
+            times = java.util.Arrays.copyOf(times, size * 2);
+            orders = java.util.Arrays.copyOf(orders, size * 2);
+            requests = java.util.Arrays.copyOf(requests, size * 2);
+        }
+        long order = ((long) type << 56) | pushed++;
+        // sift up
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(time, order, times[parent], orders[parent])) break;
+            move(parent, i);
+            i = parent;
+        }
+        times[i] = time;
+        orders[i] = order;
+        requests[i] = request;
+    }
+
+    // takes the soonest event off, then time(), type() and request() say what it was
+    void poll() {
+        time = times[0];
+        type = (int) (orders[0] >>> 56);
+        request = requests[0];
+        size--;
+        if (size == 0) return;
+        // sift the last one down from the top
+        long lastTime = times[size];
+        long lastOrder = orders[size];
+        int lastRequest = requests[size];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && before(times[child + 1], orders[child + 1], times[child], orders[child])) child++;
+            if (!before(times[child], orders[child], lastTime, lastOrder)) break;
+            move(child, i);
+            i = child;
+        }
+        times[i] = lastTime;
+        orders[i] = lastOrder;
+        requests[i] = lastRequest;
+    }
+
+    long time() {
+        return time;
+    }
+
+    int type() {
+        return type;
+    }
+
+    int request() {
+        return request;
+    }
+
+    private static boolean before(long time, long order, long otherTime, long otherOrder) {
+        return time < otherTime || (time == otherTime && order < otherOrder);
+    }
+
+    private void move(int from, int to) {
+        times[to] = times[from];
+        orders[to] = orders[from];
+        requests[to] = requests[from];
+    }
+}
@@ -0,0 +1,155 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+/*
+ * Runs one policy the way a disk actually sees its requests: they arrive over time,
+ * and every time the disk is free the policy picks from whatever is waiting right then.
+ * Everything is driven by an EventQueue of arrivals, dispatches and completions,
+ * and the next arrival is only pushed once the one before it has happened,
+ * so the queue never holds more than a few events however long the trace is.
+ */
+final class EventSimulator {
+    private final PendingQueue queue;
+    private final int tracks[];
+    private final boolean writes[]; // null when every request is a read
+    private final int clients[];    // null when every request is from client 0
+    private final long arrivals[];  // when each request arrives, in nanoseconds, never going backward
+    private final int count;
+    private final SchedulerSettings settings;
+    private final String policy;
+    private final ResultsWriter.Records out; // null if the requests aren't written anywhere
+    private final boolean debug;
+
+    // what came of it
+    final int order[];       // the requests in the order they were served
+    final int moves[];       // how far the head went to get to each one
+    final long completed[];  // when each request was done, by its place in the trace
+    final LatencyHistogram responseTimes = new LatencyHistogram(); // from arriving to being served
+    final LatencyHistogram waitTimes = new LatencyHistogram();     // from arriving to the head starting on it
+    final LatencyHistogram serviceTimes = new LatencyHistogram();  // from the head starting on it to being served
+    long sumOfServiceTimes = 0;
+    long sumOfSeekLengths = 0;
+    double depthTime = 0;    // the queue depth added up over every nanosecond, for the time-weighted average
+    int maxDepth = 0;
+    long endTime = 0;        // when the last request was served
+    final DiskHead head;
+    final RequestMerger merger; // null if requests aren't merged
+
+    // the request being served, the ones merged onto it, and how far along those it is
+    private int served = 0;
+    private long serviceTime = 0;
+    private final int riders[];
+    private int riding = 0;
+    private int rode = 0;
+
+    EventSimulator(String policy, DiskScheduler scheduler, int[] tracks, boolean[] writes, int[] clients, long[] arrivals, int count,
+            SchedulerSettings settings, ResultsWriter.Records out, boolean debug) {
+        SeekEngine.checkTracks(tracks, count, settings.tracks);
+        this.queue = scheduler.online(settings, count, settings.tracks);
+        this.head = new DiskHead(settings, settings.tracks);
+        this.merger = (settings.merging != null) ? settings.merging.open(count, settings.tracks) : null;
+        this.riders = (merger != null) ? new int[settings.merging.maxSize] : null;
+        this.tracks = tracks;
+        this.writes = writes;
+        this.clients = clients;
+        this.arrivals = arrivals;
+        this.count = count;
+        this.settings = settings;
+        this.policy = policy;
+        this.out = out;
+        this.debug = debug;
+        this.order = new int[count];
+        this.moves = new int[count];
+        this.completed = new long[count];
+    }
+
+    void run() {
+        if (count == 0) return;
+        EventQueue events = new EventQueue();
+        events.push(arrivals[0], EventQueue.ARRIVAL, 0);
+        boolean busy = false;            // whether the head is off serving a request
+        boolean dispatching = false;     // whether there's a dispatch waiting in the events already
+        int depth = 0;                   // waiting plus being served
+        long lastChange = arrivals[0];   // when depth last changed
+        while (!events.isEmpty()) {
+            events.poll();
+            long now = events.time();
+            int request = events.request();
+            switch (events.type()) {
+                case EventQueue.ARRIVAL:
+                    depthTime += (double) depth * (now - lastChange);
+                    lastChange = now;
+                    depth++;
+                    maxDepth = Math.max(maxDepth, depth);
+                    // one merged onto a waiting request never reaches the policy
+                    boolean write = writes != null && writes[request];
+                    if (merger == null || !merger.add(request, tracks[request], write)) {
+                        queue.add(request, tracks[request], write, (clients == null) ? 0 : clients[request], now);
+                    }
+                    if (request + 1 < count) {
+                        events.push(arrivals[request + 1], EventQueue.ARRIVAL, request + 1);
+                    }
+                    if (!busy && !dispatching) {
+                        events.push(now, EventQueue.DISPATCH, -1);
+                        dispatching = true;
+                    }
+                    break;
+                case EventQueue.DISPATCH: {
+                    dispatching = false;
+                    if (busy || queue.isEmpty()) break;
+                    int next = queue.next(head.track, now);
+                    riding = (merger != null) ? merger.take(next, writes != null && writes[next], tracks, riders, head.track, queue.direction()) : 0;
+                    rode = 0;
+                    busy = true;
+                    start(events, now, next, false);
+                    break;
+                }
+                case EventQueue.COMPLETE:
+                    depthTime += (double) depth * (now - lastChange);
+                    lastChange = now;
+                    depth--;
+                    responseTimes.record(now - arrivals[request]);
+                    completed[request] = now;
+                    if (out != null) out.request(served, request + 1, tracks[request], moves[served - 1], serviceTime, now, now - arrivals[request]);
+                    endTime = now;
+                    if (rode < riding) {
+                        // the ones merged onto it go right after, the head's still busy with the same dispatch
+                        start(events, now, riders[rode++], true);
+                        break;
+                    }
+                    busy = false;
+                    if (!queue.isEmpty()) {
+                        events.push(now, EventQueue.DISPATCH, -1);
+                        dispatching = true;
+                    }
+                    break;
+            }
+        }
+    }
+
+    // sends a request to the head, either one the policy picked or one merged onto it
+    private void start(EventQueue events, long now, int request, boolean merged) {
+        int from = head.track;
+        int track = tracks[request];
+        boolean write = writes != null && writes[request];
+        serviceTime = merged ? head.follow(track, write) : head.serve(track, queue.direction(), write);
+        waitTimes.record(now - arrivals[request]);
+        serviceTimes.record(serviceTime);
+        moves[served] = head.moves;
+        sumOfServiceTimes += serviceTime;
+        sumOfSeekLengths += moves[served];
+        order[served] = request;
+        if (debug == true) System.out.println("(" + (served + 1) + ") " + policy + " at " + now + "ns: moving from (" + from + ") to (" + track + ") takes " + moves[served] + " moves and " + serviceTime + "ns"
+                + (head.buffered ? ", out of the buffer" : "") + (merged ? ", merged" : ""));
+        served++;
+        events.push(now + serviceTime, EventQueue.COMPLETE, request);
+    }
+}
@@ -0,0 +1,25 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+/*
+ * F-LOOK: FSCAN, but each frozen queue is served with a LOOK pass instead of a SCAN pass.
+ */
+public class FLookScheduler extends FScanScheduler {
+    @Override
+    public String name() {
+        return "F-LOOK";
+    }
+
+    @Override
+    protected boolean look() {
+        return true;
+    }
+}
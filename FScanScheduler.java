@@ -0,0 +1,156 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * FSCAN: two queues. The frozen one is served with a SCAN pass,
+ * and anything that arrives in the meantime goes into the other one,
+ * which is frozen and served next once the pass is done.
+ *
+ * Requests don't all show up at once. The first batch is waiting when the head starts,
+ * then the rest arrive one at a time, batch of them for every time the head travels the whole disk
+ * (each request also takes one track's worth of time to serve even if the head doesn't move).
+ * An arrival thread hands them in as the head's clock reaches them.
+ * The queues are two int arrays that swap places, so nothing is allocated once it starts,
+ * and whichever side has to wait parks instead of spinning.
+ */
+public class FScanScheduler implements DiskScheduler {
+    @Override
+    public String name() {
+        return "FSCAN";
+    }
+
+    @Override
+    public void schedule(int[] tracks, int total, SchedulerSettings settings, int[] order, byte[] directions) {
+        if (total == 0) return;
+        new Run(tracks, total, settings, order, directions, look()).serve();
+    }
+
+    // in the event simulation the requests already arrive over time, so the arrival thread isn't needed,
+    // each pass just freezes everything that's waiting
+    @Override
+    public PendingQueue online(SchedulerSettings settings, int requests, int highestTrack) {
+        return new ScanScheduler.PassQueue(requests, Integer.MAX_VALUE, look());
+    }
+
+    // whether each pass turns around at its last request instead of the edge of the disk
+    protected boolean look() {
+        return false;
+    }
+
+    private static final class Run {
+        private final int tracks[];
+        private final int total;
+        private final SchedulerSettings settings;
+        private final int order[];
+        private final byte directions[];
+        private final boolean look;
+        private final double spacing; // how much head time passes between arrivals
+
+        // the queue new arrivals go into, swapped with the frozen one after every pass
+        private int filling[];
+        private int filled = 0;
+        private int frozen[];
+
+        private volatile long clock = 0;   // how much head time has passed
+        private volatile long upTo = -1;   // the arrivals have handed in everything due by this time
+        private final Thread server;
+        private Thread arrivals;
+
+        Run(int[] tracks, int total, SchedulerSettings settings, int[] order, byte[] directions, boolean look) {
+            this.tracks = tracks;
+            this.total = total;
+            this.settings = settings;
+            this.order = order;
+            this.directions = directions;
+            this.look = look;
+            this.spacing = Math.max(1.0, (double) settings.tracks / settings.batch);
+            this.filling = new int[total];
+            this.frozen = new int[total];
+            this.server = Thread.currentThread();
+        }
+
+        // when a request shows up on the head's clock
+        private long arrival(int request) {
+            if (request < settings.batch) return 0;
+            return (long) Math.ceil((request - settings.batch + 1) * spacing);
+        }
+
+        void serve() {
+            arrivals = new Thread(this::arrive, "FSCAN arrivals");
+            arrivals.setDaemon(true);
+            arrivals.start();
+
+            int head = settings.startTrack;
+            long keys[] = new long[total];
+            int done = 0;
+            while (done < total) {
+                // wait until everything that's due by now has been handed in
+                while (upTo < clock) {
+                    LockSupport.park(this);
+                }
+                int length;
+                synchronized (this) {
+                    length = filled;
+                    if (length > 0) {
+                        // freeze what's there and give the arrivals the other array
+                        int swap[] = frozen;
+                        frozen = filling;
+                        filling = swap;
+                        filled = 0;
+                    }
+                }
+                if (length == 0) {
+                    // nothing waiting, so the disk sits idle until the next one arrives
+                    // (everything before it has been served, so that's request number done)
+                    clock = arrival(done);
+                    LockSupport.unpark(arrivals);
+                    continue;
+                }
+
+                ScanScheduler.sweep(head, tracks, frozen, length, keys, false, look, order, directions, done);
+                long time = clock;
+                for (int i = done; i < done + length; i++) {
+                    int track = tracks[order[i]];
+                    time += SeekEngine.distance(head, track, directions[i], settings.tracks) + 1;
+                    head = track;
+                }
+                done += length;
+                // the clock only moves once per pass, so the arrivals wake up once per pass
+                clock = time;
+                LockSupport.unpark(arrivals);
+            }
+        }
+
+        // hands each request in once the head's clock has reached it
+        private void arrive() {
+            int request = 0;
+            while (request < total) {
+                long now = clock;
+                synchronized (this) {
+                    while (request < total && arrival(request) <= now) {
+                        filling[filled++] = request;
+                        request++;
+                    }
+                }
+                upTo = now;
+                LockSupport.unpark(server);
+                // then sleep until the head has moved on
+                while (request < total && clock == now) {
+                    LockSupport.park(this);
+                }
+            }
+            upTo = Long.MAX_VALUE;
+            LockSupport.unpark(server);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+/*
+ * First in, first out: requests are served in the order they arrive.
+ */
+public class FifoScheduler implements DiskScheduler {
+    @Override
+    public String name() {
+        return "FIFO";
+    }
+
+    @Override
+    public void schedule(int[] tracks, int count, SchedulerSettings settings, int[] order, byte[] directions) {
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+            directions[i] = SeekEngine.ANY;
+        }
+    }
+
+    @Override
+    public PendingQueue online(SchedulerSettings settings, int requests, int highestTrack) {
+        return new PendingQueue() {
+            // they come out in the order they went in, so a ring buffer does it
+            private final int waiting[] = new int[requests];
+            private int head = 0;
+            private int size = 0;
+
+            @Override
+            public void add(int request, int track, boolean write, long arrival) {
+                waiting[(head + size) % waiting.length] = request;
+                size++;
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return size == 0;
+            }
+
+            @Override
+            public int next(int track, long now) {
+                int request = waiting[head];
+                if (++head == waiting.length) head = 0;
+                size--;
+                return request;
+            }
+
+            @Override
+            public byte direction() {
+                return SeekEngine.ANY;
+            }
+        };
+    }
+}
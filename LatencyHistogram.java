@@ -0,0 +1,85 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+/*
+ * Counts how many values fell into each of a fixed set of buckets, the way HdrHistogram does.
+ * Values under 128 get a bucket each. Above that every power of two is split into 64 equal buckets,
+ * so any value is off by less than 1 part in 64 (about 1.5%) no matter how big it is.
+ * That's 3712 counters covering everything up to Long.MAX_VALUE, however many values are recorded.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BITS = 6;               // 64 buckets per power of two
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int LINEAR = SUB_COUNT * 2;     // values below this are exact
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB_COUNT;
+
+    private final long counts[] = new long[BUCKETS];
+    private long total = 0;
+    private long max = 0;
+
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Can't record a negative value (" + value + ")");
+        }
+        counts[index(value)]++;
+        total++;
+        if (value > max) max = value;
+    }
+
+    // adds everything another histogram recorded into this one
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        if (other.max > max) max = other.max;
+    }
+
+    public long count() {
+        return total;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    // the smallest value that at least the given percent of the recorded values are at or under,
+    // rounded up to the top of its bucket but never past the largest value actually seen
+    public long percentile(double percent) {
+        if (total == 0) return 0;
+        long wanted = (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percent)) / 100.0);
+        if (wanted < 1) wanted = 1;
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= wanted) {
+                return Math.min(highestInBucket(i), max);
+            }
+        }
+        return max;
+    }
+
+    static int index(long value) {
+        if (value < LINEAR) return (int) value;
+        // shift the value down until it's between 64 and 127, how far it went picks the power of two
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return ((shift + 1) << SUB_BITS) + (int) (value >>> shift) - SUB_COUNT;
+    }
+
+    static long highestInBucket(int index) {
+        if (index < LINEAR) return index;
+        int shift = (index >>> SUB_BITS) - 1;
+        long sub = (index & (SUB_COUNT - 1)) + SUB_COUNT;
+        long next = (sub + 1) << shift;
+        // the very last bucket runs right up to Long.MAX_VALUE
+        return (next <= 0) ? Long.MAX_VALUE : next - 1;
+    }
+}
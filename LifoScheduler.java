@@ -0,0 +1,56 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+/*
+ * Last in, first out: the newest request is always served next.
+ */
+public class LifoScheduler implements DiskScheduler {
+    @Override
+    public String name() {
+        return "LIFO";
+    }
+
+    @Override
+    public void schedule(int[] tracks, int count, SchedulerSettings settings, int[] order, byte[] directions) {
+        for (int i = 0; i < count; i++) {
+            order[i] = (count - 1) - i;
+            directions[i] = SeekEngine.ANY;
+        }
+    }
+
+    @Override
+    public PendingQueue online(SchedulerSettings settings, int requests, int highestTrack) {
+        return new PendingQueue() {
+            private final int stack[] = new int[requests];
+            private int size = 0;
+
+            @Override
+            public void add(int request, int track, boolean write, long arrival) {
+                stack[size++] = request;
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return size == 0;
+            }
+
+            @Override
+            public int next(int head, long now) {
+                return stack[--size];
+            }
+
+            @Override
+            public byte direction() {
+                return SeekEngine.ANY;
+            }
+        };
+    }
+}
@@ -0,0 +1,39 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+/*
+ * LRU: the track that's gone the longest without being used is the one evicted.
+ * Tracks read ahead go in as if they'd just been used.
+ */
+final class LruCache implements TrackCache {
+    private final int capacity;
+    private final TrackLists lists;
+
+    LruCache(int capacity, int highestTrack) {
+        this.capacity = capacity;
+        this.lists = new TrackLists(1, highestTrack);
+    }
+
+    @Override
+    public boolean lookup(int track) {
+        if (lists.list(track) == TrackLists.NONE) return false;
+        lists.addFirst(0, track);
+        return true;
+    }
+
+    @Override
+    public void load(int track, boolean prefetched) {
+        if (lists.list(track) == TrackLists.NONE && lists.size(0) == capacity) {
+            lists.removeLast(0);
+        }
+        lists.addFirst(0, track);
+    }
+}
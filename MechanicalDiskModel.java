@@ -0,0 +1,68 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+/*
+ * A spinning disk: seek, then wait for the sector to come around, then transfer.
+ *
+ * Seeking d > 0 cylinders takes settle + a*sqrt(d) + b*d. The square root covers
+ * the arm speeding up and slowing down on short seeks, the linear part the coasting on long ones.
+ * a and b are picked so an average seek (a third of the disk) and a full stroke take the times given.
+ * Rotational latency is half a turn, and the transfer is one request's worth of bytes.
+ */
+public class MechanicalDiskModel implements DiskTimingModel {
+    private final double settle;
+    private final double a;
+    private final double b;
+    private final long rotation;
+    private final long transfer;
+
+    public MechanicalDiskModel(int tracks, double settleMs, double averageSeekMs, double fullStrokeMs,
+            int rpm, double transferMBps, int requestBytes) {
+        if (rpm < 1 || transferMBps <= 0 || requestBytes < 0 || settleMs < 0) {
+            throw new IllegalArgumentException("The disk's speed, transfer rate, request size and settle time can't be negative");
+        }
+        double full = Math.max(1, tracks - 1);
+        double average = Math.max(1, full / 3);
+        double toFull = fullStrokeMs - settleMs;
+        double toAverage = averageSeekMs - settleMs;
+        if (full == average) {
+            // too few tracks to tell a short seek from a long one
+            b = 0;
+            a = toFull / Math.sqrt(full);
+        } else {
+            b = (toFull * Math.sqrt(average) - toAverage * Math.sqrt(full))
+                    / (full * Math.sqrt(average) - average * Math.sqrt(full));
+            a = (toFull - b * full) / Math.sqrt(full);
+        }
+        if (a < 0 || b < 0) {
+            throw new IllegalArgumentException("An average seek of " + averageSeekMs + "ms and a full stroke of "
+                    + fullStrokeMs + "ms don't make a seek curve that only ever gets slower");
+        }
+        this.settle = settleMs;
+        this.rotation = Math.round(60e9 / rpm / 2);
+        this.transfer = Math.round(requestBytes / (transferMBps * 1e6) * 1e9);
+    }
+
+    public long seekTime(int cylinders) {
+        if (cylinders <= 0) return 0;
+        return Math.round((settle + a * Math.sqrt(cylinders) + b * cylinders) * 1e6);
+    }
+
+    @Override
+    public long serviceTime(int cylinders) {
+        return seekTime(cylinders) + rotation + transfer;
+    }
+
+    @Override
+    public long transferTime() {
+        return transfer;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+/*
+ * N-STEP-SCAN: requests are split into groups of one batch each,
+ * and each group is served with its own SCAN pass before the next group is looked at.
+ */
+public class NStepScanScheduler implements DiskScheduler {
+    @Override
+    public String name() {
+        return "N-STEP-SCAN";
+    }
+
+    @Override
+    public void schedule(int[] tracks, int count, SchedulerSettings settings, int[] order, byte[] directions) {
+        int batch = settings.batch;
+        int ids[] = new int[batch];
+        long keys[] = new long[batch];
+        int head = settings.startTrack;
+        for (int done = 0; done < count; ) {
+            int length = Math.min(batch, count - done);
+            for (int i = 0; i < length; i++) {
+                ids[i] = done + i;
+            }
+            ScanScheduler.sweep(head, tracks, ids, length, keys, false, false, order, directions, done);
+            done += length;
+            // the next group starts wherever this one left the head
+            head = tracks[order[done - 1]];
+        }
+    }
+
+    @Override
+    public PendingQueue online(SchedulerSettings settings, int requests, int highestTrack) {
+        return new ScanScheduler.PassQueue(requests, settings.batch, false);
+    }
+}
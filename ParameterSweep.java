@@ -0,0 +1,290 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/*
+ * Runs every combination of workload, seed, start track, batch size and policy in one go,
+ * instead of one launch of the simulator per combination.
+ * Each workload is made (or read) once and shared by every job that uses it,
+ * since the policies only ever read their tracks. The jobs run on a ForkJoinPool
+ * with one worker per core, and the results come out as one CSV or JSON file
+ * in the same order as the grid no matter which job finished first.
+ */
+public final class ParameterSweep {
+    // the most jobs one sweep takes on, a grid bigger than that is almost certainly a typo in one of its ranges
+    public static final int MAX_JOBS = 1 << 20;
+
+    private final String policies[];
+    private final int starts[];
+    private final int batches[];
+    private final String generators[]; // null to use the input trace instead
+    private final long seeds[];
+    private final File input;
+    private final BlockTrace.Geometry geometry;
+    private final int count;
+    private final String arrivals;        // the ArrivalProcess, null for the trace's own times
+    private final SchedulerSettings base; // everything but the start track and batch size
+    private final boolean debug;
+
+    public ParameterSweep(String[] policies, int[] starts, int[] batches, String[] generators, long[] seeds,
+            File input, BlockTrace.Geometry geometry, int count, String arrivals, SchedulerSettings base, boolean debug) {
+        this.policies = policies;
+        this.starts = starts;
+        this.batches = batches;
+        this.generators = generators;
+        this.seeds = seeds;
+        this.input = input;
+        this.geometry = geometry;
+        this.count = count;
+        this.arrivals = arrivals;
+        this.base = base;
+        this.debug = debug;
+    }
+
+    // one trace every job with the same workload and seed shares
+    private static final class Workload {
+        final String name;
+        final String seed;
+        final TraceFile.Trace trace;
+        final long arrivals[];
+
+        Workload(String name, String seed, TraceFile.Trace trace, long[] arrivals) {
+            this.name = name;
+            this.seed = seed;
+            this.trace = trace;
+            this.arrivals = arrivals;
+        }
+    }
+
+    // returns how many jobs were run
+    public int run(String outputPath) throws IOException {
+        // the grid is sized up before any workload is made or job submitted
+        long grid = 1;
+        for (long size: new long[] {(generators == null) ? 1 : generators.length, (generators == null) ? 1 : seeds.length,
+                starts.length, batches.length, policies.length}) {
+            grid *= size;
+            if (grid > MAX_JOBS) {
+                throw new IllegalArgumentException("the grid comes to more than " + MAX_JOBS + " jobs");
+            }
+        }
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            long startTime = System.nanoTime();
+            List<Workload> workloads = makeWorkloads(pool);
+
+            // the grid, workload first so the output groups the way the old output files did.
+            // each job turns its run into its line of output right away,
+            // so the served tracks can be dropped instead of piling up until they're written
+            boolean json = outputPath.endsWith(".json");
+            List<ForkJoinTask<String>> jobs = new ArrayList<ForkJoinTask<String>>();
+            for (Workload workload: workloads) {
+                for (int start: starts) {
+                    for (int batch: batches) {
+                        SchedulerSettings settings = base.with(start, batch);
+                        for (String policy: policies) {
+                            jobs.add(pool.submit(() -> {
+                                PolicyRun result = PolicyRun.run(policy, workload.trace.tracks, workload.trace.writes, workload.trace.clients, workload.arrivals,
+                                        workload.trace.size(), settings, null, false);
+                                StringBuilder line = new StringBuilder();
+                                if (json) {
+                                    writeJson(line, workload, settings, result);
+                                } else {
+                                    writeCsv(line, workload, settings, result);
+                                }
+                                return line.toString();
+                            }));
+                        }
+                    }
+                }
+            }
+            if (debug == true) System.out.println("SWEEP: running " + jobs.size() + " jobs on " + pool.getParallelism() + " threads");
+
+            ReportWriter out = new ReportWriter(outputPath, false);
+            try {
+                if (json) {
+                    out.log("[\n");
+                } else {
+                    out.log("workload,seed,start,batch,policy,requests,avg_service_ns,total_moves,avg_moves,p50_ns,p90_ns,p99_ns,p999_ns,max_ns,"
+                            + "wait_p50_ns,wait_p90_ns,wait_p99_ns,wait_p999_ns,wait_max_ns,service_p50_ns,service_p90_ns,service_p99_ns,service_p999_ns,service_max_ns,"
+                            + "avg_queue_depth,max_queue_depth,most_bypassed,buffer_hit_rate,seeks_avoided,dispatches,merged,moves_saved,jain_fairness,cpu_ns\n");
+                }
+                for (int j = 0; j < jobs.size(); j++) {
+                    // join in grid order, the rest keep running in the meantime
+                    if (json && j > 0) out.log(",\n");
+                    out.log(jobs.get(j).join());
+                }
+                if (json) out.log("\n]\n");
+            } finally {
+                out.close();
+            }
+            if (debug == true) System.out.println("SWEEP: done in " + ((System.nanoTime() - startTime) / 1000000) + "ms");
+            return jobs.size();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private List<Workload> makeWorkloads(ForkJoinPool pool) throws IOException {
+        List<Workload> workloads = new ArrayList<Workload>();
+        if (generators == null) {
+            // there's no seed to go with a trace, so made up arrival times come from the first one
+            TraceFile.Trace trace = TraceFile.load(input, geometry, base.tracks);
+            workloads.add(new Workload(input.getName(), "", trace, ArrivalProcess.arrivals(arrivals, trace, seeds[0])));
+            return workloads;
+        }
+        // the generator already fills its chunks in parallel, running it inside the pool keeps it there
+        for (String generator: generators) {
+            for (long seed: seeds) {
+                TraceFile.Trace generated = pool.submit(() -> WorkloadGenerator.trace(generator, count, base.tracks, seed)).join();
+                workloads.add(new Workload(generator, Long.toString(seed), generated, ArrivalProcess.arrivals(arrivals, generated, seed)));
+            }
+        }
+        return workloads;
+    }
+
+    private static void writeCsv(StringBuilder line, Workload workload, SchedulerSettings settings, PolicyRun result) {
+        line.append(workload.name).append(',')
+            .append(workload.seed).append(',')
+            .append(settings.startTrack).append(',')
+            .append(settings.batch).append(',')
+            .append(result.policy).append(',')
+            .append(result.count).append(',')
+            .append(result.averageServiceTime).append(',')
+            .append(result.totalMoves).append(',')
+            .append(ResultsWriter.averageMoves(result.totalMoves, result.count)).append(',')
+            .append(result.responseTimes.percentile(50)).append(',')
+            .append(result.responseTimes.percentile(90)).append(',')
+            .append(result.responseTimes.percentile(99)).append(',')
+            .append(result.responseTimes.percentile(99.9)).append(',')
+            .append(result.responseTimes.max()).append(',');
+        ResultsWriter.csvPercentiles(line, result.waitTimes);
+        ResultsWriter.csvPercentiles(line, result.serviceTimes);
+        line.append(String.format(Locale.ROOT, "%.3f", result.averageQueueDepth)).append(',')
+            .append(result.maxQueueDepth).append(',')
+            .append(result.mostBypassed).append(',');
+        // the buffer's and merging's columns are left empty when they're off
+        if (result.buffer != null) {
+            line.append(String.format(Locale.ROOT, "%.4f", result.buffer.hitRate())).append(',')
+                .append(result.buffer.seeksAvoided).append(',');
+        } else {
+            line.append(",,");
+        }
+        if (result.merger != null) {
+            line.append(result.merger.dispatches).append(',')
+                .append(result.merger.merged).append(',');
+        } else {
+            line.append(",,");
+        }
+        if (result.buffer != null || result.merger != null) {
+            line.append(result.movesSaved).append(',');
+        } else {
+            line.append(',');
+        }
+        if (result.clients != null) {
+            line.append(String.format(Locale.ROOT, "%.4f", result.clients.fairness)).append(',');
+        } else {
+            line.append(',');
+        }
+        line.append(result.cpuTime).append('\n');
+    }
+
+    private static void writeJson(StringBuilder line, Workload workload, SchedulerSettings settings, PolicyRun result) {
+        // policies and generators are plain words, only a trace's file name could need escaping
+        line.append("  {\"workload\": \"").append(workload.name.replace("\\", "\\\\").replace("\"", "\\\""))
+            .append("\", \"seed\": ").append(workload.seed.isEmpty() ? "null" : workload.seed)
+            .append(", \"start\": ").append(settings.startTrack)
+            .append(", \"batch\": ").append(settings.batch)
+            .append(", \"policy\": \"").append(result.policy)
+            .append("\", \"requests\": ").append(result.count)
+            .append(", \"avg_service_ns\": ").append(result.averageServiceTime)
+            .append(", \"total_moves\": ").append(result.totalMoves)
+            .append(", \"avg_moves\": ").append(ResultsWriter.averageMoves(result.totalMoves, result.count))
+            .append(", \"p50_ns\": ").append(result.responseTimes.percentile(50))
+            .append(", \"p90_ns\": ").append(result.responseTimes.percentile(90))
+            .append(", \"p99_ns\": ").append(result.responseTimes.percentile(99))
+            .append(", \"p999_ns\": ").append(result.responseTimes.percentile(99.9))
+            .append(", \"max_ns\": ").append(result.responseTimes.max());
+        ResultsWriter.jsonPercentiles(line, "wait", result.waitTimes);
+        ResultsWriter.jsonPercentiles(line, "service", result.serviceTimes);
+        line.append(", \"avg_queue_depth\": ").append(String.format(Locale.ROOT, "%.3f", result.averageQueueDepth))
+            .append(", \"max_queue_depth\": ").append(result.maxQueueDepth)
+            .append(", \"most_bypassed\": ").append(result.mostBypassed);
+        if (result.buffer != null) {
+            line.append(", \"buffer_hit_rate\": ").append(String.format(Locale.ROOT, "%.4f", result.buffer.hitRate()))
+                .append(", \"seeks_avoided\": ").append(result.buffer.seeksAvoided);
+        } else {
+            line.append(", \"buffer_hit_rate\": null, \"seeks_avoided\": null");
+        }
+        if (result.merger != null) {
+            line.append(", \"dispatches\": ").append(result.merger.dispatches)
+                .append(", \"merged\": ").append(result.merger.merged);
+        } else {
+            line.append(", \"dispatches\": null, \"merged\": null");
+        }
+        line.append(", \"moves_saved\": ").append((result.buffer != null || result.merger != null) ? Long.toString(result.movesSaved) : "null");
+        line.append(", \"jain_fairness\": ").append((result.clients != null) ? String.format(Locale.ROOT, "%.4f", result.clients.fairness) : "null");
+        line.append(", \"cpu_ns\": ").append(result.cpuTime)
+            .append("}");
+    }
+
+    // a comma separated list where any entry can also be a range, "a..b" or "a..b:step"
+    // e.g. "1,50..200:50" is 1, 50, 100, 150, 200
+    // there can't be more than MAX_JOBS values in all, since each one is at least a job
+    public static long[] parseRange(String text) {
+        List<Long> values = new ArrayList<Long>();
+        for (String part: text.split(",")) {
+            int dots = part.indexOf("..");
+            if (dots < 0) {
+                if (values.size() == MAX_JOBS) {
+                    throw new NumberFormatException(text + " comes to more than " + MAX_JOBS + " values");
+                }
+                values.add(Long.parseLong(part));
+                continue;
+            }
+            int colon = part.indexOf(':', dots);
+            long from = Long.parseLong(part.substring(0, dots));
+            long to = Long.parseLong(part.substring(dots + 2, colon < 0 ? part.length() : colon));
+            long step = (colon < 0) ? 1 : Long.parseLong(part.substring(colon + 1));
+            if (step < 1 || to < from) {
+                throw new NumberFormatException(part + " needs to count up by at least 1");
+            }
+            // counted up front, since stepping past the end could wrap around past Long.MAX_VALUE.
+            // to - from only overflows into the unsigned range, so it's divided as unsigned
+            long steps = Long.divideUnsigned(to - from, step);
+            if (steps >= MAX_JOBS - values.size()) {
+                throw new NumberFormatException(part + " comes to more than " + MAX_JOBS + " values");
+            }
+            long v = from;
+            for (long i = 0; i <= steps; i++) {
+                values.add(v);
+                v += step;
+            }
+        }
+        long result[] = new long[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values.get(i);
+        }
+        return result;
+    }
+
+    public static int[] parseIntRange(String text) {
+        long values[] = parseRange(text);
+        int result[] = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = Math.toIntExact(values[i]);
+        }
+        return result;
+    }
+}
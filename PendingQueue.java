@@ -0,0 +1,37 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+/*
+ * The requests a policy has waiting while the simulation runs.
+ * Requests are handed in as they arrive, and every time the disk is free
+ * the policy picks which one it serves next, knowing only what has arrived so far.
+ *
+ * A request is a number below the requests the queue was made for. Once next() has given one back
+ * the same number can be handed in again for a later request, so a queue only ever needs room
+ * for as many as can be waiting at once, however long the trace is.
+ */
+public interface PendingQueue {
+    // request is its index in arrival order, arrival is when it showed up in nanoseconds
+    void add(int request, int track, boolean write, long arrival);
+
+    // the same, from the given client. most policies don't care who sent it
+    default void add(int request, int track, boolean write, int client, long arrival) {
+        add(request, track, write, arrival);
+    }
+
+    boolean isEmpty();
+
+    // removes and returns the request to serve next, with the head on the given track at the given time
+    int next(int head, long now);
+
+    // the way the head travels to reach the request next just returned (a SeekEngine direction)
+    byte direction();
+}
@@ -0,0 +1,223 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/*
+ * Runs one policy over one trace and keeps what came of it.
+ * The trace is only ever read, so any number of runs can share the same array at once.
+ * If the requests have arrival times they go through the EventSimulator,
+ * otherwise they're all waiting from the start and the policy orders them in one go.
+ */
+public final class PolicyRun {
+    public final String policy;
+    public final int count;
+    public final int served[];  // the tracks in the order they were served
+    public final int moves[];   // how far the head went to get to each one
+    public final long completed[]; // when each request was done, by its place in the trace
+    public final long averageServiceTime;
+    public final double averageMoves; // a fraction, since the elevators average well under a move a request on a busy disk
+    public final long cpuTime;  // how long the simulator itself spent, not the disk
+    public final LatencyHistogram responseTimes;
+    public final LatencyHistogram waitTimes;    // from arriving to the head starting on it
+    public final LatencyHistogram serviceTimes; // how long the head took once it started
+    public final long mostBypassed;
+    public final double averageQueueDepth; // requests waiting or being served, averaged over the time the run took
+    public final int maxQueueDepth;
+    public final long totalMoves;
+    public final TrackBuffer buffer; // how the track buffer did, null if there wasn't one
+    public final RequestMerger merger; // how merging did, null if it wasn't on
+    public final long movesSaved;    // how much less the head moved than it would have without the buffer and merging
+    public final ClientStats clients; // how each client was served, null if every request came from the same one
+
+    private PolicyRun(String policy, int count, int[] served, int[] moves, long[] completed, long averageServiceTime, long totalMoves,
+            long cpuTime, LatencyHistogram responseTimes, LatencyHistogram waitTimes, LatencyHistogram serviceTimes, long mostBypassed, double averageQueueDepth, int maxQueueDepth,
+            TrackBuffer buffer, RequestMerger merger, long movesSaved, ClientStats clients) {
+        this.policy = policy;
+        this.count = count;
+        this.served = served;
+        this.moves = moves;
+        this.completed = completed;
+        this.averageServiceTime = averageServiceTime;
+        this.averageMoves = (count == 0) ? 0 : (double) totalMoves/count;
+        this.totalMoves = totalMoves;
+        this.cpuTime = cpuTime;
+        this.responseTimes = responseTimes;
+        this.waitTimes = waitTimes;
+        this.serviceTimes = serviceTimes;
+        this.mostBypassed = mostBypassed;
+        this.averageQueueDepth = averageQueueDepth;
+        this.maxQueueDepth = maxQueueDepth;
+        this.buffer = buffer;
+        this.merger = merger;
+        this.movesSaved = movesSaved;
+        this.clients = clients;
+    }
+
+    // writes[i] is set when request i is a write, or writes is null if they're all reads
+    public static PolicyRun run(String policy, int[] tracks, boolean[] writes, int count, SchedulerSettings settings, boolean debug) {
+        return run(policy, tracks, writes, null, count, settings, debug);
+    }
+
+    // arrivals[i] is when request i arrives in nanoseconds (never going backward),
+    // or arrivals is null if they're all waiting from the start
+    public static PolicyRun run(String policy, int[] tracks, boolean[] writes, long[] arrivals, int count, SchedulerSettings settings, boolean debug) {
+        return run(policy, tracks, writes, arrivals, count, settings, null, debug);
+    }
+
+    // out gets every request as it's served, or it's null if only the totals are wanted
+    public static PolicyRun run(String policy, int[] tracks, boolean[] writes, long[] arrivals, int count, SchedulerSettings settings,
+            ResultsWriter.Records out, boolean debug) {
+        return run(policy, tracks, writes, null, arrivals, count, settings, out, debug);
+    }
+
+    // clients[i] is the client that sent request i, or clients is null if they all came from client 0
+    public static PolicyRun run(String policy, int[] tracks, boolean[] writes, int[] clients, long[] arrivals, int count,
+            SchedulerSettings settings, ResultsWriter.Records out, boolean debug) {
+        SeekEngine.checkTracks(tracks, count, settings.tracks);
+        // to tell what the buffer and merging saved, the same run without them goes first (outside the CPU time)
+        long plainMoves = 0;
+        if (settings.buffer != null || settings.merging != null) {
+            plainMoves = run(policy, tracks, writes, clients, arrivals, count, settings.plain(), null, false).totalMoves;
+        }
+
+        // the time spent from here on is the simulator's own work, not the disk's
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        boolean cpuTimed = threads.isCurrentThreadCpuTimeSupported();
+        long cpuStart = cpuTimed ? threads.getCurrentThreadCpuTime() : System.nanoTime();
+
+        DiskScheduler scheduler = SchedulerRegistry.create(policy);
+        if (arrivals != null) {
+            EventSimulator simulation = new EventSimulator(policy, scheduler, tracks, writes, clients, arrivals, count, settings, out, debug);
+            simulation.run();
+            if (out != null) out.flush();
+            int served[] = new int[count];
+            for (int i = 0; i < count; i++) {
+                served[i] = tracks[simulation.order[i]];
+            }
+            long averageServiceTime = (count == 0) ? 0 : simulation.sumOfServiceTimes/count;
+            long elapsed = simulation.endTime - ((count == 0) ? 0 : arrivals[0]);
+            double averageQueueDepth = (elapsed <= 0) ? 0 : simulation.depthTime / elapsed;
+            long mostBypassed = mostBypassed(simulation.order, count);
+            long cpuTime = (cpuTimed ? threads.getCurrentThreadCpuTime() : System.nanoTime()) - cpuStart;
+            long movesSaved = plainMoves - simulation.sumOfSeekLengths;
+            return new PolicyRun(policy, count, served, simulation.moves, simulation.completed, averageServiceTime, simulation.sumOfSeekLengths, cpuTime,
+                    simulation.responseTimes, simulation.waitTimes, simulation.serviceTimes, mostBypassed, averageQueueDepth, simulation.maxDepth, simulation.head.buffer,
+                    simulation.merger, (settings.buffer != null || settings.merging != null) ? movesSaved : 0,
+                    ClientStats.of(clients, arrivals, simulation.completed, count));
+        }
+
+        DiskHead head = new DiskHead(settings, settings.tracks);
+
+        // every request is waiting from the start, so everything that can be merged is merged before the policy sees any of them,
+        // and the policy only orders what's left
+        RequestMerger merger = (settings.merging != null) ? settings.merging.open(count, settings.tracks) : null;
+        int leaders[] = null;
+        int policyTracks[] = tracks;
+        boolean policyWrites[] = writes;
+        int policyClients[] = clients;
+        int policyCount = count;
+        if (merger != null) {
+            leaders = new int[count];
+            policyCount = 0;
+            for (int i = 0; i < count; i++) {
+                if (!merger.add(i, tracks[i], writes != null && writes[i])) leaders[policyCount++] = i;
+            }
+            policyTracks = new int[policyCount];
+            policyWrites = (writes == null) ? null : new boolean[policyCount];
+            policyClients = (clients == null) ? null : new int[policyCount];
+            for (int l = 0; l < policyCount; l++) {
+                policyTracks[l] = tracks[leaders[l]];
+                if (writes != null) policyWrites[l] = writes[leaders[l]];
+                if (clients != null) policyClients[l] = clients[leaders[l]];
+            }
+        }
+
+        // let the policy decide the order the tracks are served in
+        int picked[] = new int[policyCount];
+        byte directions[] = new byte[policyCount];
+        scheduler.schedule(policyTracks, policyWrites, policyClients, policyCount, settings, picked, directions);
+
+        // the processing of the next tracks
+        int order[] = new int[count];
+        int served[] = new int[count];
+        int moves[] = new int[count];
+        long completed[] = new long[count];
+        int riders[] = (merger != null) ? new int[settings.merging.maxSize] : null;
+        long sumOfServiceTimes = 0;
+        long sumOfSeekLengths = 0;
+        // every request is already waiting when the head starts, so each one waits for everything served
+        // before it, and its response time is that plus its own service
+        LatencyHistogram responseTimes = new LatencyHistogram();
+        LatencyHistogram waitTimes = new LatencyHistogram();
+        LatencyHistogram serviceTimes = new LatencyHistogram();
+        // and the queue only ever gets shorter, by one for each one served
+        double depthTime = 0;
+        int i = 0;
+        for (int p = 0; p < policyCount; p++) {
+            int leader = (leaders == null) ? picked[p] : leaders[picked[p]];
+            boolean write = writes != null && writes[leader];
+            // whatever was merged onto it goes out right behind it
+            int riding = (merger != null) ? merger.take(leader, write, tracks, riders, head.track, directions[p]) : 0;
+            for (int r = -1; r < riding; r++, i++) {
+                order[i] = (r < 0) ? leader : riders[r];
+                served[i] = tracks[order[i]];
+                int from = head.track;
+                // move the head to the next track from the current, the way the policy said to
+                // (unless the buffer has it), and record how long the disk would take to do it
+                long time = (r < 0) ? head.serve(served[i], directions[p], write) : head.follow(served[i], write);
+                moves[i] = head.moves;
+                waitTimes.record(sumOfServiceTimes);
+                serviceTimes.record(time);
+                sumOfServiceTimes += time;
+                sumOfSeekLengths += moves[i];
+                depthTime += (double) (count - i) * time;
+                responseTimes.record(sumOfServiceTimes);
+                completed[order[i]] = sumOfServiceTimes;
+                if (out != null) out.request(i + 1, order[i] + 1, served[i], moves[i], time, sumOfServiceTimes, sumOfServiceTimes);
+                if (debug == true && head.buffered) System.out.println("(" + (i + 1) + ") " + policy + ": (" + served[i] + ") came out of the buffer in " + time + "ns");
+                if (debug == true && !head.buffered) System.out.println("(" + (i + 1) + ") " + policy + ": moving from (" + from + ") to (" + served[i] + ") took " + moves[i] + " moves and " + time + "ns" + ((r < 0) ? "" : ", merged"));
+            }
+        }
+
+        if (out != null) out.flush();
+
+        long averageServiceTime = (count == 0) ? 0 : sumOfServiceTimes/count;
+        double averageQueueDepth = (sumOfServiceTimes == 0) ? 0 : depthTime / sumOfServiceTimes;
+        long mostBypassed = mostBypassed(order, count);
+        long cpuTime = (cpuTimed ? threads.getCurrentThreadCpuTime() : System.nanoTime()) - cpuStart;
+        long movesSaved = (head.buffer != null || merger != null) ? plainMoves - sumOfSeekLengths : 0;
+        return new PolicyRun(policy, count, served, moves, completed, averageServiceTime, sumOfSeekLengths, cpuTime, responseTimes, waitTimes, serviceTimes, mostBypassed,
+                averageQueueDepth, count, head.buffer, merger, movesSaved, ClientStats.of(clients, null, completed, count));
+    }
+
+    // the most requests that arrived later but were served before any one request,
+    // which is how long the policy left its worst-off request starving.
+    // served[] is counted into a Fenwick tree as it goes, so it's n log n instead of n^2
+    private static long mostBypassed(int[] order, int count) {
+        int servedBefore[] = new int[count + 1];
+        long worst = 0;
+        for (int i = 0; i < count; i++) {
+            int request = order[i];
+            // how many of the ones served so far arrived earlier than this one
+            int earlier = 0;
+            for (int k = request; k > 0; k -= k & -k) {
+                earlier += servedBefore[k];
+            }
+            worst = Math.max(worst, i - earlier);
+            for (int k = request + 1; k <= count; k += k & -k) {
+                servedBefore[k]++;
+            }
+        }
+        return worst;
+    }
+}
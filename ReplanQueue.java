@@ -0,0 +1,76 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+/*
+ * Lets a policy that only knows how to order a whole batch run in the simulation anyway.
+ * Every time the disk is free, whatever is waiting is handed to the policy as a batch
+ * starting from where the head is, and the first request it picks is served.
+ * That's a full schedule for every request served, so the policies that come with
+ * the simulator have queues of their own, this is for the ones that don't.
+ */
+final class ReplanQueue implements PendingQueue {
+    private final DiskScheduler scheduler;
+    private final SchedulerSettings settings;
+    // what's waiting, in arrival order
+    private final int requests[];
+    private final int tracks[];
+    private final boolean writes[];
+    private boolean anyWrites = false;
+    private int waiting = 0;
+    // scratch space for each plan
+    private final int order[];
+    private final byte directions[];
+    private byte direction = SeekEngine.ANY;
+
+    ReplanQueue(DiskScheduler scheduler, SchedulerSettings settings, int requests) {
+        this.scheduler = scheduler;
+        this.settings = settings;
+        this.requests = new int[requests];
+        this.tracks = new int[requests];
+        this.writes = new boolean[requests];
+        this.order = new int[requests];
+        this.directions = new byte[requests];
+    }
+
+    @Override
+    public void add(int request, int track, boolean write, long arrival) {
+        requests[waiting] = request;
+        tracks[waiting] = track;
+        writes[waiting] = write;
+        anyWrites |= write;
+        waiting++;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return waiting == 0;
+    }
+
+    @Override
+    public int next(int head, long now) {
+        SchedulerSettings from = settings.with(head, settings.batch);
+        scheduler.schedule(tracks, anyWrites ? writes : null, waiting, from, order, directions);
+        int picked = order[0];
+        direction = directions[0];
+        int request = requests[picked];
+        // close the gap, keeping the rest in arrival order
+        System.arraycopy(requests, picked + 1, requests, picked, waiting - picked - 1);
+        System.arraycopy(tracks, picked + 1, tracks, picked, waiting - picked - 1);
+        System.arraycopy(writes, picked + 1, writes, picked, waiting - picked - 1);
+        waiting--;
+        return request;
+    }
+
+    @Override
+    public byte direction() {
+        return direction;
+    }
+}
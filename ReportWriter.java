@@ -0,0 +1,129 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/*
+ * Where the results table goes.
+ * The output file is opened once, text piles up in a buffer,
+ * and full buffers are handed to a writer thread so logging never waits on the disk.
+ * Everything is echoed to the console too, unless it's quiet.
+ */
+public class ReportWriter implements Closeable {
+    private static final int FLUSH_AT = 1 << 16;
+    private static final byte DONE[] = new byte[0];
+
+    private final FileChannel channel;
+    private final boolean echo;
+    private final StringBuilder pending = new StringBuilder(FLUSH_AT + 1024);
+    private final BlockingQueue<byte[]> full = new ArrayBlockingQueue<byte[]>(16);
+    private final Thread writerThread;
+    private volatile IOException failure;
+
+    public ReportWriter(String filePath, boolean echo) throws IOException {
+        this.channel = FileChannel.open(new File(filePath).toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        this.echo = echo;
+        writerThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                drain();
+            }
+        }, "report-writer");
+        writerThread.start();
+    }
+
+    public void log(CharSequence text) {
+        pending.append(text);
+        if (pending.length() >= FLUSH_AT) flush();
+    }
+
+    // hands whatever has built up so far to the writer thread
+    public void flush() {
+        if (pending.length() == 0) return;
+        byte bytes[] = pending.toString().getBytes(StandardCharsets.UTF_8);
+        pending.setLength(0);
+        hand(bytes);
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        hand(DONE);
+        try {
+            writerThread.join();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if (failure != null) throw failure;
+    }
+
+    private void hand(byte[] bytes) {
+        try {
+            full.put(bytes);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                byte bytes[] = full.take();
+                if (bytes == DONE) return;
+                if (failure == null) {
+                    try {
+                        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                        while (buffer.hasRemaining()) {
+                            channel.write(buffer);
+                        }
+                    } catch (IOException ioe) {
+                        // keep taking buffers so the logging side never gets stuck, the error comes out on close
+                        failure = ioe;
+                    }
+                }
+                if (echo) {
+                    System.out.write(bytes, 0, bytes.length);
+                    System.out.flush();
+                }
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // right-aligns text in a space width characters wide, like %<width>s would
+    public static StringBuilder padLeft(StringBuilder row, CharSequence text, int width) {
+        for (int i = text.length(); i < width; i++) {
+            row.append(' ');
+        }
+        return row.append(text);
+    }
+
+    // the same for a number, without turning it into a String first
+    public static StringBuilder padLeft(StringBuilder row, long value, int width) {
+        int digits = (value < 0) ? 2 : 1;
+        for (long rest = Math.abs(value / 10); rest > 0; rest /= 10) {
+            digits++;
+        }
+        for (int i = digits; i < width; i++) {
+            row.append(' ');
+        }
+        return row.append(value);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+/*
+ * Merges requests before they ever reach the policy, the way an elevator merges bios into a request.
+ * When a request arrives and there's one still waiting (not sent out yet) of the same kind,
+ * read or write, within window tracks of it and with room for one more, it rides along with that one
+ * instead of going into the policy's queue. Once the policy sends that one out,
+ * the ones riding with it are served right after it in the same dispatch, in one sweep:
+ * on along the way the head was going, then back for the ones behind it.
+ * A window of 0 only merges requests for the same track.
+ */
+public final class RequestMerger {
+    // what --merge asked for, which every run makes its own merger from
+    public static final class Config {
+        public final int window;  // how many tracks apart two requests can be and still be merged
+        public final int maxSize; // the most requests one dispatch can carry
+
+        public Config(int window, int maxSize) {
+            if (window < 0 || maxSize < 1) {
+                throw new IllegalArgumentException("the window can't be negative and a dispatch has to carry at least 1 request");
+            }
+            this.window = window;
+            this.maxSize = maxSize;
+        }
+
+        // "1:8" is a window of 1 track and up to 8 requests a dispatch
+        public static Config parse(String spec) {
+            int colon = spec.indexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException("it needs to be window:size");
+            }
+            try {
+                return new Config(Integer.parseInt(spec.substring(0, colon)), Integer.parseInt(spec.substring(colon + 1)));
+            } catch (NumberFormatException nfe) {
+                throw new IllegalArgumentException(spec + " isn't two numbers");
+            }
+        }
+
+        RequestMerger open(int requests, int highestTrack) {
+            return new RequestMerger(this, requests, highestTrack);
+        }
+
+        @Override
+        public String toString() {
+            return "a window of " + window + " and up to " + maxSize + " a dispatch";
+        }
+    }
+
+    private final int window;
+    private final int maxSize;
+    private final int highestTrack;
+    // the waiting request each track's requests would merge into, one for reads and one for writes, -1 if none
+    private final int leaderOn[][];
+    private final int leaderTrack[];
+    private final int size[];       // how many requests each leader carries, itself included
+    private final int nextMember[]; // the rest of each leader's requests, as a linked list
+    private final int lastMember[];
+
+    // how it did
+    public long dispatches = 0;
+    public long merged = 0; // requests that rode along with another one
+
+    private RequestMerger(Config config, int requests, int highestTrack) {
+        this.window = config.window;
+        this.maxSize = config.maxSize;
+        this.highestTrack = highestTrack;
+        leaderOn = new int[2][highestTrack + 1];
+        java.util.Arrays.fill(leaderOn[0], -1);
+        java.util.Arrays.fill(leaderOn[1], -1);
+        leaderTrack = new int[requests];
+        size = new int[requests];
+        nextMember = new int[requests];
+        lastMember = new int[requests];
+    }
+
+    // true if the request was merged onto one that's waiting,
+    // otherwise it has to go to the policy and others can be merged onto it
+    boolean add(int request, int track, boolean write) {
+        int on[] = leaderOn[write ? 1 : 0];
+        nextMember[request] = -1;
+        // the nearest waiting one with room, the same track first
+        for (int d = 0; d <= window; d++) {
+            int leader = (track - d >= 0) ? on[track - d] : -1;
+            if (leader < 0 || size[leader] >= maxSize) {
+                leader = (d > 0 && track + d <= highestTrack) ? on[track + d] : -1;
+            }
+            if (leader >= 0 && size[leader] < maxSize) {
+                nextMember[lastMember[leader]] = request;
+                lastMember[leader] = request;
+                size[leader]++;
+                merged++;
+                return true;
+            }
+        }
+        // a full one is replaced, so later ones on this track start a new dispatch
+        on[track] = request;
+        leaderTrack[request] = track;
+        size[request] = 1;
+        lastMember[request] = request;
+        return false;
+    }
+
+    // the policy sent a leader out, so nothing more can be merged onto it. the head's coming from track from
+    // the way the policy said to go (a SeekEngine direction), and the leader's other requests go into riders
+    // in the order it gets to them if it keeps going that way and then turns back once. how many there are is returned
+    int take(int leader, boolean write, int[] tracks, int[] riders, int from, byte direction) {
+        dispatches++;
+        int on[] = leaderOn[write ? 1 : 0];
+        int track = leaderTrack[leader];
+        if (on[track] == leader) on[track] = -1;
+        boolean up = arrivesGoingUp(from, track, direction);
+        int count = 0;
+        for (int member = nextMember[leader]; member >= 0; member = nextMember[member]) {
+            // an insertion sort, there are only ever maxSize of them
+            int place = place(tracks[member], track, up);
+            int i = count++;
+            while (i > 0 && place(tracks[riders[i - 1]], track, up) > place) {
+                riders[i] = riders[i - 1];
+                i--;
+            }
+            riders[i] = member;
+        }
+        return count;
+    }
+
+    // which way the head's moving when it gets to the leader. the elevators say so,
+    // and the ones that don't care which way it goes just went straight there
+    static boolean arrivesGoingUp(int from, int to, byte direction) {
+        switch (direction) {
+            case SeekEngine.UP:
+            case SeekEngine.TURN_AT_BOTTOM:
+            case SeekEngine.WRAP_AT_TOP:
+                return true;
+            case SeekEngine.DOWN:
+            case SeekEngine.TURN_AT_TOP:
+            case SeekEngine.WRAP_AT_BOTTOM:
+                return false;
+            default:
+                return to >= from;
+        }
+    }
+
+    // how far into the sweep a rider is: the ones ahead of the head by how far ahead,
+    // then the ones behind it, which are never more than window away, after all of those
+    private int place(int riderTrack, int track, boolean up) {
+        int ahead = up ? riderTrack - track : track - riderTrack;
+        return (ahead >= 0) ? ahead : window + 1 - ahead;
+    }
+}
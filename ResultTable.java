@@ -0,0 +1,232 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/*
+ * The fixed-width table of what every policy did, one column per policy with
+ * a (next track, moves) pair for every request and the totals underneath.
+ * It's only drawn once every policy is done, from the same PolicyRuns the results files are written from.
+ * Each policy's column is sized off the length of its name, or off its widest total if that doesn't fit.
+ * When the requests came from more than one client, how each one was served is listed under the table.
+ */
+final class ResultTable {
+    private ResultTable() {
+    }
+
+    static void render(ReportWriter report, String[] policies, int startPoint, Map<String, PolicyRun> results, int count) {
+        // first, log a little information 
+        report.log("\nThe table is organized as such:\n");
+        report.log("| Policy Name |\n");
+        report.log("| Starting Track |\n");
+        report.log("| Next track | Tracks Moved |\n");
+        report.log("| ... |\n");
+        report.log("| Average Service Time (simulated) |\n");
+        report.log("| Average Seek Length |\n");
+        report.log("| Simulator CPU Time |\n");
+        report.log("| Response Time p50 | p90 | p99 | p99.9 | max |\n");
+        report.log("| Queueing Delay p50 | p90 | p99 | p99.9 | max |\n");
+        report.log("| Service Time p50 | p90 | p99 | p99.9 | max |\n");
+        report.log("| Average Queue Depth | Max Queue Depth |\n");
+        report.log("| Most Later Requests Served Ahead of One (starvation) |\n");
+        // the buffer's and merging's rows are only there when they're on
+        boolean buffered = results.get(policies[0]).buffer != null;
+        boolean merging = results.get(policies[0]).merger != null;
+        if (buffered) report.log("| Reads Out of the Buffer | Seeks Avoided |\n");
+        if (merging) report.log("| Dispatches | Requests Merged Into Them |\n");
+        if (buffered || merging) {
+            report.log("| Head Movement Saved by " + (buffered ? (merging ? "the Buffer and Merging" : "the Buffer") : "Merging") + " |\n");
+        }
+        boolean clients = results.get(policies[0]).clients != null;
+        if (clients) report.log("| Jain's Fairness Index of the Clients' Throughput |\n");
+        
+        // the totals under the requests are worked out first, so each policy's box can be made wide enough for its widest one.
+        // each section is the rows between two dividers
+        List<List<String[]>> sections = new ArrayList<List<String[]>>();
+        // the average service times and moves
+        sections.add(section(cells(policies, results, run -> (run.averageServiceTime / 1000) + " us")));
+        sections.add(section(cells(policies, results, run -> String.format("%.1f mvs", run.averageMoves))));
+        // and how much real time the simulator itself spent on each policy
+        sections.add(section(cells(policies, results, run -> (run.cpuTime / 1000000) + " ms")));
+        // the tail of the response times, then of the two parts of them: the wait for the head and the head's own time
+        sections.add(percentiles(policies, results, run -> run.responseTimes, 1000000, " ms"));
+        sections.add(percentiles(policies, results, run -> run.waitTimes, 1000000, " ms"));
+        sections.add(percentiles(policies, results, run -> run.serviceTimes, 1000, " us"));
+        // how many requests were in the disk's queue, on average over the run and at most
+        sections.add(section(cells(policies, results, run -> String.format("%.1f q", run.averageQueueDepth)),
+                cells(policies, results, run -> run.maxQueueDepth + " q")));
+        sections.add(section(cells(policies, results, run -> run.mostBypassed + " req")));
+        if (buffered) {
+            sections.add(section(cells(policies, results, run -> String.format("%.1f %%", 100 * run.buffer.hitRate())),
+                    cells(policies, results, run -> run.buffer.seeksAvoided + " sk")));
+        }
+        if (merging) {
+            sections.add(section(cells(policies, results, run -> run.merger.dispatches + " dsp"),
+                    cells(policies, results, run -> run.merger.merged + " req")));
+        }
+        if (buffered || merging) {
+            sections.add(section(cells(policies, results, run -> run.movesSaved + " mvs")));
+        }
+        if (clients) {
+            sections.add(section(cells(policies, results, run -> String.format("%.3f", run.clients.fairness))));
+        }
+
+        // each policy's box is sized off the length of its name, unless one of its totals needs more
+        int widths[] = new int[policies.length];
+        for (int p = 0; p < policies.length; p++) {
+            widths[p] = averageWidth(policies[p]);
+            for (List<String[]> section: sections) {
+                for (String[] cells: section) {
+                    widths[p] = Math.max(widths[p], cells[p].length());
+                }
+            }
+        }
+
+        // determine how wide the output table should be
+        int tableWidth = 1; //start with 1, which is the left wall
+        for (int width: widths) {
+            tableWidth += width + 1; //add one, for the separator/right wall if last
+        }
+        // make vertical divider of proper width
+        String divider = new String(new char[tableWidth]).replace('\0', '-');
+        divider = divider + "\n";
+        
+        // every row is built in here, then it's emptied for the next one
+        StringBuilder row = new StringBuilder();
+
+        // output headers of table
+        report.log(divider);
+        logCentered(report, row, policies, policies, widths);
+        // output the start point, centered the same way
+        report.log(divider);
+        String starts[] = new String[policies.length];
+        Arrays.fill(starts, Integer.toString(startPoint));
+        logCentered(report, row, policies, starts, widths);
+        report.log(divider);
+
+        // what each policy did, a (next track, moves) pair per policy per row
+        for (int r = 0; r < count; r++) {
+            for (int p = 0; p < policies.length; p++) {
+                String policy = policies[p];
+                long nextTrack = results.get(policy).served[r];
+                long moves = results.get(policy).moves[r];
+                row.append("|");
+                // the two columns share the policy's box, with the separator in between
+                int trackWidth = trackWidth(policy);
+                ReportWriter.padLeft(row, nextTrack, trackWidth);
+                ReportWriter.padLeft(row, "|", policy.length()/3);
+                ReportWriter.padLeft(row, moves, widths[p] - trackWidth - policy.length()/3);
+            }
+            row.append("|\n");
+            report.log(row);
+            row.setLength(0);
+        }
+        report.log(divider);
+
+        for (List<String[]> section: sections) {
+            for (String[] cells: section) {
+                for (int p = 0; p < policies.length; p++) {
+                    row.append("|");
+                    ReportWriter.padLeft(row, cells[p], widths[p]);
+                }
+                row.append("|\n");
+                report.log(row);
+                row.setLength(0);
+            }
+            report.log(divider);
+        }
+
+        logCentered(report, row, policies, policies, widths);
+        report.log(divider);
+
+        if (clients) {
+            for (String policy: policies) {
+                logClients(report, policy, results.get(policy).clients);
+            }
+        }
+    }
+
+    // the rows between two dividers
+    private static List<String[]> section(String[]... rows) {
+        return Arrays.asList(rows);
+    }
+
+    // one cell per policy, each one what cell makes of that policy's run
+    private static String[] cells(String[] policies, Map<String, PolicyRun> results, Function<PolicyRun, String> cell) {
+        String cells[] = new String[policies.length];
+        for (int p = 0; p < policies.length; p++) {
+            cells[p] = cell.apply(results.get(policies[p]));
+        }
+        return cells;
+    }
+
+    // one row per percentile of one of each policy's histograms, in the given unit
+    private static List<String[]> percentiles(String[] policies, Map<String, PolicyRun> results,
+            Function<PolicyRun, LatencyHistogram> histogram, long unit, String suffix) {
+        List<String[]> rows = new ArrayList<String[]>();
+        for (double percentile: LATENCY_PERCENTILES) {
+            rows.add(cells(policies, results, run -> {
+                LatencyHistogram times = histogram.apply(run);
+                long time = (percentile >= 100) ? times.max() : times.percentile(percentile);
+                return (time / unit) + suffix;
+            }));
+        }
+        return rows;
+    }
+
+    // a line for each client a policy served, with its throughput and response times
+    static void logClients(ReportWriter report, String policy, ClientStats clients) {
+        StringBuilder lines = new StringBuilder();
+        lines.append('\n').append(policy).append(" served ").append(clients.size()).append(" clients, Jain's fairness index ")
+            .append(String.format("%.3f", clients.fairness)).append('\n');
+        for (int c = 0; c < clients.size(); c++) {
+            LatencyHistogram responseTimes = clients.responseTimes[c];
+            lines.append("  client ").append(clients.ids[c]).append(": ").append(clients.counts[c]).append(" requests, ")
+                .append(String.format("%.1f", clients.throughputs[c])).append(" a second, response p50 ")
+                .append(responseTimes.percentile(50) / 1000000).append(" ms, p99 ").append(responseTimes.percentile(99) / 1000000)
+                .append(" ms, max ").append(responseTimes.max() / 1000000).append(" ms\n");
+        }
+        report.log(lines);
+    }
+
+    // the response time rows, 100 being the max
+    private static final double LATENCY_PERCENTILES[] = {50, 90, 99, 99.9, 100};
+
+    // a row with each text centered in its policy's box
+    private static void logCentered(ReportWriter report, StringBuilder row, String[] policies, String[] texts, int[] widths) {
+        row.append("|");
+        for (int p = 0; p < policies.length; p++) {
+            // the text gets as much room as the policy's name, so a short one lines up under it
+            int left = (widths[p] - policies[p].length()) / 2;
+            ReportWriter.padLeft(row, "", left);
+            ReportWriter.padLeft(row, texts[p], policies[p].length());
+            ReportWriter.padLeft(row, "", widths[p] - left - Math.max(policies[p].length(), texts[p].length())).append("|");
+        }
+        row.append("\n");
+        report.log(row);
+        row.setLength(0);
+    }
+
+    // how wide a policy's averages are, which spans both of its columns,
+    // the same as the box its name is centered in
+    private static int averageWidth(String policy) {
+        return policy.length() + 4*(policy.length()/3);
+    }
+
+    // how wide the next track column is, the moves column gets what's left after the separator
+    private static int trackWidth(String policy) {
+        return (policy.length() % 3 == 2) ? policy.length() - 1 : policy.length();
+    }
+}
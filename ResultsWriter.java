@@ -0,0 +1,222 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Locale;
+
+/*
+ * The results as data instead of a table: a line for every request served and a summary for every policy,
+ * as CSV or as JSON lines (.jsonl) depending on the file's extension.
+ * Each policy thread gets its own Records, which builds its lines up on its own
+ * and hands them over 64K characters at a time, so the policies hardly ever wait on each other.
+ * A CSV file can only have one kind of line, so its summaries go to a second file next to it
+ * (results.csv and results.summary.csv). JSON lines all go in the one file, each with its type.
+ */
+public final class ResultsWriter implements Closeable {
+    private static final int LOG_AT = 1 << 16;
+    // for a summary number that wasn't kept track of, which is left empty (or null)
+    public static final long UNKNOWN = Long.MIN_VALUE;
+
+    private final boolean json;
+    private final ReportWriter requests;
+    private final ReportWriter summaries; // the same writer as requests for JSON lines
+
+    public ResultsWriter(String path) throws IOException {
+        json = path.endsWith(".jsonl");
+        requests = new ReportWriter(path, false);
+        if (json) {
+            summaries = requests;
+        } else {
+            summaries = new ReportWriter(summaryPath(path), false);
+            requests.log("policy,index,request,track,moves,service_ns,time_ns,response_ns\n");
+            summaries.log("policy,requests,avg_service_ns,total_moves,avg_moves,p50_ns,p90_ns,p99_ns,p999_ns,max_ns,"
+                    + "wait_p50_ns,wait_p90_ns,wait_p99_ns,wait_p999_ns,wait_max_ns,service_p50_ns,service_p90_ns,service_p99_ns,service_p999_ns,service_max_ns,"
+                    + "avg_queue_depth,max_queue_depth,most_bypassed,buffer_hit_rate,seeks_avoided,dispatches,merged,moves_saved,jain_fairness,cpu_ns\n");
+        }
+    }
+
+    public static boolean isResults(String path) {
+        return path.endsWith(".csv") || path.endsWith(".jsonl");
+    }
+
+    // where a CSV file's summaries go, results.csv -> results.summary.csv
+    public static String summaryPath(String path) {
+        int dot = path.lastIndexOf('.');
+        if (dot < 0 || dot < path.lastIndexOf('/')) return path + ".summary";
+        return path.substring(0, dot) + ".summary" + path.substring(dot);
+    }
+
+    // what one policy thread writes its requests through
+    public Records records(String policy) {
+        return new Records(policy, null);
+    }
+
+    // the same for a run over part of the trace, where origin[r] is where its request r came from in the whole trace,
+    // so the request numbers written are the whole trace's
+    public Records records(String policy, int[] origin) {
+        return new Records(policy, origin);
+    }
+
+    public final class Records {
+        private final String policy;
+        private final int origin[];
+        private final StringBuilder lines = new StringBuilder(LOG_AT + 256);
+
+        private Records(String policy, int[] origin) {
+            this.policy = policy;
+            this.origin = origin;
+        }
+
+        // index is where the request came in the order served (from 1) and request is where it was in the trace (from 1),
+        // time is when it finished, all in simulated nanoseconds
+        public void request(long index, long request, int track, int moves, long serviceTime, long time, long responseTime) {
+            if (origin != null) request = origin[(int) request - 1] + 1;
+            if (json) {
+                lines.append("{\"type\": \"request\", \"policy\": \"").append(policy)
+                    .append("\", \"index\": ").append(index)
+                    .append(", \"request\": ").append(request)
+                    .append(", \"track\": ").append(track)
+                    .append(", \"moves\": ").append(moves)
+                    .append(", \"service_ns\": ").append(serviceTime)
+                    .append(", \"time_ns\": ").append(time)
+                    .append(", \"response_ns\": ").append(responseTime)
+                    .append("}\n");
+            } else {
+                lines.append(policy).append(',')
+                    .append(index).append(',')
+                    .append(request).append(',')
+                    .append(track).append(',')
+                    .append(moves).append(',')
+                    .append(serviceTime).append(',')
+                    .append(time).append(',')
+                    .append(responseTime).append('\n');
+            }
+            if (lines.length() >= LOG_AT) flush();
+        }
+
+        // hands over whatever has built up, the runs call this once they're done
+        public void flush() {
+            if (lines.length() == 0) return;
+            synchronized (requests) {
+                requests.log(lines);
+            }
+            lines.setLength(0);
+        }
+    }
+
+    public void summary(PolicyRun run) {
+        summary(run.policy, run);
+    }
+
+    // the same under another name, like one disk of an array
+    public void summary(String policy, PolicyRun run) {
+        summary(policy, run.count, run.averageServiceTime, run.totalMoves, run.responseTimes, run.waitTimes, run.serviceTimes,
+                run.averageQueueDepth, run.maxQueueDepth, run.mostBypassed, run.buffer, run.merger, run.movesSaved, run.clients, run.cpuTime);
+    }
+
+    // everything about the buffer or merging is left empty when it wasn't on, and the fairness when there was only one client.
+    // movesSaved can be negative, when they changed the order into one where the head went farther
+    public void summary(String policy, long count, long averageServiceTime, long totalMoves, LatencyHistogram responseTimes,
+            LatencyHistogram waitTimes, LatencyHistogram serviceTimes, double averageQueueDepth, int maxQueueDepth, long mostBypassed, TrackBuffer buffer, RequestMerger merger, long movesSaved,
+            ClientStats clients, long cpuTime) {
+        String averageMoves = averageMoves(totalMoves, count);
+        String hitRate = (buffer == null) ? null : String.format(Locale.ROOT, "%.4f", buffer.hitRate());
+        String seeksAvoided = (buffer == null) ? null : Long.toString(buffer.seeksAvoided);
+        String dispatches = (merger == null) ? null : Long.toString(merger.dispatches);
+        String merged = (merger == null) ? null : Long.toString(merger.merged);
+        String saved = ((buffer == null && merger == null) || movesSaved == UNKNOWN) ? null : Long.toString(movesSaved);
+        String fairness = (clients == null) ? null : String.format(Locale.ROOT, "%.4f", clients.fairness);
+        StringBuilder line = new StringBuilder();
+        if (json) {
+            line.append("{\"type\": \"summary\", \"policy\": \"").append(policy)
+                .append("\", \"requests\": ").append(count)
+                .append(", \"avg_service_ns\": ").append(averageServiceTime)
+                .append(", \"total_moves\": ").append(totalMoves)
+                .append(", \"avg_moves\": ").append(averageMoves)
+                .append(", \"p50_ns\": ").append(responseTimes.percentile(50))
+                .append(", \"p90_ns\": ").append(responseTimes.percentile(90))
+                .append(", \"p99_ns\": ").append(responseTimes.percentile(99))
+                .append(", \"p999_ns\": ").append(responseTimes.percentile(99.9))
+                .append(", \"max_ns\": ").append(responseTimes.max());
+            jsonPercentiles(line, "wait", waitTimes);
+            jsonPercentiles(line, "service", serviceTimes);
+            line.append(", \"avg_queue_depth\": ").append(String.format(Locale.ROOT, "%.3f", averageQueueDepth))
+                .append(", \"max_queue_depth\": ").append(maxQueueDepth)
+                .append(", \"most_bypassed\": ").append(mostBypassed == UNKNOWN ? "null" : Long.toString(mostBypassed))
+                .append(", \"buffer_hit_rate\": ").append(hitRate)
+                .append(", \"seeks_avoided\": ").append(seeksAvoided)
+                .append(", \"dispatches\": ").append(dispatches)
+                .append(", \"merged\": ").append(merged)
+                .append(", \"moves_saved\": ").append(saved)
+                .append(", \"jain_fairness\": ").append(fairness)
+                .append(", \"cpu_ns\": ").append(cpuTime)
+                .append("}\n");
+        } else {
+            line.append(policy).append(',')
+                .append(count).append(',')
+                .append(averageServiceTime).append(',')
+                .append(totalMoves).append(',')
+                .append(averageMoves).append(',')
+                .append(responseTimes.percentile(50)).append(',')
+                .append(responseTimes.percentile(90)).append(',')
+                .append(responseTimes.percentile(99)).append(',')
+                .append(responseTimes.percentile(99.9)).append(',')
+                .append(responseTimes.max()).append(',');
+            csvPercentiles(line, waitTimes);
+            csvPercentiles(line, serviceTimes);
+            line.append(String.format(Locale.ROOT, "%.3f", averageQueueDepth)).append(',')
+                .append(maxQueueDepth).append(',')
+                .append(mostBypassed == UNKNOWN ? "" : Long.toString(mostBypassed)).append(',')
+                .append(hitRate == null ? "" : hitRate).append(',')
+                .append(seeksAvoided == null ? "" : seeksAvoided).append(',')
+                .append(dispatches == null ? "" : dispatches).append(',')
+                .append(merged == null ? "" : merged).append(',')
+                .append(saved == null ? "" : saved).append(',')
+                .append(fairness == null ? "" : fairness).append(',')
+                .append(cpuTime).append('\n');
+        }
+        synchronized (summaries) {
+            summaries.log(line);
+        }
+    }
+
+    // the moves a request, as a fraction since the elevators average well under one on a busy disk
+    static String averageMoves(long totalMoves, long count) {
+        return String.format(Locale.ROOT, "%.3f", (count == 0) ? 0.0 : (double) totalMoves / count);
+    }
+
+    // the same percentiles as the response times, for one of the parts of them
+    static void jsonPercentiles(StringBuilder line, String name, LatencyHistogram times) {
+        line.append(", \"").append(name).append("_p50_ns\": ").append(times.percentile(50))
+            .append(", \"").append(name).append("_p90_ns\": ").append(times.percentile(90))
+            .append(", \"").append(name).append("_p99_ns\": ").append(times.percentile(99))
+            .append(", \"").append(name).append("_p999_ns\": ").append(times.percentile(99.9))
+            .append(", \"").append(name).append("_max_ns\": ").append(times.max());
+    }
+
+    static void csvPercentiles(StringBuilder line, LatencyHistogram times) {
+        line.append(times.percentile(50)).append(',')
+            .append(times.percentile(90)).append(',')
+            .append(times.percentile(99)).append(',')
+            .append(times.percentile(99.9)).append(',')
+            .append(times.max()).append(',');
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            requests.close();
+        } finally {
+            if (summaries != requests) summaries.close();
+        }
+    }
+}
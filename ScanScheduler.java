@@ -0,0 +1,273 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import java.util.Arrays;
+
+/*
+ * SCAN (the elevator): the head sweeps one way serving everything it passes,
+ * goes on to the edge of the disk, then turns around and sweeps back the other way.
+ * It starts off toward whichever side the first request is on.
+ */
+public class ScanScheduler implements DiskScheduler {
+    @Override
+    public String name() {
+        return "SCAN";
+    }
+
+    @Override
+    public void schedule(int[] tracks, int count, SchedulerSettings settings, int[] order, byte[] directions) {
+        if (count == 0) return;
+        int ids[] = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = i;
+        }
+        sweep(settings.startTrack, tracks, ids, count, new long[count], false, false, order, directions, 0);
+    }
+
+    @Override
+    public PendingQueue online(SchedulerSettings settings, int requests, int highestTrack) {
+        return new Elevator(settings, requests, highestTrack, false, false);
+    }
+
+    // orders the requests in ids[0..length) as a single pass from head,
+    // writing them into order/directions starting at offset.
+    // ids has to be in arrival order, since that's what breaks ties on a track
+    // (the stream hands its window slots out again, so a request's number says nothing about when it came).
+    // keys is scratch space with room for length values.
+    // if circular is set, the head doesn't come back the other way (C-SCAN),
+    // it wraps around and carries on in the same direction.
+    // if look is set, the head turns around at the last request instead of the edge of the disk (LOOK),
+    // and a circular one seeks straight back to the first request on the other side (C-LOOK)
+    static void sweep(int head, int[] tracks, int[] ids, int length, long[] keys, boolean circular, boolean look, int[] order, byte[] directions, int offset) {
+        if (length == 0) return;
+        boolean upFirst = tracks[ids[0]] > head;
+        // sort by track, then by arrival, without boxing anything
+        for (int i = 0; i < length; i++) {
+            keys[i] = ((long) tracks[ids[i]] << 32) | i;
+        }
+        Arrays.sort(keys, 0, length);
+        int below = lowerBound(keys, length, head);     // first request at or above head
+        int above = lowerBound(keys, length, head + 1); // first request above head
+
+        // anything on the current track gets served first
+        int done = offset;
+        done = emit(keys, ids, below, above, SeekEngine.ANY, order, directions, done);
+        int turn;
+        if (upFirst) {
+            done = emit(keys, ids, above, length, SeekEngine.UP, order, directions, done);
+            turn = done;
+            if (circular) {
+                done = emit(keys, ids, 0, below, SeekEngine.UP, order, directions, done);
+            } else {
+                done = emitReversed(keys, ids, 0, below, SeekEngine.DOWN, order, directions, done);
+            }
+        } else {
+            done = emitReversed(keys, ids, 0, below, SeekEngine.DOWN, order, directions, done);
+            turn = done;
+            if (circular) {
+                done = emitReversed(keys, ids, above, length, SeekEngine.DOWN, order, directions, done);
+            } else {
+                done = emit(keys, ids, above, length, SeekEngine.UP, order, directions, done);
+            }
+        }
+        // the first request after the turn is where the variants differ
+        if (turn < done) {
+            if (circular && look) {
+                // C-LOOK jumps straight back against the sweep
+                directions[turn] = upFirst ? SeekEngine.DOWN : SeekEngine.UP;
+            } else if (circular) {
+                // C-SCAN runs out to the edge and seeks all the way back across before carrying on
+                directions[turn] = upFirst ? SeekEngine.WRAP_AT_TOP : SeekEngine.WRAP_AT_BOTTOM;
+            } else if (!look) {
+                // SCAN runs out to the edge before coming back
+                directions[turn] = upFirst ? SeekEngine.TURN_AT_TOP : SeekEngine.TURN_AT_BOTTOM;
+            }
+            // LOOK already turns right at the last request
+        }
+    }
+
+    private static int emit(long[] keys, int[] ids, int from, int to, byte direction, int[] order, byte[] directions, int done) {
+        for (int i = from; i < to; i++) {
+            order[done] = ids[(int) keys[i]];
+            directions[done] = direction;
+            done++;
+        }
+        return done;
+    }
+
+    // the tracks from the top down, but the ones on the same track still go oldest first
+    private static int emitReversed(long[] keys, int[] ids, int from, int to, byte direction, int[] order, byte[] directions, int done) {
+        int end = to;
+        while (end > from) {
+            int start = end - 1;
+            while (start > from && (keys[start - 1] >>> 32) == (keys[end - 1] >>> 32)) {
+                start--;
+            }
+            done = emit(keys, ids, start, end, direction, order, directions, done);
+            end = start;
+        }
+        return done;
+    }
+
+    /*
+     * SCAN, C-SCAN, LOOK or C-LOOK with requests arriving while the head sweeps.
+     * The head keeps going the way it's heading as long as there's something waiting ahead of it,
+     * so a request that arrives just ahead of the head is picked up on this pass,
+     * and one that arrives just behind it waits for the next one.
+     */
+    static final class Elevator implements PendingQueue {
+        private final TrackIndex waiting;
+        private final boolean circular;
+        private final boolean look;
+        private byte heading = SeekEngine.ANY; // until the first request is served
+        private int firstTrack = -1;           // where the first request to arrive is, which decides the first heading
+        private int size = 0;
+        private byte direction = SeekEngine.ANY;
+
+        Elevator(SchedulerSettings settings, int requests, int highestTrack, boolean circular, boolean look) {
+            this.waiting = new TrackIndex(Math.max(highestTrack, settings.startTrack), requests);
+            this.circular = circular;
+            this.look = look;
+        }
+
+        @Override
+        public void add(int request, int track, boolean write, long arrival) {
+            if (firstTrack < 0) firstTrack = track;
+            waiting.add(request, track);
+            size++;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        @Override
+        public int next(int head, long now) {
+            // the same way the whole-batch sweep starts, toward the side the first request is on
+            if (heading == SeekEngine.ANY) heading = (firstTrack > head) ? SeekEngine.UP : SeekEngine.DOWN;
+            size--;
+            boolean up = (heading == SeekEngine.UP);
+            int track = up ? waiting.ceiling(head) : waiting.floor(head);
+            if (track >= 0) {
+                direction = (track == head) ? SeekEngine.ANY : heading;
+                return waiting.poll(track);
+            }
+            // nothing left ahead, so this is where the variants differ
+            if (circular) {
+                // C-SCAN runs out to the edge and seeks back across from there, C-LOOK seeks straight back
+                track = up ? waiting.ceiling(0) : waiting.floor(waiting.highestTrack());
+                if (look) {
+                    direction = up ? SeekEngine.DOWN : SeekEngine.UP;
+                } else {
+                    direction = up ? SeekEngine.WRAP_AT_TOP : SeekEngine.WRAP_AT_BOTTOM;
+                }
+            } else {
+                // SCAN runs out to the edge before coming back, LOOK turns right here
+                track = up ? waiting.floor(head) : waiting.ceiling(head);
+                if (look) {
+                    direction = up ? SeekEngine.DOWN : SeekEngine.UP;
+                } else {
+                    direction = up ? SeekEngine.TURN_AT_TOP : SeekEngine.TURN_AT_BOTTOM;
+                }
+                heading = up ? SeekEngine.DOWN : SeekEngine.UP;
+            }
+            return waiting.poll(track);
+        }
+
+        @Override
+        public byte direction() {
+            return direction;
+        }
+    }
+
+    /*
+     * N-STEP-SCAN and FSCAN with requests arriving over time.
+     * Once the current pass is done, the oldest waiting requests (up to take of them) are frozen
+     * and served with one sweep, and anything that arrives in the meantime waits for a later pass.
+     */
+    static final class PassQueue implements PendingQueue {
+        private final int take;
+        private final boolean look;
+        private final int tracks[];  // the track of every request that's waiting, by request
+        private final int waiting[]; // a ring of the ones not in a pass yet, oldest first
+        private int oldest = 0;
+        private int size = 0;
+        // the pass being served
+        private final int ids[];
+        private final long keys[];
+        private final int pass[];
+        private final byte passDirections[];
+        private int passLength = 0;
+        private int served = 0;
+
+        PassQueue(int requests, int take, boolean look) {
+            this.take = take;
+            this.look = look;
+            this.tracks = new int[requests];
+            this.waiting = new int[requests];
+            int most = Math.min(take, requests);
+            this.ids = new int[most];
+            this.keys = new long[most];
+            this.pass = new int[most];
+            this.passDirections = new byte[most];
+        }
+
+        @Override
+        public void add(int request, int track, boolean write, long arrival) {
+            tracks[request] = track;
+            waiting[(oldest + size) % waiting.length] = request;
+            size++;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return served == passLength && size == 0;
+        }
+
+        @Override
+        public int next(int head, long now) {
+            if (served == passLength) {
+                passLength = Math.min(take, size);
+                // in at most two pieces, before and after the ring wraps
+                int first = Math.min(passLength, waiting.length - oldest);
+                System.arraycopy(waiting, oldest, ids, 0, first);
+                System.arraycopy(waiting, 0, ids, first, passLength - first);
+                oldest = (oldest + passLength) % waiting.length;
+                size -= passLength;
+                served = 0;
+                sweep(head, tracks, ids, passLength, keys, false, look, pass, passDirections, 0);
+            }
+            return pass[served++];
+        }
+
+        @Override
+        public byte direction() {
+            return passDirections[served - 1];
+        }
+    }
+
+    // index of the first key whose track is at least the given one
+    private static int lowerBound(long[] keys, int length, int track) {
+        long target = (long) track << 32;
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
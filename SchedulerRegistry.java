@@ -0,0 +1,50 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import java.util.*;
+
+/*
+ * Every DiskScheduler that ServiceLoader can find, by name, in the order they're listed.
+ */
+public final class SchedulerRegistry {
+    private static final Map<String, ServiceLoader.Provider<DiskScheduler>> POLICIES = load();
+
+    private SchedulerRegistry() {}
+
+    private static Map<String, ServiceLoader.Provider<DiskScheduler>> load() {
+        Map<String, ServiceLoader.Provider<DiskScheduler>> policies = new LinkedHashMap<String, ServiceLoader.Provider<DiskScheduler>>();
+        ServiceLoader.load(DiskScheduler.class).stream().forEach(provider -> {
+            String name = provider.get().name();
+            if (policies.containsKey(name)) {
+                throw new IllegalStateException("There is more than one policy called " + name);
+            }
+            policies.put(name, provider);
+        });
+        return Collections.unmodifiableMap(policies);
+    }
+
+    public static Set<String> names() {
+        return POLICIES.keySet();
+    }
+
+    public static boolean contains(String name) {
+        return POLICIES.containsKey(name);
+    }
+
+    // a fresh instance each time, so policies can keep state without being shared between threads
+    public static DiskScheduler create(String name) {
+        ServiceLoader.Provider<DiskScheduler> provider = POLICIES.get(name);
+        if (provider == null) {
+            throw new IllegalArgumentException(name + " is not a known policy");
+        }
+        return provider.get();
+    }
+}
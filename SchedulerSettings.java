@@ -0,0 +1,84 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+/*
+ * The settings every policy gets handed along with the requests.
+ */
+public final class SchedulerSettings {
+    public final int startTrack; // where the head starts
+    public final int batch;      // how many requests arrive together
+    public final int tracks;     // how many tracks the disk has
+    public final DiskTimingModel timing; // for the policies that keep track of time
+
+    // the DEADLINE policy's tunables, named after Linux's mq-deadline
+    public final long readExpire;  // ns a read can wait before it has to be served
+    public final long writeExpire; // ns a write can wait
+    public final int fifoBatch;    // how many requests go in sorted order before the deadlines are looked at again
+    public final int writesStarved; // how many times reads can go ahead of waiting writes
+
+    // the BFQ policy's tunables
+    public final long bfqBudget; // how much a client can use each turn, in tracks moved plus one for each request
+    public final long bfqSlice;  // ns a client's turn can last before it's charged its whole budget and has to wait
+
+    public final TrackBuffer.Config buffer; // the drive's track buffer, null if it doesn't have one
+    public final RequestMerger.Config merging; // how requests are merged before the policy sees them, null for not at all
+
+    public static final long DEFAULT_READ_EXPIRE = 500000000L;
+    public static final long DEFAULT_WRITE_EXPIRE = 5000000000L;
+    public static final int DEFAULT_FIFO_BATCH = 16;
+    public static final int DEFAULT_WRITES_STARVED = 2;
+    public static final long DEFAULT_BFQ_BUDGET = 1000;
+    public static final long DEFAULT_BFQ_SLICE = 125000000L;
+
+    public SchedulerSettings(int startTrack, int batch, int tracks) {
+        this(startTrack, batch, tracks, DiskModels.create("hdd", tracks),
+                DEFAULT_READ_EXPIRE, DEFAULT_WRITE_EXPIRE, DEFAULT_FIFO_BATCH, DEFAULT_WRITES_STARVED);
+    }
+
+    public SchedulerSettings(int startTrack, int batch, int tracks, DiskTimingModel timing,
+            long readExpire, long writeExpire, int fifoBatch, int writesStarved) {
+        this(startTrack, batch, tracks, timing, readExpire, writeExpire, fifoBatch, writesStarved, null, null);
+    }
+
+    public SchedulerSettings(int startTrack, int batch, int tracks, DiskTimingModel timing,
+            long readExpire, long writeExpire, int fifoBatch, int writesStarved, TrackBuffer.Config buffer, RequestMerger.Config merging) {
+        this(startTrack, batch, tracks, timing, readExpire, writeExpire, fifoBatch, writesStarved, DEFAULT_BFQ_BUDGET, DEFAULT_BFQ_SLICE,
+                buffer, merging);
+    }
+
+    public SchedulerSettings(int startTrack, int batch, int tracks, DiskTimingModel timing, long readExpire, long writeExpire,
+            int fifoBatch, int writesStarved, long bfqBudget, long bfqSlice, TrackBuffer.Config buffer, RequestMerger.Config merging) {
+        this.startTrack = startTrack;
+        this.batch = batch;
+        this.tracks = tracks;
+        this.timing = timing;
+        this.readExpire = readExpire;
+        this.writeExpire = writeExpire;
+        this.fifoBatch = fifoBatch;
+        this.writesStarved = writesStarved;
+        this.bfqBudget = bfqBudget;
+        this.bfqSlice = bfqSlice;
+        this.buffer = buffer;
+        this.merging = merging;
+    }
+
+    // the same settings from another start track and batch size, for sweeping over them
+    public SchedulerSettings with(int startTrack, int batch) {
+        return new SchedulerSettings(startTrack, batch, tracks, timing, readExpire, writeExpire, fifoBatch, writesStarved, bfqBudget, bfqSlice,
+                buffer, merging);
+    }
+
+    // the same settings with no track buffer and no merging, just the policy and the head
+    public SchedulerSettings plain() {
+        return new SchedulerSettings(startTrack, batch, tracks, timing, readExpire, writeExpire, fifoBatch, writesStarved, bfqBudget, bfqSlice,
+                null, null);
+    }
+}
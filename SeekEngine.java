@@ -0,0 +1,84 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+/*
+ * Works out how far the head has to travel between two tracks.
+ * The disk is treated as a ring, so going up past the last track lands on track 1
+ * and going down past track 1 lands on the last track, each costing one move.
+ * An elevator that turns around at the edge of the disk (SCAN) goes all the way out to
+ * the last track (or track 1) first and then comes back, which is what the TURN directions are for.
+ * C-SCAN's return isn't free either: the head runs out to the edge, seeks all the way back across the disk,
+ * and carries on from there to the request, which is what the WRAP directions are for.
+ * Everything is closed form, so a seek costs the same no matter how far it goes.
+ */
+public final class SeekEngine {
+    // the directions a policy can ask the head to travel in
+    public static final byte ANY = 0;
+    public static final byte UP = 1;
+    public static final byte DOWN = 2;
+    public static final byte TURN_AT_TOP = 3;    // up to the last track, then back down
+    public static final byte TURN_AT_BOTTOM = 4; // down to track 1, then back up
+    public static final byte WRAP_AT_TOP = 5;    // up to the last track, back across to track 1, then up again
+    public static final byte WRAP_AT_BOTTOM = 6; // down to track 1, back across to the last track, then down again
+
+    private SeekEngine() {}
+
+    public static int distance(int currentTrack, int moveToTrack, byte direction, int tracks) {
+        switch (direction) {
+            case UP:
+                if (moveToTrack >= currentTrack) {
+                    return moveToTrack - currentTrack;
+                }
+                // go up to the top, wrap around, and come up from the bottom
+                return tracks - (currentTrack - moveToTrack);
+            case DOWN:
+                if (moveToTrack <= currentTrack) {
+                    return currentTrack - moveToTrack;
+                }
+                // go down to the bottom, wrap around, and come down from the top
+                return tracks - (moveToTrack - currentTrack);
+            case TURN_AT_TOP:
+                return (tracks - currentTrack) + (tracks - moveToTrack);
+            case TURN_AT_BOTTOM:
+                return (currentTrack - 1) + (moveToTrack - 1);
+            case WRAP_AT_TOP:
+                return (tracks - currentTrack) + (tracks - 1) + (moveToTrack - 1);
+            case WRAP_AT_BOTTOM:
+                return (currentTrack - 1) + (tracks - 1) + (tracks - moveToTrack);
+            default:
+                // whichever way is shorter, going straight there wins a tie
+                int straight = Math.abs(moveToTrack - currentTrack);
+                return Math.min(straight, tracks - straight);
+        }
+    }
+
+    // the distances only make sense between tracks on the disk, a track past either end would come out negative,
+    // so the tracks a policy is handed are checked before any of them are timed
+    public static void checkTracks(int[] tracks, int count, int diskTracks) {
+        for (int i = 0; i < count; i++) {
+            if (tracks[i] < 1 || tracks[i] > diskTracks) {
+                throw new IllegalArgumentException("request " + (i + 1) + " is on track " + tracks[i] + ", but the disk's tracks are 1-" + diskTracks);
+            }
+        }
+    }
+
+    public static byte direction(String name) {
+        if (name == null) return ANY;
+        switch (name) {
+            case "up":
+                return UP;
+            case "down":
+                return DOWN;
+            default:
+                return ANY;
+        }
+    }
+}
@@ -10,18 +10,22 @@
 package os_project3;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.io.*;
 import java.lang.Math.*;
 import java.nio.file.Paths;
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.ThreadLocalRandom;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 public class Simulator { 
+    // the biggest array the JVM will reliably hand out
+    private static final int MAX_REQUESTS = Integer.MAX_VALUE - 8;
+
     public static void main(String[] args) throws Exception { 
         // set up a system to log which args were used
         Map<String, String> includedArgs = new HashMap<String, String>();
-        String possibleArgs[] = {"v", "h", "i", "g", "o", "s", "p", "b"};
+        String possibleArgs[] = {"v", "h", "i", "g", "o", "s", "p", "b", "n", "t"};
         for (String arg: possibleArgs) {
             includedArgs.put(arg, "false");
         }
@@ -31,15 +35,45 @@ public class Simulator {
         File readFile = new File(Paths.get(".").toAbsolutePath().normalize().toString() + "/input.txt");
         String writeFile = Paths.get(".").toAbsolutePath().normalize().toString() + "/output.txt";
         // policy must be set, or nothing happens
-        // the system can handle up to eight policies at once,
-        // but no doubles. Seeing as there are only seven to choose from,
-        // this should cover any instance of runtime variability
-        String policies[] = {"","","","","","","","",""};
-        String possiblePolicies[] = {"FIFO","LIFO","SSTF","SCAN","C-SCAN","N-STEP-SCAN","FSCAN"};
+        // the system can handle as many policies at once as there are to choose from,
+        // but no doubles
+        String policies[] = {};
+        Set<String> possiblePolicies = SchedulerRegistry.names();
 
-        int startPoint = 100; // which track to start on (default)
+        int tracks = 200; // how many tracks the disk has (default)
+        int startPoint = 0; // which track to start on, defaults to the middle of the disk
         int batch = 5; // number of nextTracks to send to each policy (default)
+        int generateCount = 1000; // how many numbers -g makes (default)
+        String disk = "hdd"; // which disk to time the requests on (default)
+        String arrivalSpec = null; // when the requests arrive, the trace's own times if it has them (default)
+        BlockTrace.Geometry geometry = BlockTrace.Geometry.DEFAULT; // how a real trace's sectors map onto tracks
+        String convertFrom = null; // -c's two files
+        String convertTo = null;
+        int streamWindow = 0; // how many requests the disk holds at once when --stream replays the trace from its file, 0 to load it all
+        // the DEADLINE policy's tunables (defaults are mq-deadline's)
+        long readExpire = SchedulerSettings.DEFAULT_READ_EXPIRE;
+        long writeExpire = SchedulerSettings.DEFAULT_WRITE_EXPIRE;
+        int fifoBatch = SchedulerSettings.DEFAULT_FIFO_BATCH;
+        int writesStarved = SchedulerSettings.DEFAULT_WRITES_STARVED;
+        long bfqBudget = SchedulerSettings.DEFAULT_BFQ_BUDGET;
+        long bfqSlice = SchedulerSettings.DEFAULT_BFQ_SLICE;
+        long seed = new SplittableRandom().nextLong(); // what -g starts its random numbers from, random unless given
         boolean debug = false;
+        boolean quiet = false; // whether to leave the table off the console
+        boolean table = true; // whether to draw the table at all
+        String resultsFile = null; // where every request and each policy's summary go as data, if anywhere
+        String bufferSpec = null; // the drive's track buffer as eviction:tracks, none if not given
+        int readAhead = 0; // how many tracks after each one the buffer reads too
+        RequestMerger.Config merging = null; // how requests are merged before the policy sees them, not at all if not given
+        DiskArray.Config raid = null; // the array of disks the trace is striped across, just the one disk if not given
+        int closedLoop[] = null; // the client counts to run each policy with in a closed loop instead of a trace, if given
+        long think = 10000000; // how long each closed loop client thinks between requests on average (default)
+        // --sweep runs every combination of these instead of printing one table
+        String sweepFile = null;
+        int sweepStarts[] = null;
+        int sweepBatches[] = null;
+        String sweepGenerators[] = null;
+        long sweepSeeds[] = null;
 
         if (args.length == 0) {
             // at least the required args are necessary
@@ -62,20 +96,57 @@ public class Simulator {
                     case "--verbose":
                         debug = true;
                         break;
+                    case "-q":
+                    case "--quiet":
+                        quiet = true;
+                        break;
+                    case "--no-table":
+                        table = false;
+                        break;
+                    case "--results":
+                        if (!ResultsWriter.isResults(args[i+1])) {
+                            System.err.println("The results must go to a csv or jsonl file!\n e.g. \"--results results.csv\"");
+                            java.lang.System.exit(1);
+                        }
+                        resultsFile = args[i+1];
+                        System.out.println("results flag recognized; writing every request to " + args[i+1].toString());
+                        i++; //skip the next arg
+                        break;
                     case "-i":
                     case "--input":
-                        if (!(args[i+1].toString().endsWith(".txt"))) {
-                            System.err.println("The input path must be to a txt file!\n e.g. \"-i input.txt\"");
+                        if (!TraceFile.isTrace(args[i+1])) {
+                            System.err.println("The input path must be to a txt, trace, blkparse or spc file!\n e.g. \"-i input.txt\" or \"-i input.trace\"");
                             java.lang.System.exit(1);
                         } else {
                             includedArgs.put("i", args[i+1].toString());
                             i++; //skip the next arg
                         }
                         break;
+                    case "-c":
+                    case "--convert":
+                        // convert a trace between formats, then stop (once the rest of the args are read, since --geometry matters)
+                        if (!TraceFile.isTrace(args[i+1]) || !TraceFile.isTrace(args[i+2]) || BlockTrace.isBlockTrace(args[i+2])) {
+                            System.err.println("Both convert paths must be to txt or trace files (or from a blkparse or spc trace)!\n e.g. \"-c input.txt input.trace\"");
+                            java.lang.System.exit(1);
+                        }
+                        convertFrom = args[i+1];
+                        convertTo = args[i+2];
+                        i += 2; //skip the next two args
+                        break;
+                    case "--geometry":
+                        try {
+                            geometry = BlockTrace.Geometry.parse(args[i+1]);
+                            System.out.println("geometry flag recognized; each track is " + geometry.heads + " heads of " + geometry.sectors + " sectors");
+                            i++; //skip the next arg
+                        } catch (IllegalArgumentException iae) {
+                            System.err.println("The geometry flag must be followed by heads:sectors! (" + iae.getMessage() + ")\n e.g. \"--geometry 16:63\"");
+                            java.lang.System.exit(1);
+                        }
+                        break;
                     case "-g":
                     case "--generate":
-                        if ((!(args[i+1].toString().equals("random"))) && (!(args[i+1].toString().equals("alternate")))) {
-                            System.err.println("The generate argument must be one of the accepted generation methods!\n (random or alternate)\n e.g. \"-g random\"");
+                        if (!WorkloadGenerator.isMethod(args[i+1])) {
+                            System.err.println("The generate argument must be one of the accepted generation methods, or several joined with + for one client each!\n (" + String.join(", ", WorkloadGenerator.methods()) + ")\n e.g. \"-g random\" or \"-g sequential+random\"");
                             java.lang.System.exit(1);
                         } else {
                             includedArgs.put("g", args[i+1].toString());
@@ -96,13 +167,10 @@ public class Simulator {
                     case "--start":
                         try {
                             startPoint = Integer.parseInt(args[i+1]);
-                            if (startPoint < 1 || startPoint > 200) {
-                                System.err.println("Start point must be between 1-200!");
-                                java.lang.System.exit(1);
-                            } else {
-                                System.out.println("start flag recognized; setting start point to " + args[i+1].toString());
-                                i++; //skip the next arg
-                            }
+                            // checked against the number of tracks once every arg has been read
+                            includedArgs.put("s", args[i+1]);
+                            System.out.println("start flag recognized; setting start point to " + args[i+1].toString());
+                            i++; //skip the next arg
                         } catch (NumberFormatException nfe) {
                             System.err.println("The start flag must be followed by an integer!");
                             java.lang.System.exit(1);
@@ -118,26 +186,16 @@ public class Simulator {
                             policies = args[i+1].toString().split(",");
                             // check that the included policies are valid
                             // and that there are no doubles
-                            Map<String, Integer> includedPolicies = new HashMap<String, Integer>();
-                            for (String policy: possiblePolicies) {
-                                includedPolicies.put(policy, 0);
-                            }
+                            Set<String> includedPolicies = new HashSet<String>();
                             for (String arg: policies) {
-                                boolean valid = false;
-                                for (String policy: possiblePolicies) {
-                                    if (arg.equals(policy)) {
-                                        valid = true;
-                                        if (includedPolicies.get(policy) > 0) {
-                                            System.err.println("You cannot have duplicate policies!\n (there is more than one " + policy + " in your arguments)");
-                                            java.lang.System.exit(1);
-                                        }
-                                        includedPolicies.put(policy, 0);
-                                    }
-                                }
-                                if (valid == false) {
+                                if (!possiblePolicies.contains(arg)) {
                                     System.err.println(arg + " is not a valid policy, please remove or fix it and try again!");
                                     java.lang.System.exit(1);
                                 }
+                                if (!includedPolicies.add(arg)) {
+                                    System.err.println("You cannot have duplicate policies!\n (there is more than one " + arg + " in your arguments)");
+                                    java.lang.System.exit(1);
+                                }
                             }
                             i++; //skip the next arg
                         }
@@ -146,8 +204,8 @@ public class Simulator {
                     case "--batch":
                         try {
                             batch = Integer.parseInt(args[i+1]);
-                            if (100 % batch != 0) {
-                                System.err.println("1000 must be cleanly divisble by your batch number,\n please change it and try again");
+                            if (batch < 1) {
+                                System.err.println("The batch number must be at least 1!");
                                 java.lang.System.exit(1);
                             }
                             System.out.println("batch flag recognized; setting batch number to " + args[i+1].toString());
@@ -157,6 +215,259 @@ public class Simulator {
                             java.lang.System.exit(1);
                         }
                         break;
+                    case "-n":
+                    case "--count":
+                        try {
+                            generateCount = Integer.parseInt(args[i+1]);
+                            if (generateCount < 1 || generateCount > MAX_REQUESTS) {
+                                System.err.println("The count must be between 1-" + MAX_REQUESTS + "!");
+                                java.lang.System.exit(1);
+                            }
+                            includedArgs.put("n", args[i+1]);
+                            System.out.println("count flag recognized; generating " + args[i+1].toString() + " numbers");
+                            i++; //skip the next arg
+                        } catch (NumberFormatException nfe) {
+                            System.err.println("The count flag must be followed by an integer!");
+                            java.lang.System.exit(1);
+                        }
+                        break;
+                    case "-d":
+                    case "--disk":
+                        if (!DiskModels.names().contains(args[i+1])) {
+                            System.err.println("The disk must be one of the known disks!\n (" + String.join(", ", DiskModels.names()) + ")\n e.g. \"-d hdd\"");
+                            java.lang.System.exit(1);
+                        }
+                        disk = args[i+1];
+                        System.out.println("disk flag recognized; timing requests on " + args[i+1].toString());
+                        i++; //skip the next arg
+                        break;
+                    case "--arrivals":
+                        try {
+                            ArrivalProcess.check(args[i+1]);
+                        } catch (IllegalArgumentException iae) {
+                            System.err.println("The arrivals flag must be none, trace, poisson:RATE or bursty:RATE! (" + iae.getMessage() + ")\n e.g. \"--arrivals poisson:150\"");
+                            java.lang.System.exit(1);
+                        }
+                        arrivalSpec = args[i+1];
+                        System.out.println("arrivals flag recognized; requests arrive by " + args[i+1].toString());
+                        i++; //skip the next arg
+                        break;
+                    case "--stream":
+                        try {
+                            streamWindow = Integer.parseInt(args[i+1]);
+                            if (streamWindow < 1) {
+                                System.err.println("The stream window must be at least 1 request!");
+                                java.lang.System.exit(1);
+                            }
+                            System.out.println("stream flag recognized; replaying the trace " + args[i+1].toString() + " requests at a time");
+                            i++; //skip the next arg
+                        } catch (NumberFormatException nfe) {
+                            System.err.println("The stream flag must be followed by an integer!");
+                            java.lang.System.exit(1);
+                        }
+                        break;
+                    case "--buffer":
+                        bufferSpec = args[i+1];
+                        System.out.println("buffer flag recognized; the drive buffers tracks with " + args[i+1].toString());
+                        i++; //skip the next arg
+                        break;
+                    case "--read-ahead":
+                        try {
+                            readAhead = Integer.parseInt(args[i+1]);
+                            if (readAhead < 0) {
+                                System.err.println("The read ahead can't be negative!");
+                                java.lang.System.exit(1);
+                            }
+                            System.out.println("read ahead flag recognized; the buffer reads " + args[i+1].toString() + " tracks ahead");
+                            i++; //skip the next arg
+                        } catch (NumberFormatException nfe) {
+                            System.err.println("The read ahead flag must be followed by an integer!");
+                            java.lang.System.exit(1);
+                        }
+                        break;
+                    case "--merge":
+                        try {
+                            merging = RequestMerger.Config.parse(args[i+1]);
+                            System.out.println("merge flag recognized; merging requests with " + merging);
+                            i++; //skip the next arg
+                        } catch (IllegalArgumentException iae) {
+                            System.err.println("The merge flag must be followed by window:size! (" + iae.getMessage() + ")\n e.g. \"--merge 1:8\"");
+                            java.lang.System.exit(1);
+                        }
+                        break;
+                    case "--raid":
+                        try {
+                            raid = DiskArray.Config.parse(args[i+1]);
+                            System.out.println("raid flag recognized; striping the trace as " + raid);
+                            i++; //skip the next arg
+                        } catch (IllegalArgumentException iae) {
+                            System.err.println("The raid flag must be followed by level:disks:stripe! (" + iae.getMessage() + ")\n e.g. \"--raid 10:4:16\"");
+                            java.lang.System.exit(1);
+                        }
+                        break;
+                    case "--read-expire":
+                    case "--write-expire":
+                        try {
+                            long ms = Long.parseLong(args[i+1]);
+                            if (ms < 0 || ms > Long.MAX_VALUE / 1000000) {
+                                System.err.println("The " + args[i] + " flag must be a number of milliseconds, 0 or more!");
+                                java.lang.System.exit(1);
+                            }
+                            if (args[i].equals("--read-expire")) {
+                                readExpire = ms * 1000000;
+                            } else {
+                                writeExpire = ms * 1000000;
+                            }
+                            i++; //skip the next arg
+                        } catch (NumberFormatException nfe) {
+                            System.err.println("The " + args[i] + " flag must be followed by an integer!");
+                            java.lang.System.exit(1);
+                        }
+                        break;
+                    case "--fifo-batch":
+                    case "--writes-starved":
+                        try {
+                            int value = Integer.parseInt(args[i+1]);
+                            if (value < (args[i].equals("--fifo-batch") ? 1 : 0)) {
+                                System.err.println("The " + args[i] + " flag is too small!");
+                                java.lang.System.exit(1);
+                            }
+                            if (args[i].equals("--fifo-batch")) {
+                                fifoBatch = value;
+                            } else {
+                                writesStarved = value;
+                            }
+                            i++; //skip the next arg
+                        } catch (NumberFormatException nfe) {
+                            System.err.println("The " + args[i] + " flag must be followed by an integer!");
+                            java.lang.System.exit(1);
+                        }
+                        break;
+                    case "--bfq-budget":
+                        try {
+                            bfqBudget = Long.parseLong(args[i+1]);
+                            if (bfqBudget < 1) {
+                                System.err.println("The bfq-budget flag must be at least 1!");
+                                java.lang.System.exit(1);
+                            }
+                            i++; //skip the next arg
+                        } catch (NumberFormatException nfe) {
+                            System.err.println("The bfq-budget flag must be followed by an integer!");
+                            java.lang.System.exit(1);
+                        }
+                        break;
+                    case "--bfq-slice":
+                        try {
+                            long ms = Long.parseLong(args[i+1]);
+                            if (ms < 1 || ms > Long.MAX_VALUE / 1000000) {
+                                System.err.println("The bfq-slice flag must be a number of milliseconds, 1 or more!");
+                                java.lang.System.exit(1);
+                            }
+                            bfqSlice = ms * 1000000;
+                            i++; //skip the next arg
+                        } catch (NumberFormatException nfe) {
+                            System.err.println("The bfq-slice flag must be followed by an integer!");
+                            java.lang.System.exit(1);
+                        }
+                        break;
+                    case "--closed-loop":
+                        try {
+                            closedLoop = ParameterSweep.parseIntRange(args[i+1]);
+                            for (int c: closedLoop) {
+                                if (c < 1) {
+                                    System.err.println("Every client count must be at least 1!");
+                                    java.lang.System.exit(1);
+                                }
+                            }
+                            System.out.println("closed loop flag recognized; running each policy with " + args[i+1].toString() + " clients");
+                            i++; //skip the next arg
+                        } catch (NumberFormatException | ArithmeticException e) {
+                            System.err.println("The closed-loop flag must be followed by client counts or ranges!\n e.g. \"--closed-loop 1,2,4..64:4\"");
+                            java.lang.System.exit(1);
+                        }
+                        break;
+                    case "--think":
+                        try {
+                            long ms = Long.parseLong(args[i+1]);
+                            if (ms < 0 || ms > Long.MAX_VALUE / 1000000) {
+                                System.err.println("The think flag must be a number of milliseconds, 0 or more!");
+                                java.lang.System.exit(1);
+                            }
+                            think = ms * 1000000;
+                            i++; //skip the next arg
+                        } catch (NumberFormatException nfe) {
+                            System.err.println("The think flag must be followed by an integer!");
+                            java.lang.System.exit(1);
+                        }
+                        break;
+                    case "--seed":
+                        try {
+                            seed = Long.parseLong(args[i+1]);
+                            System.out.println("seed flag recognized; generating from seed " + args[i+1].toString());
+                            i++; //skip the next arg
+                        } catch (NumberFormatException nfe) {
+                            System.err.println("The seed flag must be followed by an integer!");
+                            java.lang.System.exit(1);
+                        }
+                        break;
+                    case "--sweep":
+                        if (!(args[i+1].endsWith(".csv") || args[i+1].endsWith(".json"))) {
+                            System.err.println("The sweep results must go to a csv or json file!\n e.g. \"--sweep results.csv\"");
+                            java.lang.System.exit(1);
+                        }
+                        sweepFile = args[i+1];
+                        System.out.println("sweep flag recognized; writing every combination to " + args[i+1].toString());
+                        i++; //skip the next arg
+                        break;
+                    case "--starts":
+                    case "--batches":
+                    case "--seeds":
+                        try {
+                            if (args[i].equals("--starts")) {
+                                sweepStarts = ParameterSweep.parseIntRange(args[i+1]);
+                            } else if (args[i].equals("--batches")) {
+                                sweepBatches = ParameterSweep.parseIntRange(args[i+1]);
+                                for (int b: sweepBatches) {
+                                    if (b < 1) {
+                                        System.err.println("Every batch number must be at least 1!");
+                                        java.lang.System.exit(1);
+                                    }
+                                }
+                            } else {
+                                sweepSeeds = ParameterSweep.parseRange(args[i+1]);
+                            }
+                            i++; //skip the next arg
+                        } catch (NumberFormatException | ArithmeticException e) {
+                            System.err.println("The " + args[i] + " flag must be followed by integers or ranges! (" + e.getMessage() + ")\n e.g. \"" + args[i] + " 1,50..200:50\"");
+                            java.lang.System.exit(1);
+                        }
+                        break;
+                    case "--generators":
+                        sweepGenerators = args[i+1].split(",");
+                        for (String method: sweepGenerators) {
+                            if (!WorkloadGenerator.isMethod(method)) {
+                                System.err.println(method + " is not a generation method!\n (" + String.join(", ", WorkloadGenerator.methods()) + ")");
+                                java.lang.System.exit(1);
+                            }
+                        }
+                        i++; //skip the next arg
+                        break;
+                    case "-t":
+                    case "--tracks":
+                        try {
+                            tracks = Integer.parseInt(args[i+1]);
+                            if (tracks < 1) {
+                                System.err.println("The disk must have at least 1 track!");
+                                java.lang.System.exit(1);
+                            }
+                            includedArgs.put("t", args[i+1]);
+                            System.out.println("tracks flag recognized; the disk has " + args[i+1].toString() + " tracks");
+                            i++; //skip the next arg
+                        } catch (NumberFormatException nfe) {
+                            System.err.println("The tracks flag must be followed by an integer!");
+                            java.lang.System.exit(1);
+                        }
+                        break;
                     default:
                         // arg is something unrecognized
                         System.out.println("The argument (" + args[i].toString() + ") is unrecognized!\n It will be ignored.");
@@ -167,16 +478,114 @@ public class Simulator {
             java.lang.System.exit(1);
         }
 
+        if (convertFrom != null) {
+            try {
+                long converted = TraceFile.convert(new File(convertFrom), new File(convertTo), geometry);
+                System.out.println("Converted " + converted + " tracks from " + convertFrom + " to " + convertTo);
+                java.lang.System.exit(0);
+            } catch (IOException ioe) {
+                System.err.println("The trace couldn't be converted: " + ioe.getMessage());
+                java.lang.System.exit(1);
+            }
+        }
+
         // check that the required args are included
-        if (includedArgs.get("i").equals("false")) {
+        // (a sweep that generates its own workloads doesn't need an input, and neither does a closed loop)
+        if (includedArgs.get("i").equals("false") && sweepGenerators == null && closedLoop == null) {
             if (includedArgs.get("g").equals("false")) {
                 System.err.println("The input flag is a required argument!\n Please include it and run the program again");
             } else {
                 System.out.println("The input flag is usually a required argument,\n but since you included the generate flag\n we're making a new file called \'input.txt\' anyway");
             }
         }
-        if (includedArgs.get("p").length() == 0) {
+        if (includedArgs.get("p").equals("false")) {
             System.err.println("The policy flag is a required argument!\n Please include it and run the program again");
+            java.lang.System.exit(1);
+        }
+        // the start point depends on how big the disk is
+        if (includedArgs.get("s").equals("false")) {
+            startPoint = (tracks + 1) / 2;
+        } else if (startPoint < 1 || startPoint > tracks) {
+            System.err.println("Start point must be between 1-" + tracks + "!");
+            java.lang.System.exit(1);
+        }
+
+        DiskTimingModel timing = null;
+        try {
+            timing = DiskModels.create(disk, tracks);
+        } catch (IllegalArgumentException iae) {
+            System.err.println("The " + disk + " disk can't be set up with " + tracks + " tracks! (" + iae.getMessage() + ")");
+            java.lang.System.exit(1);
+        }
+        TrackBuffer.Config buffer = null;
+        if (bufferSpec != null) {
+            try {
+                buffer = TrackBuffer.Config.parse(bufferSpec, readAhead);
+            } catch (IllegalArgumentException iae) {
+                System.err.println("The buffer flag must be followed by eviction:tracks! (" + iae.getMessage() + ")\n e.g. \"--buffer lru:64\"");
+                java.lang.System.exit(1);
+            }
+        } else if (readAhead > 0) {
+            System.out.println("There's no --buffer to read ahead into, so --read-ahead will be ignored.");
+        }
+        final SchedulerSettings settings = new SchedulerSettings(startPoint, batch, tracks, timing,
+                readExpire, writeExpire, fifoBatch, writesStarved, bfqBudget, bfqSlice, buffer, merging);
+
+        // a sweep runs everything itself and writes its own file, so it's done here
+        if (sweepFile != null) {
+            if (streamWindow > 0) {
+                System.err.println("A sweep can't be streamed, it shares each trace between its jobs!");
+                java.lang.System.exit(1);
+            }
+            if (raid != null) {
+                System.err.println("A sweep only runs on the one disk, it can't be given --raid!");
+                java.lang.System.exit(1);
+            }
+            if (sweepStarts == null) sweepStarts = new int[] {startPoint};
+            if (sweepBatches == null) sweepBatches = new int[] {batch};
+            if (sweepSeeds == null) sweepSeeds = new long[] {seed};
+            if (sweepGenerators == null && !includedArgs.get("g").equals("false")) {
+                sweepGenerators = new String[] {includedArgs.get("g")};
+            }
+            for (int s: sweepStarts) {
+                if (s < 1 || s > tracks) {
+                    System.err.println("Every start point must be between 1-" + tracks + "!");
+                    java.lang.System.exit(1);
+                }
+            }
+            File sweepInput = includedArgs.get("i").equals("false") ? readFile : new File(includedArgs.get("i"));
+            if (sweepGenerators == null && !sweepInput.exists()) {
+                System.err.println("The specified file cannot be found!");
+                java.lang.System.exit(1);
+            }
+            try {
+                ParameterSweep sweep = new ParameterSweep(policies, sweepStarts, sweepBatches, sweepGenerators, sweepSeeds,
+                        sweepInput, geometry, generateCount, arrivalSpec, settings, debug);
+                int jobs = sweep.run(sweepFile);
+                System.out.println("Ran " + jobs + " combinations into " + sweepFile);
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("The sweep couldn't be run! (" + e.getMessage() + ")");
+                java.lang.System.exit(1);
+            }
+            return;
+        }
+
+        // a closed loop's clients make their own requests as they go, so there's no trace to read either
+        if (closedLoop != null) {
+            if (streamWindow > 0 || sweepFile != null || raid != null) {
+                System.err.println("A closed loop runs on its own, it can't be given --stream, --sweep or --raid!");
+                java.lang.System.exit(1);
+            }
+            if (merging != null) {
+                System.out.println("A closed loop client only ever has one request out, so --merge will be ignored.");
+            }
+            if (!includedArgs.get("o").equals("false")) {
+                writeFile = includedArgs.get("o");
+            }
+            String methods = includedArgs.get("g").equals("false") ? "random" : includedArgs.get("g");
+            closedLoopPolicies(policies, closedLoop, methods, think, generateCount, settings, seed, resultsFile,
+                    table ? writeFile : null, quiet, debug);
+            return;
         }
 
         // process some of the args in this way because the order matters
@@ -184,18 +593,15 @@ public class Simulator {
         for (String arg: possibleArgs) {
             switch (arg) {
                 case "i":
-                    if (!(includedArgs.get("g").equals("false"))) {
-                        break;
-                    }
-                    if (!(includedArgs.get("g").equals("false"))) {
+                    if (!(includedArgs.get("i").equals("false"))) {
                         readFile = new File(includedArgs.get("i"));
                         System.out.println("input flag recognized; setting input file to " + includedArgs.get("i"));
                     }
                     break;
                 case "g":
                     if (!(includedArgs.get("g").equals("false"))) {
-                        generateNumbers(includedArgs.get("g"), readFile, debug);
-                        System.out.println("generate flag recognized; creating 1000 new numbers in " + readFile.getPath());
+                        generateNumbers(includedArgs.get("g"), readFile, generateCount, tracks, seed, debug);
+                        System.out.println("generate flag recognized; creating " + generateCount + " new numbers in " + readFile.getPath() + " from seed " + seed);
                     }
                     break;
                 case "o":
@@ -207,836 +613,365 @@ public class Simulator {
         }
 
         // create a new input file if none exist (it should)
-        if (!readFile.exists()) {
+        // an empty binary trace still needs a header, so those have to exist already
+        if (!readFile.exists() && !readFile.getPath().endsWith(".txt")) {
+            System.err.println("The specified file cannot be found!");
+            java.lang.System.exit(1);
+        } else if (!readFile.exists()) {
             readFile.createNewFile();
         }
-        // make a new output file
-        File output = new File(writeFile);
-        if (output.exists()) {
-            output.delete();
-            output.createNewFile();
-        }
-
-        // first, log a little information 
-        logLine(writeFile, "\nThe table is organized as such:\n");
-        logLine(writeFile, "| Policy Name |\n");
-        logLine(writeFile, "| Starting Track |\n");
-        logLine(writeFile, "| Next track | Tracks Moved |\n");
-        logLine(writeFile, "| ... |\n");
-        logLine(writeFile, "| Average Seek Length |\n");
-        logLine(writeFile, "| Average Seek Time |\n");
-        
-        // determine how wide the output table should be
-        int tableWidth = 1; //start with 1, which is the left wall
-        for (String policy: policies) {
-            tableWidth++; //add one, for the separator/right wall if last
-            tableWidth += (Math.ceil(2*(policy.length()/3))+policy.length()+Math.floor(2*(policy.length()/3))); //increase by #chars of policy x 2
-        }
-        // make vertical divider of proper width
-        String divider = new String(new char[tableWidth]).replace('\0', '-');
-        divider = divider + "\n";
-        
-        // output headers of table
-        logLine(writeFile, divider);
-        logLine(writeFile, "|");
-        for (String policy: policies) {
-            // this centers the policy name in a box twice its length
-            logLine(writeFile, String.format("%"+(Math.ceil(2*(policy.length()/3))+"s%"+policy.length()+"s%"+Math.floor(2*(policy.length()/3)))+"s%s","", policy,"", "|"));
-        }
-        logLine(writeFile, "\n");
-        // output the start point
-        logLine(writeFile, divider);
-        logLine(writeFile, "|");
-        for (String policy: policies) {
-            logLine(writeFile, String.format("%"+(Math.ceil(2*(policy.length()/3))+"s%"+policy.length()+"s%"+Math.floor(2*(policy.length()/3)))+"s%s","", startPoint,"", "|"));
+        if (streamWindow > 0) {
+            if (raid != null) {
+                System.err.println("An array can't be streamed, every disk needs its share of the trace up front!");
+                java.lang.System.exit(1);
+            }
+            // the requests go to the results file if there is one, otherwise to the output file as CSV
+            streamPolicies(policies, readFile, geometry, (resultsFile != null) ? resultsFile : writeFile, streamWindow, arrivalSpec, seed, settings, debug);
+            return;
         }
-        logLine(writeFile, "\n");
-        logLine(writeFile, divider);
 
-                
         // finally, get to the actual meat and potatoes of the program
-        
-        // these maps exists so we can get the proper pipes/semaphores knowing only the policy they belong to
-        Map<String, PipedInputStream> readPipes = new HashMap<String, PipedInputStream>();
-        Map<String, PipedOutputStream> writePipes = new HashMap<String, PipedOutputStream>();
-        Map<String, Semaphore[]> semaphores = new HashMap<String, Semaphore[]>();
-        // create threads for each policy
-        for (String policy: policies) {
-            // set up the reader/writer for input/output
-            PipedInputStream newWritePipe = new PipedInputStream();
-            PipedOutputStream newReadPipe = new PipedOutputStream();
-            newWritePipe.connect(newReadPipe);
-            // and semaphores to control access between the main and policy threads during use
-            // 0/1 are read/write, 2/3 are used alternately to control movement between steps of the process
-            Semaphore newSemaphores[]  = {new Semaphore(0), new Semaphore(1), new Semaphore(1), new Semaphore(1)};
-            // add those to the HashMaps so we can easily access them later
-            readPipes.put(policy, newWritePipe);
-            writePipes.put(policy, newReadPipe);
-            semaphores.put(policy, newSemaphores);
 
-            // start 
-            Thread policyThread = new Thread(new Runnable() {
-                @Override
-                public void run() {
-                    startNewThread(policy, semaphores, readPipes, writePipes);
-                }
-            });
-            policyThread.start();
+        // the policies only ever read the trace, so it's loaded once and every policy gets the same array
+        final TraceFile.Trace trace;
+        try {
+            // an array holds more tracks than any one of its disks
+            trace = TraceFile.load(readFile, geometry, (raid != null) ? raid.tracks(tracks) : tracks);
+        } catch (IOException ioe) {
+            System.err.println("The input trace couldn't be read: " + ioe.getMessage());
+            java.lang.System.exit(1);
+            return;
         }
+        if (debug == true) System.out.println("MAIN: read " + trace.size() + " tracks from " + readFile.getPath());
 
-        // STEP 1
-        // some useful variables to reader Threads,
-        // must be done this way since the variables are not final
-        // and therefore cannot be passed as parameters
-        for (String policy: policies) {
-            startStep(semaphores, policy, 'A');
+        // every policy sees the requests arrive at the same times
+        final long arrivals[];
+        try {
+            arrivals = ArrivalProcess.arrivals(arrivalSpec, trace, seed);
+        } catch (IllegalArgumentException iae) {
+            System.err.println("The requests' arrival times couldn't be set up! (" + iae.getMessage() + ")");
+            java.lang.System.exit(1);
+            return;
+        }
+        if (debug == true && arrivals != null) System.out.println("MAIN: requests arrive over " + ((trace.size() == 0) ? 0 : arrivals[trace.size() - 1] / 1000000) + "ms");
 
-            // send the outputFile path
-            semaphores.get(policy)[1].acquire();
-            if (debug == true) System.out.println("MAIN: Sending " + writeFile + " to " + policy);
-            writePipes.get(policy).write(writeFile.getBytes(), 0, writeFile.length());
-            semaphores.get(policy)[0].release();
+        final boolean verbose = debug;
 
-            // send the chosen starting track
-            semaphores.get(policy)[1].acquire();
-            if (debug == true) System.out.println("MAIN: Sending startPoint to " + policy);
-            writePipes.get(policy).write(startPoint);
-            semaphores.get(policy)[0].release();
+        // every request goes to the results file straight from its policy's thread as it's served
+        final ResultsWriter results = (resultsFile != null) ? new ResultsWriter(resultsFile) : null;
 
-            // send the number of lines to read at a time
-            semaphores.get(policy)[1].acquire();
-                if (debug == true) System.out.println("MAIN: Sending batch number (" + batch + ") to " + policy);
-            writePipes.get(policy).write(batch);
-            semaphores.get(policy)[0].release();
+        if (raid != null) {
+            arrayPolicies(policies, trace, arrivals, raid, settings, results, table ? writeFile : null, quiet, debug);
+            return;
+        }
 
-            // send the verbose status
-            semaphores.get(policy)[1].acquire();
-                if (debug == true) System.out.println("MAIN: Sending debug=" + debug + " to " + policy);
-            if (debug == true) {
-                writePipes.get(policy).write(1);
-            } else {
-                writePipes.get(policy).write(0);
-            }
-            semaphores.get(policy)[0].release();
-            endStep(semaphores, policy, 'A');
+        // STEP 2
+        // every policy runs as its own task, as many at once as there are cores
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(policies.length, Runtime.getRuntime().availableProcessors()));
+        // this map exists so we can get the proper result knowing only the policy it belongs to
+        Map<String, Future<PolicyRun>> futures = new HashMap<String, Future<PolicyRun>>();
+        for (String policy: policies) {
+            if (debug == true) System.out.println("MAIN: Starting " + policy);
+            ResultsWriter.Records records = (results != null) ? results.records(policy) : null;
+            futures.put(policy, pool.submit(() -> PolicyRun.run(policy, trace.tracks, trace.writes, trace.clients, arrivals, trace.size(), settings, records, verbose)));
         }
+        pool.shutdown();
 
-        // STEP 3
-        // read each line of the input file and send that number to each policy's reader thread
+        Map<String, PolicyRun> runs = new HashMap<String, PolicyRun>();
         try {
-            int count = 1;
-            BufferedReader reader = new BufferedReader(new FileReader(readFile));
-            while (reader.ready() == true) {
-                // read <batch> numbers from the file and send them to the reader threads
-                for (int i = 0; i < batch; i++) {
-                    int next = 0;
-                    next = Integer.parseInt(reader.readLine());
-                    for (String policy: policies) {
-                        startStep(semaphores, policy, 'B');
-                        semaphores.get(policy)[1].acquire();
-                        if (debug == true) System.out.println("(" + count + ") MAIN: Sending (" + next + ") to " + policy);                                              
-                        writePipes.get(policy).write(next);
-                        semaphores.get(policy)[0].release();
-                        endStep(semaphores, policy, 'B');
-                    }
-                    count++;
-                }
-            }    
-            if (debug == true) System.out.println("MAIN: We're done reading the file, closing file reader"); 
-            reader.close();
-
-            // STEP 8
-            // read the results the policy threads pipe out and log them
-            count = 1;
-            String message = "";
-            while (count < 1000) {
-                for (String policy: policies) {
-                    startStep(semaphores, policy, 'A');
-                    semaphores.get(policy)[0].acquire();
-                    int nextTrack = readPipes.get(policy).read();
-                    if (debug == true) System.out.println("(" + count + ") MAIN: Receiving (" + nextTrack + ") next track from " + policy);
-                    semaphores.get(policy)[1].release();
-
-                    semaphores.get(policy)[0].acquire();
-                    int moves = readPipes.get(policy).read();
-                    if (debug == true) System.out.println("(" + count + ") MAIN: Receiving (" + moves + ") number of moves from " + policy);
-                    semaphores.get(policy)[1].release(); 
-                    if (policy.equals("C-SCAN")) {
-                        message = message + String.format("%s%" + (1+(policy.length()-1)) + "d%" + ((policy.length()/3)) + "s%" + (policy.length()) + "d", "|", nextTrack , "|",  moves);
-                    } else if (policy.equals("FSCAN")) {
-                        message = message + String.format("%s%" + ((policy.length()-1)) + "d%" + (policy.length()/3) + "s%" + (policy.length()-1) + "d", "|", nextTrack , "|",  moves);
-                    } else if (policy.equals("N-STEP-SCAN")) {
-                        message = message + String.format("%s%" + ((policy.length())-1) + "d%" + ((policy.length()/3)-1) + "s%" + (policy.length()) + "d", "|", nextTrack , "|",  moves);
-                    } else {
-                        message = message + String.format("%s%" + (1+(policy.length()-1)) + "d%" + (policy.length()/3) + "s%" + (policy.length()-1) + "d", "|", nextTrack , "|",  moves);
-                    }
-                    endStep(semaphores, policy, 'A');
-                }
-                message = message + "|\n";
-                logLine(writeFile, message);
-                count++;
-                message = "";
-            }
-            logLine(writeFile, divider);
-
-            // get and log the average seek times and moves
+            // STEP 4
+            // wait for every policy, the summaries go in the same order as the policies were given
             for (String policy: policies) {
-                startStep(semaphores, policy, 'B');
-                semaphores.get(policy)[0].acquire();
-                int averageTimes = readPipes.get(policy).read();
-                if (debug == true) System.out.println("MAIN: Receiving (" + averageTimes + ") average seek time from " + policy);
-                semaphores.get(policy)[1].release(); 
-                if (policy.equals("C-SCAN")) {
-                    message = message + String.format("%s%" + (1+((policy.length()-1) + (policy.length()/3) + (policy.length()))) + "s", "|", averageTimes + " ns");
-                } else if (policy.equals("N-STEP-SCAN") || policy.equals("FSCAN")) {
-                    message = message + String.format("%s%" + (1+((policy.length()-1) + ((policy.length()/3)-1) + (policy.length()-1))) + "s", "|", averageTimes + " ns");
-                } else {
-                    message = message + String.format("%s%" + (1+((policy.length()-1) + (policy.length()/3) + (policy.length()-1))) + "s", "|", averageTimes + " ns");
-                }
+                runs.put(policy, futures.get(policy).get());
+                if (debug == true) System.out.println("MAIN: " + policy + " is done");
+                if (results != null) results.summary(runs.get(policy));
             }
-            message = message + "|\n";
-            logLine(writeFile, message);
-            logLine(writeFile, divider);
-            message = "";
-
-            for (String policy: policies) {
-                semaphores.get(policy)[0].acquire();
-                int averageMoves = readPipes.get(policy).read();
-                if (debug == true) System.out.println("MAIN: Receiving (" + averageMoves + ") average move count from " + policy);
-                semaphores.get(policy)[1].release(); 
-                if (policy.equals("C-SCAN")) {
-                    message = message + String.format("%s%" + (1+((policy.length()-1) + (policy.length()/3) + (policy.length()))) + "s", "|", averageMoves + " mvs");
-                } else if (policy.equals("N-STEP-SCAN") || policy.equals("FSCAN")) {
-                    message = message + String.format("%s%" + (1+((policy.length()-1) + ((policy.length()/3)-1) + (policy.length()-1))) + "s", "|", averageMoves + " mvs");
-                } else {
-                    message = message + String.format("%s%" + (1+((policy.length()-1) + (policy.length()/3) + (policy.length()-1))) + "s", "|", averageMoves + " mvs");
+        } catch (ExecutionException ee) {
+            System.err.println("A policy couldn't finish! (" + ee.getCause() + ")");
+        } catch (InterruptedException ie) {
+            System.err.println("Waiting for the policies was interrupted!");
+        } finally {
+            if (results != null) {
+                try {
+                    results.close();
+                } catch (IOException ioe) {
+                    System.err.println("The results file couldn't be written! (" + ioe.getMessage() + ")");
                 }
-                endStep(semaphores, policy, 'B');
-            }
-            message = message + "|\n";
-            logLine(writeFile, message);
-            logLine(writeFile, divider);
-
-            logLine(writeFile, "|");
-            for (String policy: policies) {
-                // this centers the policy name in a box twice its length
-                logLine(writeFile, String.format("%"+(Math.ceil(2*(policy.length()/3))+"s%"+policy.length()+"s%"+Math.floor(2*(policy.length()/3)))+"s%s","", policy,"", "|"));
             }
-            logLine(writeFile, "\n");
-            logLine(writeFile, divider);
-
-        } catch (FileNotFoundException fnf) {
-            System.err.println("The specified file cannot be found!");
-        } catch (IOException ioe) {
-            System.err.println("There was an I/O error!");
-        } catch (Exception e) {
-            System.err.println("There was an error.");
         }
-    }
+        if (runs.size() < policies.length || !table) return;
 
-    private static File generateNumbers(String method, File file, boolean debug) {
+        // then the table, drawn from the same runs
+        ReportWriter report = new ReportWriter(writeFile, !quiet);
         try {
-            int numbers[] = new int[1000];
-            new Random();
-            // the first number is always random
-            numbers[0] = ThreadLocalRandom.current().nextInt(1, 201);
-            for (int i = 1; i < 1000; i++) {
-                switch (method) {
-                    case "random":
-                        numbers[i] = ThreadLocalRandom.current().nextInt(1, 201);
-                        break;
-                    case "alternate":
-                        // 10% chance of being the same track as previous
-                        // decreasing linear probability of being further as we go further
-                        for (int j = 100; j > 0; j--) {
-                            // make a probability number 0-1
-                            double nextProb = ThreadLocalRandom.current().nextDouble(0, 1);
-                            if (nextProb <= (Double.parseDouble(String.format("%d.%03d", 0, j)))) { 
-                                int upOrDown = ThreadLocalRandom.current().nextInt(0, 2);
-                                if (upOrDown == 0) {
-                                    numbers[i] = (numbers[i-1]+(100-j));
-                                } else {
-                                    numbers[i] = (numbers[i-1]-(100-j));
-                                }
-                                if (numbers[i] < 1) {
-                                    numbers[i] = (200 + numbers[i]);
-                                } else if (numbers[i] > 200) {
-                                    numbers[i] = (numbers[i] - 200);
-                                }
-                                if (debug == true) System.out.println("RNG: Next num " + numbers[i] + " is " + (100-j) + " spaces from " + numbers[i-1] + ", (probability of " + (Double.parseDouble(String.format("%d.%03d", 0, j))*100) + "%)");
-                                break;
-                            } 
-                        }
-                        break;
-                }
-            }
-            PrintWriter out = new PrintWriter(file);
-            for (int num: numbers) {
-                if (num == 0) {
-                    out.println(num+1);
-                } else {
-                    out.println(num);
-                }
+            ResultTable.render(report, policies, startPoint, runs, trace.size());
+        } catch (Exception e) {
+            System.err.println("There was an error.");
+        } finally {
+            try {
+                report.close();
+            } catch (IOException ioe) {
+                System.err.println("The output file couldn't be written! (" + ioe.getMessage() + ")");
             }
-            out.close();
-        } catch (FileNotFoundException fnfe) {
-            System.out.println("The specified file cannot be found!");
         }
-        return file;
     }
 
-    private static String moveHead(int currentTrack, int moveToTrack, String direction) {
-        int moves = 0;
-        if (direction.equals("any")) {
-            if (((200 - moveToTrack) + currentTrack) < (moveToTrack - currentTrack)) {
-                // if wrapping around the bottom is faster than going up the ladder
-                direction = "down";
-            } 
-            if (((200 - currentTrack) + moveToTrack) < (currentTrack - moveToTrack)) {
-                // if wrapping around the top is faster than going down the ladder
-                direction = "up";
-            }
-        }
-        long startTime = System.nanoTime();
-        while (currentTrack != moveToTrack) {
-            switch (direction) {
-                case "up":
-                    if (moveToTrack > currentTrack) {
-                        currentTrack++;
-                    } else if (currentTrack < 200) {
-                        currentTrack++;
-                    } else if (currentTrack == 200) {
-                        currentTrack = 1;
-                    }
-                    break;
-                case "down":
-                    if (moveToTrack < currentTrack) {
-                        currentTrack--;
-                    } else if (currentTrack > 1) {
-                        currentTrack--;
-                    } else if (currentTrack == 1) {
-                        currentTrack = 200;
-                    }
-                    break;
-                case "any":
-                    if (moveToTrack > currentTrack) {
-                        currentTrack++;
-                    } else {
-                        currentTrack--;
-                    }
-                    break;
-            }
-            moves++;
+    // --stream: every policy replays the trace from the file on its own, a window at a time,
+    // writing each request to the results as it's served instead of building the table
+    private static void streamPolicies(String[] policies, File readFile, BlockTrace.Geometry geometry, String resultsFile, int window, String arrivalSpec,
+            long seed, SchedulerSettings settings, boolean debug) throws IOException {
+        // every request goes to the file, the console only gets the running totals
+        ResultsWriter results = new ResultsWriter(resultsFile);
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(policies.length, Runtime.getRuntime().availableProcessors()));
+        Map<String, Future<StreamingRun>> futures = new HashMap<String, Future<StreamingRun>>();
+        for (String policy: policies) {
+            if (debug == true) System.out.println("MAIN: Streaming " + policy);
+            StreamingRun run = new StreamingRun(policy, readFile, geometry, window, arrivalSpec, seed, settings, results.records(policy), debug);
+            futures.put(policy, pool.submit(run::run));
         }
-        double time = (System.nanoTime() - startTime);
-        return String.format("%d%s%.4f", moves, ",", time);
-    }
-
-    private static void printHelpDialog() {
-        System.out.println("Possible arguments are as follows:");
-        System.out.printf("%-15s %s%n", "-h --help", "shows the help dialog (you are here)");
-        System.out.printf("%-15s %s%n", "-i --input", "(REQUIRED) file that contains the 'next track' numbers, one per line");
-        System.out.printf("%-15s %s%n", "-g --generate", "generate a new set of 1000 random numbers to be used as 'next track' numbers");
-        System.out.printf("%-15s %s%n", "",  "Possible methods are random and alternate");
-        System.out.printf("%-15s %s%n", "",  "if used with -i will replace the file specified with -i");
-        System.out.printf("%-15s %s%n", "",  "otherwise defaults to input.txt");
-        System.out.printf("%-15s %s%n", "-o --output", "specifies the output file to which to write the log tables");
-        System.out.printf("%-15s %s%n", "",  "defaults to output.txt if not provided");
-        System.out.printf("%-15s %s%n", "-s --start", "a number between 1-200 that specifies the on which track to begin");
-        System.out.printf("%-15s %s%n", "", "defaults to 100");
-        System.out.printf("%-15s %s%n", "-b --batch", "a positive number, how many tracks to send to the policies at a time");
-        System.out.printf("%-15s %s%n", "", "defaults to 5");
-        System.out.printf("%-15s %s%n", "-p --policy", "(REQUIRED) the disk cheduling polic(ies) to use. ");
-        System.out.printf("%-15s %s%n", "", "Possible policies are FIFO, LIFO, SSTF, SCAN, C-SCAN, N-STEP-SCAN, and FSCAN");
-        System.out.printf("%-15s %s%n", "", "to use multiple, use commas but no spaces (e.g. 'FIFO,C-SCAN,SSTF')");
-        System.out.printf("%-15s %s%n", "-v --verbose", "Enable debug mode, where the system will tell you way more information than you need.");
-    }
-
-    private static void logLine(String filePath, String line) {
-        try { 
-            BufferedWriter writer = new BufferedWriter(new FileWriter(filePath, true));
-            writer.write(line); 
-            //writer.newLine();
-            System.out.printf("%s", line); 
-
-            writer.close(); 
-        } 
-        catch (IOException except) { 
-            except.printStackTrace(); 
-        } 
-    }
-    
-    private static void startStep(Map<String, Semaphore[]> semaphores, String policy, char side) {
+        pool.shutdown();
         try {
-            if (side == 'A') {
-                semaphores.get(policy)[2].acquire();
-            } else if (side == 'B') {
-                semaphores.get(policy)[3].acquire();
-            }
+            for (String policy: policies) {
+                StreamingRun run = futures.get(policy).get();
+                LatencyHistogram responseTimes = run.responseTimes;
+                // there's no keeping track of who got passed over (or how fairly each client was served) without the whole trace, so that's left out,
+                // and so is what the buffer saved, since that'd take reading the trace all over again
+                results.summary(policy, run.served, run.averageServiceTime(), run.sumOfSeekLengths, responseTimes, run.waitTimes, run.serviceTimes,
+                        run.averageQueueDepth(), run.maxQueueDepth, ResultsWriter.UNKNOWN, run.buffer, run.merger, ResultsWriter.UNKNOWN, null, run.cpuTime);
+                System.out.println(policy + ": served " + run.served + ", " + (run.averageServiceTime() / 1000) + " us and "
+                        + String.format("%.1f", run.averageMoves()) + " mvs on average, response p50 " + (responseTimes.percentile(50) / 1000000)
+                        + " ms, p99 " + (responseTimes.percentile(99) / 1000000) + " ms, max " + (responseTimes.max() / 1000000)
+                        + " ms, " + String.format("%.1f", run.averageQueueDepth()) + " waiting on average and " + run.maxQueueDepth
+                        + " at most, " + ((run.buffer != null) ? String.format("%.1f", 100 * run.buffer.hitRate()) + "% of reads out of the buffer, " : "")
+                        + ((run.merger != null) ? run.merger.merged + " merged into " + run.merger.dispatches + " dispatches, " : "")
+                        + (run.cpuTime / 1000000) + " ms of CPU");
+            }
+        } catch (ExecutionException ee) {
+            System.err.println("A policy couldn't finish! (" + ee.getCause().getMessage() + ")");
+            pool.shutdownNow();
         } catch (InterruptedException ie) {
-            System.err.println("Starting the next step was interrupted!");
-        }
-    }
-
-    private static void endStep(Map<String, Semaphore[]> semaphores, String policy, char side) {
-        if (side == 'A') {
-            semaphores.get(policy)[2].release();
-        } else if (side == 'B') {
-            semaphores.get(policy)[3].release();
-        }
-    }
-    
-    private static void startNewThread(String policy, Map<String, Semaphore[]> semaphores, Map<String, PipedInputStream> readPipes, Map<String, PipedOutputStream> writePipes) {
-        // STEP 2
-        // get variables that we will need
-        String writeFile = "";
-        int startPoint = 0;
-        int batch = 0;
-        boolean debug = false;
-        try {
-            startStep(semaphores, policy, 'B');
-
-            // get the path to the outputFile
-            semaphores.get(policy)[0].acquire();
-            while (!(writeFile.endsWith("txt"))) {
-                writeFile = writeFile + (char) readPipes.get(policy).read();
-            }
-            semaphores.get(policy)[1].release();
-
-            // get the starting track
-            semaphores.get(policy)[0].acquire();
-            startPoint = readPipes.get(policy).read();
-            semaphores.get(policy)[1].release(); 
-
-            // get the number of lines to process at a time
-            semaphores.get(policy)[0].acquire();
-            batch = readPipes.get(policy).read();
-            semaphores.get(policy)[1].release();
-
-            // get verbose status
-            semaphores.get(policy)[0].acquire();
-            int temp = readPipes.get(policy).read();
-            if (temp == 1) debug = true;
-            if (debug == true) {
-                System.out.println(policy + ": received " + writeFile);
-                System.out.println(policy + ": received (" + startPoint + ") as startPoint");
-                System.out.println(policy + ": received (" + batch + ") as batch number");
-                System.out.println(policy + ": received debug=" + debug);
-            }
-            semaphores.get(policy)[1].release(); 
-
-            endStep(semaphores, policy, 'B');
-        } catch (IOException ioe) {
-        } catch (InterruptedException ie) {}
-
-        int tracks[] = new int[1000];
-        startStep(semaphores, policy, 'A');
-        for (int count = 1; count <= 1000; ) {
-            // STEP 4
-            // get the next set of tracks from the main thread
-            for (int i = 0; i < batch; i++) {
-                try { 
-                    semaphores.get(policy)[0].acquire();
-                    tracks[count-1] = readPipes.get(policy).read();
-                    if (debug == true) System.out.println("(" + count + ") " + policy + ": Receiving (" + tracks[count-1] + ") from MAIN");                                 
-                    semaphores.get(policy)[1].release();  
-                } catch (IOException e) {
-                } catch (InterruptedException ie) {}    
-                count++;       
-            } 
-        }
-        endStep(semaphores, policy, 'A');
-        if (debug == true) System.out.println(policy + ": finished reading the input"); 
-            
-        String directions[] = new String[1000];
-        String results[] = new String[2];
-        switch (policy) {
-            case "FIFO":
-            tracks = sortFIFO(tracks);
-                break;
-            case "LIFO":
-            tracks = sortLIFO(tracks);
-                break;
-            case "SSTF":
-            tracks = sortSSTF(startPoint, tracks);
-                break;
-            case "SCAN":
-                results = sortSCAN(startPoint, tracks);
-                break;
-            case "C-SCAN":
-                results = sortCSCAN(startPoint, tracks);
-                break;
-            case "N-STEP-SCAN":
-                results = sortNSTEPSCAN(startPoint, tracks, batch);
-                break;
-            case "FSCAN":
-                results = sortFSCAN(startPoint, tracks, batch);
-                break;
-        }
-        if(policy.contains("SCAN")) {
-            for (int i = 0; i < 1000; i++) {
-                tracks[i] = Integer.parseInt(results[0].split(",")[i]);
-                directions[i] = results[1].split(",")[i];
-            }
-        }
-
-        // STEP 6
-        // the processing of the next tracks
-        int count = 1;
-        int currentTrack = startPoint;
-        int moves[] = new int[1000];
-        double times[] = new double[1000];
-        while (count < 1000) {
+            System.err.println("Waiting for the policies was interrupted!");
+        } finally {
             try {
-                for (int i = 0; i < batch; i++) {
-                    results = new String[1000];
-                    // move the head to the next track from the current 
-                    if (policy == "SCAN" || policy == "CSCAN" || policy == "N-STEP-SCAN") {
-                        results = moveHead(currentTrack, tracks[count-1], directions[count-1]).split(",");
-                    } else {
-                        results = moveHead(currentTrack, tracks[count-1], "any").split(",");
-                    }
-                    // record how many moves it took
-                    moves[count-1] = Integer.parseInt(results[0]);
-                    // and how long it took
-                    times[count-1] += Double.parseDouble(results[1]);
-                    if (debug == true) System.out.println("(" + count + ") " + policy + ": moving from (" + currentTrack + ") to (" + tracks[count-1] + ") took " + moves[count-1] + " moves and " + times[count-1] + "ns"); 
-                currentTrack = tracks[count-1];
-                count++;
-                }
-            } catch (Exception e) {}
-        }
-        startStep(semaphores, policy, 'B');
-        count = 1;
-        while (count < 1000) {
-            try {
-                // STEP 7
-                // send the results to the parent thread
-                // send nextTrack to master thread
-                semaphores.get(policy)[1].acquire();
-                writePipes.get(policy).write(tracks[count-1]);
-                semaphores.get(policy)[0].release();
-                // send moves to master thread
-                semaphores.get(policy)[1].acquire();
-                writePipes.get(policy).write(moves[count-1]);
-                semaphores.get(policy)[0].release();
-            } catch (Exception e) {}
-            count++;
-        }
-        endStep(semaphores, policy, 'B');
-
-        double sumOfSeekTimes = 0;
-        int sumOfSeekLengths = 0;
-        for (int i = 0; i< times.length; i++) {
-            sumOfSeekTimes += times[i];
-            sumOfSeekLengths += moves[i];
-        }
-        int averageTimes = (int) sumOfSeekTimes/1000;
-        int averageMoves = (int) sumOfSeekLengths/1000;
-        try {
-            startStep(semaphores, policy, 'A');
-            semaphores.get(policy)[1].acquire();
-            writePipes.get(policy).write(averageTimes);
-            semaphores.get(policy)[0].release();
-            if (debug == true) System.out.println(policy + ": Avg time: " + averageTimes + " ns");
-            
-            semaphores.get(policy)[1].acquire();
-            writePipes.get(policy).write(averageMoves);
-            semaphores.get(policy)[0].release();
-            if (debug == true) System.out.println(policy + ": Avg moves: " + averageMoves);
-            endStep(semaphores, policy, 'A');
-        } catch (Exception e) {}
-        if (debug == true) System.out.println(policy + " is closed");
-    }
-
-    private static int[] sortFIFO(int[] tracks) {
-        return tracks;
-    }
-
-    private static int[] sortLIFO(int[] tracks) {
-        int newTracks[] = new int[tracks.length];
-        for (int i = 0; i < tracks.length; i++) {
-            newTracks[i] = tracks[(tracks.length-1) - i];
-        }
-        return newTracks;
-    }
-    
-    private static int[] sortSSTF(int currentTrack, int[] tracks) {
-        int newTracks[] = new int[tracks.length];
-        for (int i = 0; i < tracks.length; i++) {
-            int moves[] = new int[tracks.length];
-            int leastMoves = 999;
-            int leastIndex = 999;
-            for (int j = 0; j < (tracks.length - i); j++) {
-                moves[j] = Integer.parseInt(moveHead(currentTrack, tracks[j], "any").split(",")[0]);
-            }
-            for (int j = 0; j < (tracks.length - i); j++) {
-                if (moves[j] < leastMoves) {
-                    leastMoves = moves[j];
-                    leastIndex = j;
-                }
-            }
-            newTracks[i] = tracks[leastIndex];
-            currentTrack = newTracks[i];
-            for (int j = leastIndex; j < (tracks.length-1); j++) {
-                tracks[j] = tracks[j+1];
+                results.close();
+            } catch (IOException ioe) {
+                System.err.println("The output file couldn't be written! (" + ioe.getMessage() + ")");
             }
         }
-        return newTracks;
     }
 
-    private static String[] sortSCAN(int currentTrack, int[] tracks) {
-        int sortedTracks[] = tracks.clone();
-        int newTracks[] = new int[tracks.length];
-        String directions[] = new String[tracks.length];
-
-		//sort arrays in acending order 
-		Arrays.sort(sortedTracks, 0, sortedTracks.length);
-
-        int tracksDone = 0;
-        if (tracks[0] > currentTrack) {
-            // check for track == currentTrack first
-            for (int i = 0; i < tracks.length; i++) {
-                if (sortedTracks[i] == currentTrack) {
-                    newTracks[tracksDone] = sortedTracks[i];
-                    directions[tracksDone] = "any";
-                    tracksDone++;
-                }
-            }
-            // let's scan upwards next
-            for (int i = 0; i < tracks.length; i++) {
-                if (sortedTracks[i] > currentTrack) {
-                    newTracks[tracksDone] = sortedTracks[i];
-                    directions[tracksDone] = "up";
-                    tracksDone++;
-                }
-            }
-            // then start going down
-            for (int i = tracks.length-1; i >= 0 ; i--) {
-                if (sortedTracks[i] < currentTrack) {
-                    newTracks[tracksDone] = sortedTracks[i];
-                    directions[tracksDone] = "down";
-                    tracksDone++;
-                }
-            }
-        } else {
-            // check for track == currentTrack first
-            for (int i = 0; i < tracks.length; i++) {
-                if (sortedTracks[i] == currentTrack) {
-                    newTracks[tracksDone] = sortedTracks[i];
-                    directions[tracksDone] = "any";
-                    tracksDone++;
+    // --raid: each policy runs on every disk of the array, and what each disk and the whole array did is printed instead of the table.
+    // report is null if only the --results are wanted
+    private static void arrayPolicies(String[] policies, TraceFile.Trace trace, long[] arrivals, DiskArray.Config raid, SchedulerSettings settings,
+            ResultsWriter results, String report, boolean quiet, boolean debug) throws IOException {
+        ReportWriter out = (report != null) ? new ReportWriter(report, !quiet) : null;
+        try {
+            if (out != null) out.log("Every policy on " + raid + ", " + settings.tracks + " tracks each\n");
+            // the policies take turns, since each one already has a thread for every disk
+            for (String policy: policies) {
+                if (debug == true) System.out.println("MAIN: Starting " + policy + " on the array");
+                DiskArray.Run run = DiskArray.run(policy, raid, trace.tracks, trace.writes, trace.clients, arrivals, trace.size(), settings, results, debug);
+                if (results != null) {
+                    results.summary(policy, run.count, run.averageServiceTime, run.totalMoves, run.responseTimes, run.waitTimes, run.serviceTimes,
+                            run.averageQueueDepth, run.maxQueueDepth, ResultsWriter.UNKNOWN, null, null, ResultsWriter.UNKNOWN, run.clients, run.cpuTime);
                 }
-            }
-            // scan downwards first
-            for (int i = tracks.length-1; i >= 0 ; i--) {
-                if (sortedTracks[i] < currentTrack) {
-                    newTracks[tracksDone] = sortedTracks[i];
-                    directions[tracksDone] = "down";
-                    tracksDone++;
+                if (out == null) continue;
+                StringBuilder lines = new StringBuilder();
+                lines.append('\n').append(policy).append(": ").append(run.count).append(" requests in ")
+                    .append(run.elapsed / 1000000).append(" ms, ").append(String.format("%.1f", run.throughput())).append(" a second, ")
+                    .append(run.totalMoves).append(" mvs in all, response p50 ").append(run.responseTimes.percentile(50) / 1000000)
+                    .append(" ms, p99 ").append(run.responseTimes.percentile(99) / 1000000)
+                    .append(" ms, p99.9 ").append(run.responseTimes.percentile(99.9) / 1000000)
+                    .append(" ms, max ").append(run.responseTimes.max() / 1000000).append(" ms\n");
+                for (int d = 0; d < run.disks.length; d++) {
+                    PolicyRun disk = run.disks[d];
+                    // each disk's own throughput is over the whole array's time, so they add up to the array's
+                    double throughput = (run.elapsed <= 0) ? 0 : disk.count * 1e9 / run.elapsed;
+                    lines.append("  disk ").append(d + 1).append(": ").append(disk.count).append(" requests, ")
+                        .append(String.format("%.1f", throughput)).append(" a second, ")
+                        .append(disk.totalMoves).append(" mvs, response p50 ").append(disk.responseTimes.percentile(50) / 1000000)
+                        .append(" ms, p99 ").append(disk.responseTimes.percentile(99) / 1000000)
+                        .append(" ms, p99.9 ").append(disk.responseTimes.percentile(99.9) / 1000000)
+                        .append(" ms, max ").append(disk.responseTimes.max() / 1000000).append(" ms\n");
                 }
+                out.log(lines);
+                if (run.clients != null) ResultTable.logClients(out, policy, run.clients);
             }
-            // then scan upwards next
-            for (int i = 0; i < tracks.length; i++) {
-                if (sortedTracks[i] > currentTrack) {
-                    newTracks[tracksDone] = sortedTracks[i];
-                    directions[tracksDone] = "up";
-                    tracksDone++;
+        } catch (IllegalArgumentException iae) {
+            System.err.println("The trace couldn't be striped across the array! (" + iae.getMessage() + ")");
+        } catch (ExecutionException ee) {
+            System.err.println("A policy couldn't finish on the array! (" + ee.getCause() + ")");
+        } catch (InterruptedException ie) {
+            System.err.println("Waiting for the array was interrupted!");
+        } finally {
+            if (results != null) {
+                try {
+                    results.close();
+                } catch (IOException ioe) {
+                    System.err.println("The results file couldn't be written! (" + ioe.getMessage() + ")");
                 }
             }
+            if (out != null) out.close();
         }
-        String newTracksStr = "";
-        for (int num: newTracks) {
-            newTracksStr = newTracksStr + num + ",";
-        }
-        String directionsStr = "";
-        for (String each: directions) {
-            directionsStr = directionsStr + each + ",";
-        }
-        String results[] = {newTracksStr, directionsStr};
-        return results;
     }
 
-    private static String[] sortCSCAN(int currentTrack, int[] tracks) {
-        int sortedTracks[] = tracks.clone();
-		int newTracks[] = new int[tracks.length];
-        String directions[] = new String[tracks.length];
-
-		//sort arrays in acending order 
-		Arrays.sort(sortedTracks, 0, sortedTracks.length);
-
-        int tracksDone = 0;
-        if (tracks[0] > currentTrack) {
-            // check for track == currentTrack first
-            for (int i = 0; i < tracks.length; i++) {
-                if (sortedTracks[i] == currentTrack) {
-                    newTracks[tracksDone] = sortedTracks[i];
-                    tracksDone++;
-                }
-            }
-            // scan from bottom up for greater values than currentTrack
-            for (int i = 0; i < tracks.length; i++) {
-                if (sortedTracks[i] > currentTrack) {
-                    newTracks[tracksDone] = sortedTracks[i];
-                    tracksDone++;
-                }
-            }
-            // scan from bottom up for lesser values than currentTrack
-            for (int i = 0; i < tracks.length; i++) {
-                if (sortedTracks[i] < currentTrack) {
-                    newTracks[tracksDone] = sortedTracks[i];
-                    tracksDone++;
-                }
+    // --closed-loop: each policy runs with every number of clients, each client waiting on its last request before sending the next,
+    // and how the throughput, queue and response times grow with the clients is printed instead of the table.
+    // report is null if only the --results are wanted
+    private static void closedLoopPolicies(String[] policies, int[] counts, String methods, long think, int requests, SchedulerSettings settings,
+            long seed, String resultsFile, String report, boolean quiet, boolean debug) throws IOException {
+        // every (policy, clients) point is its own run, as many at once as there are cores.
+        // the clients' threads mostly sit parked, so they don't count against that
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(policies.length * counts.length, Runtime.getRuntime().availableProcessors()));
+        List<Future<ClosedLoop.Point>> futures = new ArrayList<Future<ClosedLoop.Point>>();
+        for (String policy: policies) {
+            for (int clients: counts) {
+                futures.add(pool.submit(() -> ClosedLoop.run(policy, clients, methods, think, requests, settings, seed, debug)));
             }
-        } else {
-            // check for track == currentTrack first
-            for (int i = 0; i < tracks.length; i++) {
-                if (sortedTracks[i] == currentTrack) {
-                    newTracks[tracksDone] = sortedTracks[i];
-                    tracksDone++;
+        }
+        pool.shutdown();
+
+        ResultsWriter results = (resultsFile != null) ? new ResultsWriter(resultsFile) : null;
+        ReportWriter out = (report != null) ? new ReportWriter(report, !quiet) : null;
+        try {
+            if (out != null) {
+                out.log("Every policy in a closed loop of " + methods + " clients thinking " + (think / 1000000) + " ms on average, "
+                        + requests + " requests each, on " + (ClosedLoop.virtualThreads() ? "virtual" : "platform") + " threads\n");
+            }
+            for (int p = 0; p < policies.length; p++) {
+                ClosedLoop.Point points[] = new ClosedLoop.Point[counts.length];
+                for (int c = 0; c < counts.length; c++) {
+                    points[c] = futures.get(p * counts.length + c).get();
+                    if (debug == true) System.out.println("MAIN: " + policies[p] + " with " + counts[c] + " clients is done");
+                    if (results != null) {
+                        ClosedLoop.Point point = points[c];
+                        results.summary(point.policy + "@" + point.clients + "clients", point.served, point.averageServiceTime, point.totalMoves,
+                                point.responseTimes, point.waitTimes, point.serviceTimes, point.averageQueueDepth, point.maxQueueDepth, ResultsWriter.UNKNOWN, point.buffer, null,
+                                ResultsWriter.UNKNOWN, null, point.cpuTime);
+                    }
                 }
-            }
-            // scan from top down for lesser values than currentTrack
-            for (int i = tracks.length-1; i >= 0 ; i--) {
-                if (sortedTracks[i] < currentTrack) {
-                    newTracks[tracksDone] = sortedTracks[i];
-                    tracksDone++;
+                if (out == null) continue;
+                StringBuilder lines = new StringBuilder();
+                lines.append('\n').append(policies[p]).append('\n');
+                lines.append(" Clients  Requests/s   Avg Queue  Avg Response  p99 Response\n");
+                for (ClosedLoop.Point point: points) {
+                    ReportWriter.padLeft(lines, point.clients, 8);
+                    ReportWriter.padLeft(lines, String.format("%.1f", point.throughput()), 12);
+                    ReportWriter.padLeft(lines, String.format("%.2f", point.averageQueueDepth), 12);
+                    ReportWriter.padLeft(lines, String.format("%.2f ms", point.averageResponseTime / 1e6), 14);
+                    ReportWriter.padLeft(lines, String.format("%.2f ms", point.responseTimes.percentile(99) / 1e6), 14);
+                    lines.append('\n');
                 }
-            }
-            // scan from the top down for greater values than currentTrack
-            for (int i = tracks.length-1; i >= 0 ; i--) {
-                if (sortedTracks[i] > currentTrack) {
-                    newTracks[tracksDone] = sortedTracks[i];
-                    tracksDone++;
+                ClosedLoop.Point knee = points[ClosedLoop.knee(points)];
+                lines.append("knee at ").append(knee.clients).append(" clients, ").append(String.format("%.1f", knee.throughput()))
+                    .append(" a second with ").append(String.format("%.2f", knee.averageResponseTime / 1e6)).append(" ms response\n");
+                out.log(lines);
+            }
+        } catch (ExecutionException ee) {
+            System.err.println("A policy couldn't finish its closed loop! (" + ee.getCause() + ")");
+            pool.shutdownNow();
+        } catch (InterruptedException ie) {
+            System.err.println("Waiting for the closed loops was interrupted!");
+        } finally {
+            if (results != null) {
+                try {
+                    results.close();
+                } catch (IOException ioe) {
+                    System.err.println("The results file couldn't be written! (" + ioe.getMessage() + ")");
                 }
             }
+            if (out != null) out.close();
         }
-        String newTracksStr = "";
-        for (int num: newTracks) {
-            newTracksStr = newTracksStr + num + ",";
-        }
-        String directionsStr = "";
-        for (String each: directions) {
-            directionsStr = directionsStr + each + ",";
-        }
-        String results[] = {newTracksStr, directionsStr};
-        return results;
     }
 
-    private static String[] sortNSTEPSCAN(int startPoint, int[] tracks, int batch) {
-        int newTracks[] = new int[1000];
-        String directions[] = new String[1000];
-        int batchSet[] = new int[batch];
-        int count = 0;
-        while (count < 1000) {
-            for (int i = 0; i < batch; i++) {
-                batchSet[i] = tracks[count];
-                count++;
-            }
-            count = count - batch;
-            String results[] = sortSCAN(startPoint, batchSet);
-            for (int i = 0; i < batchSet.length; i++) {
-                batchSet[i] = Integer.parseInt(results[0].split(",")[i]);
-                directions[count] = results[1].split(",")[i];
-                count++;
-            }
-            count = count - batch;
-            for (int i = 0; i < batch; i++) {
-                newTracks[count] = batchSet[i];
-                count++;
-            }
-            startPoint = newTracks[count-1];
-        }
-        String newTracksStr = "";
-        for (int num: newTracks) {
-            newTracksStr = newTracksStr + num + ",";
-        }
-        String directionsStr = "";
-        for (String each: directions) {
-            directionsStr = directionsStr + each + ",";
+    private static File generateNumbers(String method, File file, int count, int tracks, long seed, boolean debug) {
+        try {
+            long startTime = System.nanoTime();
+            TraceFile.Trace trace = WorkloadGenerator.trace(method, count, tracks, seed);
+            if (debug == true) System.out.println("RNG: made " + count + " numbers with " + method + " in " + ((System.nanoTime() - startTime) / 1000000) + "ms");
+            // the file's extension decides whether it's written as text or binary
+            TraceFile.save(trace, file);
+        } catch (FileNotFoundException fnfe) {
+            System.out.println("The specified file cannot be found!");
+        } catch (IOException ioe) {
+            System.out.println("The generated numbers couldn't be written: " + ioe.getMessage());
         }
-        String results[] = {newTracksStr, directionsStr};
-        return results;
+        return file;
     }
 
-    private static String[] sortFSCAN(int startPoint, int[] tracks, int batch) { 
-        Semaphore semaphores[]  = {new Semaphore(0), new Semaphore(1), new Semaphore(0), new Semaphore(1)};
-        Queue<Integer> queueA = new ConcurrentLinkedQueue<Integer>();
-        Queue<Integer> queueB = new ConcurrentLinkedQueue<Integer>();
-
-        Thread readerThread = new Thread(new Runnable() {
-            @Override
-            public void run() {
-                int count = 0;
-                while (count < 1000) {
-                    try {
-                        if (queueA.isEmpty()) {
-                            semaphores[1].acquire();
-                            for (int i = 0; i < batch; i++) {
-                                queueA.add(tracks[count]);
-                                count++;
-                            } 
-                            semaphores[0].release();
-                        } else if (queueB.isEmpty()) {
-                            semaphores[3].acquire();
-                            for (int i = 0; i < batch; i++) {
-                                queueB.add(tracks[count]);
-                                count++;
-                            }
-                            semaphores[2].release();
-                        }
-                    } catch (InterruptedException ie) {}
-                }
-            }
-        });
-        readerThread.start();
-
-        int count = 0;
-        int newTracks[] = new int[1000];
-        String directions[] = new String[1000];
-        int batchSet[] = new int[batch];
-        
-        while(count < 1000) {
-            try {
-                if (!(queueA.isEmpty())) {
-                    semaphores[0].acquire();
-                    for (int i = 0; i < batch; i++) {
-                        batchSet[i] = queueA.remove().intValue();
-                    }
-                    semaphores[1].release();
-                } else if (!(queueB.isEmpty())) {
-                    semaphores[2].acquire();
-                    for (int i = 0; i < batch; i++) {
-                        batchSet[i] = queueB.remove().intValue();
-                    }
-                    semaphores[3].release();
-                }
-            } catch (InterruptedException ie) {}
-            if (batchSet[0] != 0) {
-                String results[] = sortSCAN(startPoint, batchSet);
-                for (int i = 0; i < batch; i++) {
-                    newTracks[count] = Integer.parseInt(results[0].split(",")[i]);
-                    directions[count] = results[1].split(",")[i];
-                    count++;
-                }
-
-                for (int i = 0; i < batch; i++) {
-                    batchSet[i] = 0;
-                }
-                startPoint = newTracks[count-1];
-            }
-        }
-        String newTracksStr = "";
-        for (int num: newTracks) {
-            newTracksStr = newTracksStr + num + ",";
-        }
-        String directionsStr = "";
-        for (String each: directions) {
-            directionsStr = directionsStr + each + ",";
-        }
-        String results[] = {newTracksStr, directionsStr};
-        return results;
+    private static void printHelpDialog() {
+        System.out.println("Possible arguments are as follows:");
+        System.out.printf("%-15s %s%n", "-h --help", "shows the help dialog (you are here)");
+        System.out.printf("%-15s %s%n", "-i --input", "(REQUIRED) file that contains the 'next track' numbers");
+        System.out.printf("%-15s %s%n", "",  "either a .txt file with one per line or a binary .trace file");
+        System.out.printf("%-15s %s%n", "",  "a track can be followed by R or W to make it a read or a write (reads if left off)");
+        System.out.printf("%-15s %s%n", "",  "and by c and the client that sent it (e.g. '57 W c2'), which is 0 if left off");
+        System.out.printf("%-15s %s%n", "-g --generate", "generate a new set of random numbers to be used as 'next track' numbers");
+        System.out.printf("%-15s %s%n", "",  "Possible methods are " + String.join(", ", WorkloadGenerator.methods()));
+        System.out.printf("%-15s %s%n", "",  "methods joined with + make one client each, sharing the disk (e.g. '-g sequential+random')");
+        System.out.printf("%-15s %s%n", "",  "if used with -i will replace the file specified with -i");
+        System.out.printf("%-15s %s%n", "",  "otherwise defaults to input.txt");
+        System.out.printf("%-15s %s%n", "",  "the file's extension decides if it's written as text or binary");
+        System.out.printf("%-15s %s%n", "-c --convert", "converts a trace from one file to another and exits (e.g. '-c input.txt input.trace')");
+        System.out.printf("%-15s %s%n", "", "-i and -c also read real I/O traces: blkparse output (.blkparse) or SPC/UMass CSV (.spc)");
+        System.out.printf("%-15s %s%n", "--geometry", "how a real trace's sectors map to tracks, as heads:sectors a track (defaults to 16:63)");
+        System.out.printf("%-15s %s%n", "-n --count", "how many numbers to generate with -g");
+        System.out.printf("%-15s %s%n", "", "defaults to 1000");
+        System.out.printf("%-15s %s%n", "--seed", "the seed -g makes its numbers from, the same seed always makes the same numbers");
+        System.out.printf("%-15s %s%n", "", "random if not provided (it's printed so the run can be repeated)");
+        System.out.printf("%-15s %s%n", "-d --disk", "which disk to time the requests on, possible disks are " + String.join(", ", DiskModels.names()));
+        System.out.printf("%-15s %s%n", "", "defaults to hdd (7200rpm)");
+        System.out.printf("%-15s %s%n", "--arrivals", "when the requests arrive: none (all at once), trace (the @times in the input),");
+        System.out.printf("%-15s %s%n", "", "poisson:RATE or bursty:RATE (RATE requests a second on average, made from --seed)");
+        System.out.printf("%-15s %s%n", "", "defaults to the input's own times if it has them, otherwise none");
+        System.out.printf("%-15s %s%n", "--stream", "replays the input straight from its file with the disk holding this many requests at once,");
+        System.out.printf("%-15s %s%n", "", "for traces too big to load; every request served goes to --results (or the output file as csv),");
+        System.out.printf("%-15s %s%n", "", "and the running totals are printed as it goes instead of the table (e.g. '--stream 32')");
+        System.out.printf("%-15s %s%n", "--buffer", "gives the drive a track buffer, as eviction:tracks, which can be " + String.join(", ", TrackBuffer.evictions()));
+        System.out.printf("%-15s %s%n", "", "reads of a track still in it don't move the head (e.g. '--buffer arc:64')");
+        System.out.printf("%-15s %s%n", "--read-ahead", "how many tracks after each one the head reads go into the buffer too (defaults to 0)");
+        System.out.printf("%-15s %s%n", "--merge", "merges requests before the policy sees them, as window:size (e.g. '--merge 1:8'),");
+        System.out.printf("%-15s %s%n", "", "a read or write within window tracks of a waiting one of the same kind goes out with it,");
+        System.out.printf("%-15s %s%n", "", "up to size requests a dispatch (a window of 0 only merges the same track)");
+        System.out.printf("%-15s %s%n", "--raid", "stripes the trace across an array of disks with -t tracks each, as level:disks:stripe,");
+        System.out.printf("%-15s %s%n", "", "level 0 or 10 (mirrored pairs), stripe tracks at a time per disk (e.g. '--raid 10:4:16'),");
+        System.out.printf("%-15s %s%n", "", "and prints what each disk and the whole array did instead of the table");
+        System.out.printf("%-15s %s%n", "--closed-loop", "runs each policy with these numbers of clients instead of a trace, as a list or ranges (e.g. '1,2,4..64:4'),");
+        System.out.printf("%-15s %s%n", "", "each one sending a request, waiting for it and thinking before the next, until -n are served;");
+        System.out.printf("%-15s %s%n", "", "clients take turns at the -g methods joined with + (random if not given), and the throughput,");
+        System.out.printf("%-15s %s%n", "", "queue and response times for each number of clients are printed instead of the table");
+        System.out.printf("%-15s %s%n", "--think", "how many ms a closed loop client thinks between requests on average (defaults to 10)");
+        System.out.printf("%-15s %s%n", "--bfq-budget", "for BFQ, how much each client can use a turn, in tracks moved plus 1 a request (defaults to 1000)");
+        System.out.printf("%-15s %s%n", "--bfq-slice", "for BFQ, how many ms a client's turn can last (defaults to 125)");
+        System.out.printf("%-15s %s%n", "--read-expire", "for DEADLINE, how many ms a read can wait before it's served ahead of the rest (defaults to 500)");
+        System.out.printf("%-15s %s%n", "--write-expire", "for DEADLINE, how many ms a write can wait (defaults to 5000)");
+        System.out.printf("%-15s %s%n", "--fifo-batch", "for DEADLINE, how many requests go in track order between deadline checks (defaults to 16)");
+        System.out.printf("%-15s %s%n", "--writes-starved", "for DEADLINE, how many times reads can go ahead of waiting writes (defaults to 2)");
+        System.out.printf("%-15s %s%n", "-t --tracks", "how many tracks the disk has");
+        System.out.printf("%-15s %s%n", "", "defaults to 200");
+        System.out.printf("%-15s %s%n", "-o --output", "specifies the output file to which to write the log tables");
+        System.out.printf("%-15s %s%n", "",  "defaults to output.txt if not provided");
+        System.out.printf("%-15s %s%n", "-s --start", "a number between 1 and the number of tracks that specifies the on which track to begin");
+        System.out.printf("%-15s %s%n", "", "defaults to the middle of the disk (100 for 200 tracks)");
+        System.out.printf("%-15s %s%n", "-b --batch", "a positive number, how many tracks N-STEP-SCAN takes in at a time");
+        System.out.printf("%-15s %s%n", "", "and how many arrive for FSCAN each time the head crosses the disk");
+        System.out.printf("%-15s %s%n", "", "defaults to 5");
+        System.out.printf("%-15s %s%n", "-p --policy", "(REQUIRED) the disk cheduling polic(ies) to use. ");
+        System.out.printf("%-15s %s%n", "", "Possible policies are " + String.join(", ", SchedulerRegistry.names()));
+        System.out.printf("%-15s %s%n", "", "to use multiple, use commas but no spaces (e.g. 'FIFO,C-SCAN,SSTF')");
+        System.out.printf("%-15s %s%n", "--sweep", "runs every combination of the settings below and writes one line each to a .csv or .json file");
+        System.out.printf("%-15s %s%n", "", "instead of the table, all of them at once on every core (e.g. '--sweep results.csv')");
+        System.out.printf("%-15s %s%n", "--starts", "the start points to sweep, as a list or ranges (e.g. '1,50..200:50'), defaults to -s");
+        System.out.printf("%-15s %s%n", "--batches", "the batch numbers to sweep, as a list or ranges, defaults to -b");
+        System.out.printf("%-15s %s%n", "--generators", "the generation methods to sweep (e.g. 'random,zipf'), defaults to -g or the -i trace if neither");
+        System.out.printf("%-15s %s%n", "--seeds", "the seeds to make each generated trace from, as a list or ranges, defaults to --seed");
+        System.out.printf("%-15s %s%n", "--results", "writes every request served and a summary of each policy to a .csv or .jsonl file");
+        System.out.printf("%-15s %s%n", "", "a csv's summaries go next to it (results.csv gets results.summary.csv), e.g. '--results results.jsonl'");
+        System.out.printf("%-15s %s%n", "--no-table", "leaves the table out, for when only the --results are wanted");
+        System.out.printf("%-15s %s%n", "-q --quiet", "only write the table to the output file, not the console as well");
+        System.out.printf("%-15s %s%n", "-v --verbose", "Enable debug mode, where the system will tell you way more information than you need.");
     }
+
 }
 
 // * I, Tedd, actually wrote all of the code for this project, and since it's unlikely that any of the others will read this I'm putting this here for posterity.
\ No newline at end of file
@@ -0,0 +1,92 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+/*
+ * Shortest seek time first: the waiting request closest to the head is always served next.
+ */
+public class SstfScheduler implements DiskScheduler {
+    @Override
+    public String name() {
+        return "SSTF";
+    }
+
+    @Override
+    public void schedule(int[] tracks, int count, SchedulerSettings settings, int[] order, byte[] directions) {
+        SeekEngine.checkTracks(tracks, count, settings.tracks);
+        int currentTrack = settings.startTrack;
+        // index every request by its track, so the nearest one can be found without looking at them all
+        int highestTrack = Math.max(settings.tracks, currentTrack);
+        TrackIndex waiting = new TrackIndex(highestTrack, count);
+        for (int i = 0; i < count; i++) {
+            waiting.add(i, tracks[i]);
+        }
+        for (int i = 0; i < count; i++) {
+            int next = nearest(waiting, currentTrack, settings.tracks, null);
+            order[i] = waiting.poll(next);
+            directions[i] = SeekEngine.ANY;
+            currentTrack = next;
+        }
+    }
+
+    // the closest waiting track is either the next one up or the next one down,
+    // wrapping around the end of the disk if there's nothing left on that side.
+    // added[request] says when each one was handed in, or added is null if the request numbers already do
+    private static int nearest(TrackIndex waiting, int currentTrack, int tracks, long[] added) {
+        int up = waiting.ceiling(currentTrack);
+        if (up < 0) up = waiting.ceiling(0);
+        int down = waiting.floor(currentTrack);
+        if (down < 0) down = waiting.floor(waiting.highestTrack());
+        int upMoves = SeekEngine.distance(currentTrack, up, SeekEngine.ANY, tracks);
+        int downMoves = SeekEngine.distance(currentTrack, down, SeekEngine.ANY, tracks);
+        if (upMoves < downMoves) {
+            return up;
+        } else if (downMoves < upMoves) {
+            return down;
+        }
+        // on a tie, whichever request came in first goes first
+        if (added == null) return (waiting.peek(up) < waiting.peek(down)) ? up : down;
+        return (added[waiting.peek(up)] < added[waiting.peek(down)]) ? up : down;
+    }
+
+    @Override
+    public PendingQueue online(SchedulerSettings settings, int requests, int highestTrack) {
+        return new PendingQueue() {
+            private final TrackIndex waiting = new TrackIndex(Math.max(highestTrack, settings.startTrack), requests);
+            // the request numbers get reused, so ties go by when they were handed in
+            private final long added[] = new long[requests];
+            private long handedIn = 0;
+            private int size = 0;
+
+            @Override
+            public void add(int request, int track, boolean write, long arrival) {
+                waiting.add(request, track);
+                added[request] = handedIn++;
+                size++;
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return size == 0;
+            }
+
+            @Override
+            public int next(int head, long now) {
+                size--;
+                return waiting.poll(nearest(waiting, head, settings.tracks, added));
+            }
+
+            @Override
+            public byte direction() {
+                return SeekEngine.ANY;
+            }
+        };
+    }
+}
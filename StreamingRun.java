@@ -0,0 +1,285 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/*
+ * Replays a trace straight out of its file, for traces too big to load all at once.
+ * The disk only ever holds window requests, like a drive's command queue:
+ * the next one in the file is read in when a slot frees up (or when it arrives, if that's later),
+ * and the policy only picks from what's in the window. So memory stays the same however long the trace is.
+ *
+ * Every request is written to the results as it's served, and the running totals are printed
+ * every so often, so a long replay can be watched while it's going.
+ * With a window as big as the trace it serves every request in the same order and at the same times as the EventSimulator.
+ */
+public final class StreamingRun {
+    private static final int CHUNK = 4096;
+    private static final long PROGRESS_EVERY = 1 << 20; // how many requests go by between progress lines
+
+    private final String policy;
+    private final File file;
+    private final BlockTrace.Geometry geometry;
+    private final int window;
+    private final String arrivals; // the ArrivalProcess, null for the trace's own times
+    private final long seed;
+    private final SchedulerSettings settings;
+    private final ResultsWriter.Records out; // null if the requests aren't written anywhere
+    private final boolean debug;
+
+    // the running totals, which are the results once run() is done
+    public long served = 0;
+    public long sumOfServiceTimes = 0;
+    public long sumOfSeekLengths = 0;
+    public final LatencyHistogram responseTimes = new LatencyHistogram();
+    public final LatencyHistogram waitTimes = new LatencyHistogram();    // from arriving to the head starting on it
+    public final LatencyHistogram serviceTimes = new LatencyHistogram(); // from the head starting on it to being served
+    public int maxQueueDepth = 0;
+    public long cpuTime = 0;
+    public TrackBuffer buffer;    // null if the drive doesn't have one
+    public RequestMerger merger; // null if requests aren't merged
+    private double depthTime = 0;
+    private long firstArrival = -1;
+    private long endTime = 0;
+
+    // the policy, the head, and the window's slots
+    private PendingQueue queue;
+    private DiskHead head;
+    private int slotTrack[];
+    private long slotArrival[];
+    private long slotRequest[];
+    private int slotMoves[];
+    private long slotService[];
+    private boolean slotWrite[];
+    // the ones merged onto the request being served, and how far along those it is
+    private int riders[];
+    private int riding = 0;
+    private int rode = 0;
+
+    // the trace being read, a chunk at a time
+    private TraceFile.Reader reader;
+    private final int chunk[] = new int[CHUNK];
+    private final long times[] = new long[CHUNK];
+    private final int clients[] = new int[CHUNK];
+    private int chunkPosition = 0;
+    private int chunkLength = 0;
+    private ArrivalProcess.Source madeUp;
+    private boolean timed;
+    // the next request in the file, which waits there until it has a slot
+    private long read = 0;
+    private int nextTrack;
+    private boolean nextWrite;
+    private int nextClient;
+    private long nextArrival;
+
+    public StreamingRun(String policy, File file, BlockTrace.Geometry geometry, int window, String arrivals, long seed, SchedulerSettings settings,
+            ResultsWriter.Records out, boolean debug) {
+        this.policy = policy;
+        this.file = file;
+        this.geometry = geometry;
+        this.window = window;
+        this.arrivals = arrivals;
+        this.seed = seed;
+        this.settings = settings;
+        this.out = out;
+        this.debug = debug;
+    }
+
+    public long averageServiceTime() {
+        return (served == 0) ? 0 : sumOfServiceTimes / served;
+    }
+
+    public double averageMoves() {
+        return (served == 0) ? 0 : (double) sumOfSeekLengths / served;
+    }
+
+    public double averageQueueDepth() {
+        long elapsed = endTime - Math.max(firstArrival, 0);
+        return (elapsed <= 0) ? 0 : depthTime / elapsed;
+    }
+
+    public StreamingRun run() throws IOException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        boolean cpuTimed = threads.isCurrentThreadCpuTimeSupported();
+        long cpuStart = cpuTimed ? threads.getCurrentThreadCpuTime() : System.nanoTime();
+
+        if (arrivals != null && !arrivals.equals("none") && !arrivals.equals("trace")) {
+            madeUp = ArrivalProcess.source(arrivals, seed);
+        }
+        // the request numbers the policy sees are the window's slots, handed out again once they're served
+        queue = SchedulerRegistry.create(policy).online(settings, window, settings.tracks);
+        head = new DiskHead(settings, settings.tracks);
+        buffer = head.buffer;
+        merger = (settings.merging != null) ? settings.merging.open(window, settings.tracks) : null;
+        riders = (merger != null) ? new int[settings.merging.maxSize] : null;
+        int free[] = new int[window];
+        for (int i = 0; i < window; i++) {
+            free[i] = window - 1 - i;
+        }
+        int freeSlots = window;
+        slotTrack = new int[window];
+        slotArrival = new long[window];
+        slotRequest = new long[window];
+        slotMoves = new int[window];
+        slotService = new long[window];
+        slotWrite = new boolean[window];
+
+        EventQueue events = new EventQueue();
+        reader = TraceFile.openReader(file, geometry, settings.tracks);
+        try {
+            boolean waiting = readNext(); // whether there's a request in the file still to come
+            if (waiting) events.push(nextArrival, EventQueue.ARRIVAL, -1);
+            boolean admitting = waiting;  // whether there's an arrival in the events already
+            boolean busy = false;
+            boolean dispatching = false;
+            int depth = 0;
+            long lastChange = 0;
+            while (!events.isEmpty()) {
+                events.poll();
+                long now = events.time();
+                switch (events.type()) {
+                    case EventQueue.ARRIVAL: {
+                        admitting = false;
+                        if (firstArrival < 0) {
+                            firstArrival = now;
+                            lastChange = now;
+                        }
+                        depthTime += (double) depth * (now - lastChange);
+                        lastChange = now;
+                        depth++;
+                        maxQueueDepth = Math.max(maxQueueDepth, depth);
+                        int slot = free[--freeSlots];
+                        slotTrack[slot] = nextTrack;
+                        slotArrival[slot] = nextArrival;
+                        slotRequest[slot] = read;
+                        slotWrite[slot] = nextWrite;
+                        // one merged onto a waiting request never reaches the policy
+                        if (merger == null || !merger.add(slot, nextTrack, nextWrite)) {
+                            queue.add(slot, nextTrack, nextWrite, nextClient, nextArrival);
+                        }
+                        waiting = readNext();
+                        if (waiting && freeSlots > 0) {
+                            events.push(Math.max(nextArrival, now), EventQueue.ARRIVAL, -1);
+                            admitting = true;
+                        }
+                        if (!busy && !dispatching) {
+                            events.push(now, EventQueue.DISPATCH, -1);
+                            dispatching = true;
+                        }
+                        break;
+                    }
+                    case EventQueue.DISPATCH: {
+                        dispatching = false;
+                        if (busy || queue.isEmpty()) break;
+                        int slot = queue.next(head.track, now);
+                        riding = (merger != null) ? merger.take(slot, slotWrite[slot], slotTrack, riders, head.track, queue.direction()) : 0;
+                        rode = 0;
+                        busy = true;
+                        start(events, now, slot, false);
+                        break;
+                    }
+                    case EventQueue.COMPLETE: {
+                        int slot = events.request();
+                        depthTime += (double) depth * (now - lastChange);
+                        lastChange = now;
+                        depth--;
+                        long response = now - slotArrival[slot];
+                        responseTimes.record(response);
+                        free[freeSlots++] = slot;
+                        endTime = now;
+                        served++;
+                        if (out != null) out.request(served, slotRequest[slot], slotTrack[slot], slotMoves[slot], slotService[slot], now, response);
+                        if (served % PROGRESS_EVERY == 0) progress();
+                        // the ones merged onto it go right after, the head's still busy with the same dispatch
+                        boolean following = rode < riding;
+                        if (following) {
+                            start(events, now, riders[rode++], true);
+                        } else {
+                            busy = false;
+                        }
+                        // the slot that just opened goes to the next one in the file
+                        if (waiting && !admitting) {
+                            events.push(Math.max(nextArrival, now), EventQueue.ARRIVAL, -1);
+                            admitting = true;
+                        }
+                        if (!following && !queue.isEmpty()) {
+                            events.push(now, EventQueue.DISPATCH, -1);
+                            dispatching = true;
+                        }
+                        break;
+                    }
+                }
+            }
+            if (out != null) out.flush();
+        } finally {
+            reader.close();
+        }
+        cpuTime = (cpuTimed ? threads.getCurrentThreadCpuTime() : System.nanoTime()) - cpuStart;
+        return this;
+    }
+
+    // sends a slot's request to the head, either one the policy picked or one merged onto it
+    private void start(EventQueue events, long now, int slot, boolean merged) {
+        int from = head.track;
+        long time = merged ? head.follow(slotTrack[slot], slotWrite[slot]) : head.serve(slotTrack[slot], queue.direction(), slotWrite[slot]);
+        waitTimes.record(now - slotArrival[slot]);
+        serviceTimes.record(time);
+        sumOfServiceTimes += time;
+        sumOfSeekLengths += head.moves;
+        if (debug == true) System.out.println("(" + slotRequest[slot] + ") " + policy + " at " + now + "ns: moving from (" + from + ") to (" + slotTrack[slot] + ") takes " + head.moves + " moves and " + time + "ns"
+                + (head.buffered ? ", out of the buffer" : "") + (merged ? ", merged" : ""));
+        slotMoves[slot] = head.moves;
+        slotService[slot] = time;
+        events.push(now + time, EventQueue.COMPLETE, slot);
+    }
+
+    // moves on to the next request in the file, false if there are no more
+    private boolean readNext() throws IOException {
+        if (chunkPosition == chunkLength) {
+            chunkLength = reader.read(chunk, times, clients, 0, CHUNK);
+            chunkPosition = 0;
+            if (chunkLength <= 0) return false;
+            if (read == 0) {
+                timed = (times[0] >= 0);
+                if ("trace".equals(arrivals) && !timed) {
+                    throw new IOException(file.getPath() + " doesn't have arrival times");
+                }
+            }
+        }
+        int value = chunk[chunkPosition];
+        long last = nextArrival;
+        nextTrack = TraceFile.track(value);
+        nextWrite = TraceFile.isWrite(value);
+        nextClient = clients[chunkPosition];
+        if (madeUp != null) {
+            nextArrival = madeUp.next();
+        } else if (timed && !"none".equals(arrivals)) {
+            nextArrival = times[chunkPosition];
+            if (read > 0 && nextArrival < last) {
+                throw new IOException("Request " + (read + 1) + " of " + file.getPath() + " arrives before the one ahead of it");
+            }
+        } else {
+            nextArrival = 0;
+        }
+        chunkPosition++;
+        read++;
+        return true;
+    }
+
+    private void progress() {
+        System.out.println("STREAM: " + policy + " has served " + served + ", " + (averageServiceTime() / 1000) + " us and "
+                + String.format("%.1f", averageMoves()) + " mvs on average, p99 response " + (responseTimes.percentile(99) / 1000000) + " ms, "
+                + String.format("%.1f", averageQueueDepth()) + " waiting on average");
+    }
+}
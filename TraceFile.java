@@ -0,0 +1,853 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/*
+ * Reading and writing request traces.
+ * A trace is either a .txt file with one track per line, optionally followed by R or W,
+ * then by @ and the microsecond it arrives at, then by c and the client that sent it (e.g. "57 W @1200 c3"),
+ * or a binary .trace file: a 16 byte header followed by every track as a little-endian int,
+ * then, if the trace is timed, every arrival time in nanoseconds as a little-endian long,
+ * then, if any request came from a client other than 0, every request's client as a little-endian int.
+ *
+ * header: "DTRC" | version (short) | flags (short) | number of tracks (long)
+ * flags: 1 if the trace is timed, 2 if it has clients
+ *
+ * A request that's a write has the WRITE bit set on its track, in the file and in what the readers return.
+ * Version 1 files came before that and never have it set, and version 2 files never have clients.
+ *
+ * Binary traces are read and written through memory mapped buffers. Reading one copies its tracks
+ * out of the mapping a chunk at a time, into the whole trace the policies share or into --stream's window,
+ * and writing one maps the file a piece at a time as it grows.
+ *
+ * Real I/O traces (see BlockTrace) can be read too, but not written.
+ */
+public final class TraceFile {
+    private static final byte MAGIC[] = {'D', 'T', 'R', 'C'};
+    private static final short VERSION = 3;
+    // set on a track when the request is a write instead of a read
+    public static final int WRITE = 0x80000000;
+    // set in the header's flags when the tracks are followed by their arrival times
+    private static final short TIMED = 1;
+    // and when the times (if any) are followed by the clients
+    private static final short CLIENTS = 2;
+    private static final int HEADER_BYTES = 16;
+    // how much of a trace gets mapped at once, a mapping can't be bigger than 2GB
+    private static final int SEGMENT_INTS = 1 << 28;
+    private static final int SEGMENT_LONGS = SEGMENT_INTS / 2;
+    private static final int WRITE_CHUNK_BYTES = 1 << 26;
+
+    private TraceFile() {}
+
+    public static boolean isBinary(String path) {
+        return path.endsWith(".trace");
+    }
+
+    public static boolean isTrace(String path) {
+        return path.endsWith(".txt") || isBinary(path) || BlockTrace.isBlockTrace(path);
+    }
+
+    public interface Reader extends Closeable {
+        // copies up to length tracks into values starting at offset,
+        // returns how many were copied, or -1 when there are no more
+        int read(int[] values, int offset, int length) throws IOException;
+
+        // the same, and arrivals[offset...] gets when each one arrives in nanoseconds, or -1 if the trace isn't timed
+        default int read(int[] values, long[] arrivals, int offset, int length) throws IOException {
+            int n = read(values, offset, length);
+            if (n > 0) Arrays.fill(arrivals, offset, offset + n, -1);
+            return n;
+        }
+
+        // the same, and clients[offset...] gets which client sent each one, 0 if the trace doesn't say
+        default int read(int[] values, long[] arrivals, int[] clients, int offset, int length) throws IOException {
+            int n = read(values, arrivals, offset, length);
+            if (n > 0) Arrays.fill(clients, offset, offset + n, 0);
+            return n;
+        }
+    }
+
+    public interface Writer extends Closeable {
+        void put(int track) throws IOException;
+
+        // a track that arrives at the given nanosecond, either all of a trace's tracks have one or none do
+        void put(int track, long arrival) throws IOException;
+
+        // a track from a client, with a negative arrival if the trace isn't timed
+        default void put(int track, long arrival, int client) throws IOException {
+            if (arrival < 0) {
+                put(track);
+            } else {
+                put(track, arrival);
+            }
+        }
+
+        default void put(int[] values, int offset, int length) throws IOException {
+            for (int i = 0; i < length; i++) {
+                put(values[offset + i]);
+            }
+        }
+    }
+
+    // picks the format from the file extension
+    public static Reader openReader(File file) throws IOException {
+        return openReader(file, BlockTrace.Geometry.DEFAULT);
+    }
+
+    // the geometry only matters for the real I/O traces, which give sectors instead of tracks
+    public static Reader openReader(File file, BlockTrace.Geometry geometry) throws IOException {
+        return openReader(file, geometry, Integer.MAX_VALUE);
+    }
+
+    // tracks is how many the disk has, a request on a track past it (or on track 0) is an error
+    // instead of something the policies would have to stretch the disk for
+    public static Reader openReader(File file, BlockTrace.Geometry geometry, int tracks) throws IOException {
+        if (isBinary(file.getPath())) {
+            return map(file).cursor(tracks);
+        }
+        if (BlockTrace.isBlockTrace(file.getPath())) {
+            return BlockTrace.openReader(file, geometry, tracks);
+        }
+        return new TextReader(file, tracks);
+    }
+
+    public static Writer openWriter(File file) throws IOException {
+        if (BlockTrace.isBlockTrace(file.getPath())) {
+            throw new IOException(file.getPath() + " can only be read, traces are written as .txt or .trace");
+        }
+        if (isBinary(file.getPath())) {
+            return new BinaryWriter(file);
+        }
+        return new TextWriter(file);
+    }
+
+    // copies a trace from one format into the other (or the same one), returns how many tracks were copied
+    public static long convert(File from, File to) throws IOException {
+        return convert(from, to, BlockTrace.Geometry.DEFAULT);
+    }
+
+    public static long convert(File from, File to, BlockTrace.Geometry geometry) throws IOException {
+        long count = 0;
+        int buffer[] = new int[8192];
+        long times[] = new long[8192];
+        int clients[] = new int[8192];
+        try (Reader reader = openReader(from, geometry); Writer writer = openWriter(to)) {
+            int n;
+            while ((n = reader.read(buffer, times, clients, 0, buffer.length)) > 0) {
+                // a trace is timed all the way through or not at all
+                if (times[0] < 0 && !fromClients(clients, n)) {
+                    writer.put(buffer, 0, n);
+                } else {
+                    for (int i = 0; i < n; i++) {
+                        writer.put(buffer[i], times[i], clients[i]);
+                    }
+                }
+                count += n;
+            }
+        }
+        return count;
+    }
+
+    // whether any of the first n requests came from a client other than 0
+    private static boolean fromClients(int[] clients, int n) {
+        for (int i = 0; i < n; i++) {
+            if (clients[i] != 0) return true;
+        }
+        return false;
+    }
+
+    public static void save(Trace trace, File file) throws IOException {
+        try (Writer writer = openWriter(file)) {
+            for (int i = 0; i < trace.size(); i++) {
+                int value = (trace.writes != null && trace.writes[i]) ? (trace.tracks[i] | WRITE) : trace.tracks[i];
+                writer.put(value, (trace.arrivals != null) ? trace.arrivals[i] : -1, (trace.clients != null) ? trace.clients[i] : 0);
+            }
+        }
+    }
+
+    public static boolean isWrite(int value) {
+        return (value & WRITE) != 0;
+    }
+
+    public static int track(int value) {
+        return value & ~WRITE;
+    }
+
+    /*
+     * A whole trace in memory, with the tracks, the read/write flags, the arrival times and the clients pulled apart.
+     * Nothing changes it once it's loaded, so any number of policies can share it.
+     */
+    public static final class Trace {
+        public final int tracks[];
+        public final boolean writes[]; // null when every request is a read
+        public final long arrivals[];  // the nanosecond each request arrives at, null when they're all there from the start
+        public final int clients[];    // which client sent each request, null when they're all from client 0
+
+        public Trace(int[] tracks, boolean[] writes) {
+            this(tracks, writes, null);
+        }
+
+        public Trace(int[] tracks, boolean[] writes, long[] arrivals) {
+            this(tracks, writes, arrivals, null);
+        }
+
+        public Trace(int[] tracks, boolean[] writes, long[] arrivals, int[] clients) {
+            this.tracks = tracks;
+            this.writes = writes;
+            this.arrivals = arrivals;
+            this.clients = clients;
+        }
+
+        public int size() {
+            return tracks.length;
+        }
+    }
+
+    // reads a whole trace and splits the write flags off the tracks
+    public static Trace load(File file) throws IOException {
+        return load(file, BlockTrace.Geometry.DEFAULT);
+    }
+
+    public static Trace load(File file, BlockTrace.Geometry geometry) throws IOException {
+        return load(file, geometry, Integer.MAX_VALUE);
+    }
+
+    // the same, with every track checked against a disk of diskTracks tracks
+    public static Trace load(File file, BlockTrace.Geometry geometry, int diskTracks) throws IOException {
+        int tracks[] = new int[8192];
+        long arrivals[] = null; // only kept if the trace is timed
+        int clients[] = null;   // only kept once a request comes from a client other than 0
+        int count = 0;
+        int chunk[] = new int[8192];
+        long times[] = new long[8192];
+        int senders[] = new int[8192];
+        try (Reader reader = openReader(file, geometry, diskTracks)) {
+            int n;
+            while ((n = reader.read(chunk, times, senders, 0, chunk.length)) > 0) {
+                if (tracks.length - count < n) {
+                    if (count > Integer.MAX_VALUE - 8 - n) {
+                        throw new IOException(file.getPath() + " has too many tracks to hold at once");
+                    }
+                    int size = (int) Math.min(Math.max((long) count * 2, count + n), Integer.MAX_VALUE - 8);
+                    tracks = Arrays.copyOf(tracks, size);
+                    if (arrivals != null) arrivals = Arrays.copyOf(arrivals, size);
+                    if (clients != null) clients = Arrays.copyOf(clients, size);
+                }
+                System.arraycopy(chunk, 0, tracks, count, n);
+                for (int i = 0; i < n; i++) {
+                    if (senders[i] != 0 && clients == null) clients = new int[tracks.length];
+                    if (clients != null) clients[count + i] = senders[i];
+                }
+                if (times[0] >= 0) {
+                    if (arrivals == null) arrivals = new long[tracks.length];
+                    for (int i = 0; i < n; i++) {
+                        long last = (count + i == 0) ? 0 : arrivals[count + i - 1];
+                        if (times[i] < last) {
+                            throw new IOException("Request " + (count + i + 1) + " of " + file.getPath() + " arrives before the one ahead of it");
+                        }
+                        arrivals[count + i] = times[i];
+                    }
+                }
+                count += n;
+            }
+        }
+        Trace split = split(Arrays.copyOf(tracks, count));
+        if (arrivals == null && clients == null) return split;
+        return new Trace(split.tracks, split.writes, (arrivals == null) ? null : Arrays.copyOf(arrivals, count),
+                (clients == null) ? null : Arrays.copyOf(clients, count));
+    }
+
+    // strips the write flags off the values in place, returning them separately
+    public static Trace split(int[] values) {
+        boolean writes[] = null;
+        for (int i = 0; i < values.length; i++) {
+            if (isWrite(values[i])) {
+                if (writes == null) writes = new boolean[values.length];
+                writes[i] = true;
+                values[i] = track(values[i]);
+            }
+        }
+        return new Trace(values, writes);
+    }
+
+    // memory-maps a binary trace instead of reading it, checking the header against the file's size.
+    // nothing's copied, the tracks (write flags and all), times and clients are read straight out of the mapping
+    public static Mapped map(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long bytes = channel.size();
+            if (bytes < HEADER_BYTES) {
+                throw new IOException(file.getPath() + " is too short to be a trace file");
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            for (byte b: MAGIC) {
+                if (header.get() != b) {
+                    throw new IOException(file.getPath() + " is not a trace file");
+                }
+            }
+            short version = header.getShort();
+            if (version < 1 || version > VERSION) {
+                throw new IOException(file.getPath() + " is a version " + version + " trace, only up to version " + VERSION + " is understood");
+            }
+            short flags = header.getShort();
+            boolean timed = (flags & TIMED) != 0;
+            boolean fromClients = (flags & CLIENTS) != 0;
+            long count = header.getLong();
+            if (count < 0 || count > Integer.MAX_VALUE - 8 || HEADER_BYTES + count * (4 + (timed ? 8 : 0) + (fromClients ? 4 : 0)) != bytes) {
+                throw new IOException(file.getPath() + " says it has " + count + " tracks, but it is " + bytes + " bytes long");
+            }
+            // the mappings stay valid after the channel is closed
+            int segments = (int) ((count + SEGMENT_INTS - 1) / SEGMENT_INTS);
+            IntBuffer mapped[] = new IntBuffer[segments];
+            for (int s = 0; s < segments; s++) {
+                long first = (long) s * SEGMENT_INTS;
+                long length = Math.min(SEGMENT_INTS, count - first);
+                mapped[s] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + first * 4, length * 4)
+                        .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            }
+            // the arrival times come after every track, mapped the same way with half as many to a segment
+            LongBuffer times[] = null;
+            if (timed) {
+                times = new LongBuffer[(int) ((count + SEGMENT_LONGS - 1) / SEGMENT_LONGS)];
+                long start = HEADER_BYTES + count * 4;
+                for (int s = 0; s < times.length; s++) {
+                    long first = (long) s * SEGMENT_LONGS;
+                    long length = Math.min(SEGMENT_LONGS, count - first);
+                    times[s] = channel.map(FileChannel.MapMode.READ_ONLY, start + first * 8, length * 8)
+                            .order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+                }
+            }
+            // and the clients after those
+            IntBuffer clients[] = null;
+            if (fromClients) {
+                clients = new IntBuffer[segments];
+                long start = HEADER_BYTES + count * (timed ? 12 : 4);
+                for (int s = 0; s < segments; s++) {
+                    long first = (long) s * SEGMENT_INTS;
+                    long length = Math.min(SEGMENT_INTS, count - first);
+                    clients[s] = channel.map(FileChannel.MapMode.READ_ONLY, start + first * 4, length * 4)
+                            .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+                }
+            }
+            return new Mapped(mapped, (int) count, times, clients);
+        }
+    }
+
+    /*
+     * A binary trace mapped into memory. It is read only, so any number of threads can share it.
+     */
+    public static final class Mapped {
+        private final IntBuffer segments[];
+        private final int count;
+        private final LongBuffer times[]; // null if the trace isn't timed
+        private final IntBuffer clients[]; // null if every request is from client 0
+
+        private Mapped(IntBuffer[] segments, int count, LongBuffer[] times, IntBuffer[] clients) {
+            this.segments = segments;
+            this.count = count;
+            this.times = times;
+            this.clients = clients;
+        }
+
+        public int size() {
+            return count;
+        }
+
+        public int get(int index) {
+            return segments[index / SEGMENT_INTS].get(index % SEGMENT_INTS);
+        }
+
+        // copies tracks [from, from + length) into values
+        public void get(int from, int[] values, int offset, int length) {
+            get(segments, from, values, offset, length);
+        }
+
+        // copies the clients of requests [from, from + length) into clients, 0 if the trace doesn't have them
+        public void clients(int from, int[] clients, int offset, int length) {
+            if (this.clients == null) {
+                Arrays.fill(clients, offset, offset + length, 0);
+            } else {
+                get(this.clients, from, clients, offset, length);
+            }
+        }
+
+        private static void get(IntBuffer[] segments, int from, int[] values, int offset, int length) {
+            while (length > 0) {
+                int segment = from / SEGMENT_INTS;
+                int position = from % SEGMENT_INTS;
+                int n = Math.min(length, SEGMENT_INTS - position);
+                // absolute bulk gets don't move the shared buffer's position
+                IntBuffer view = segments[segment].duplicate();
+                view.position(position);
+                view.get(values, offset, n);
+                from += n;
+                offset += n;
+                length -= n;
+            }
+        }
+
+        // copies the arrival times of requests [from, from + length) into arrivals
+        public void arrivals(int from, long[] arrivals, int offset, int length) {
+            while (length > 0) {
+                int segment = from / SEGMENT_LONGS;
+                int position = from % SEGMENT_LONGS;
+                int n = Math.min(length, SEGMENT_LONGS - position);
+                LongBuffer view = times[segment].duplicate();
+                view.position(position);
+                view.get(arrivals, offset, n);
+                from += n;
+                offset += n;
+                length -= n;
+            }
+        }
+
+        // a reader with its own position, for a disk with that many tracks
+        public Cursor cursor(int tracks) {
+            return new Cursor(this, tracks);
+        }
+    }
+
+    public static final class Cursor implements Reader {
+        private final Mapped trace;
+        private final int tracks;
+        private int position = 0;
+
+        private Cursor(Mapped trace, int tracks) {
+            this.trace = trace;
+            this.tracks = tracks;
+        }
+
+        @Override
+        public int read(int[] values, int offset, int length) throws IOException {
+            int n = Math.min(length, trace.count - position);
+            if (n <= 0) return -1;
+            trace.get(position, values, offset, n);
+            // a binary trace has no lines, so a bad track is pointed out by its place in the trace
+            for (int i = offset; i < offset + n; i++) {
+                int track = track(values[i]);
+                if (track < 1 || track > tracks) {
+                    throw new IOException("Request " + (position + i - offset + 1) + " of the trace is on track " + track
+                            + ((track < 1) ? ", tracks start from 1" : ", past the end of the " + tracks + " track disk"));
+                }
+            }
+            position += n;
+            return n;
+        }
+
+        @Override
+        public int read(int[] values, long[] arrivals, int offset, int length) throws IOException {
+            int n = Math.min(length, trace.count - position);
+            if (n <= 0) return -1;
+            if (trace.times != null) {
+                trace.arrivals(position, arrivals, offset, n);
+            } else {
+                Arrays.fill(arrivals, offset, offset + n, -1);
+            }
+            return read(values, offset, n);
+        }
+
+        @Override
+        public int read(int[] values, long[] arrivals, int[] clients, int offset, int length) throws IOException {
+            int n = Math.min(length, trace.count - position);
+            if (n <= 0) return -1;
+            trace.clients(position, clients, offset, n);
+            return read(values, arrivals, offset, n);
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    private static final class BinaryWriter implements Writer {
+        private final FileChannel channel;
+        private MappedByteBuffer chunk;
+        private IntBuffer ints;
+        private long written = 0;
+        private final File file;
+        // the arrival times and the clients go after every track, so they're spilled into files next to it
+        // and copied onto the end once the tracks are done, to keep a huge trace out of memory
+        private Spill times;
+        private Spill clients;
+
+        BinaryWriter(File file) throws IOException {
+            this.file = file;
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        @Override
+        public void put(int track) throws IOException {
+            put(track, -1, 0);
+        }
+
+        @Override
+        public void put(int track, long arrival) throws IOException {
+            put(track, arrival, 0);
+        }
+
+        @Override
+        public void put(int track, long arrival, int client) throws IOException {
+            if ((arrival < 0) ? times != null : (times == null && written > 0)) {
+                throw new IOException("Every track in a timed trace needs an arrival time");
+            }
+            if (arrival >= 0 && times == null) times = new Spill(file, ".times");
+            if (client != 0 && clients == null) {
+                // the clients only go in once one isn't 0, so everything before it was from client 0
+                clients = new Spill(file, ".clients");
+                for (long i = 0; i < written; i++) {
+                    clients.putInt(0);
+                }
+            }
+            if (times != null) times.putLong(arrival);
+            if (clients != null) clients.putInt(client);
+            if (ints == null || !ints.hasRemaining()) nextChunk();
+            ints.put(track);
+            written++;
+        }
+
+        @Override
+        public void put(int[] values, int offset, int length) throws IOException {
+            if (times != null || clients != null) {
+                // every one needs its time or its client too
+                for (int i = 0; i < length; i++) {
+                    put(values[offset + i]);
+                }
+                return;
+            }
+            while (length > 0) {
+                if (ints == null || !ints.hasRemaining()) nextChunk();
+                int n = Math.min(length, ints.remaining());
+                ints.put(values, offset, n);
+                written += n;
+                offset += n;
+                length -= n;
+            }
+        }
+
+        // map the next piece of the file, which grows the file to fit
+        private void nextChunk() throws IOException {
+            if (chunk != null) chunk.force();
+            chunk = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + written * 4, WRITE_CHUNK_BYTES);
+            ints = chunk.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (chunk != null) chunk.force();
+                chunk = null;
+                ints = null;
+                MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+                header.order(ByteOrder.LITTLE_ENDIAN);
+                header.put(MAGIC);
+                header.putShort(VERSION);
+                header.putShort((short) ((times == null ? 0 : TIMED) | (clients == null ? 0 : CLIENTS)));
+                header.putLong(written);
+                header.force();
+                // the last chunk was mapped bigger than it needed to be
+                channel.truncate(HEADER_BYTES + written * 4);
+                if (times != null) times.copyTo(channel, HEADER_BYTES + written * 4);
+                if (clients != null) clients.copyTo(channel, HEADER_BYTES + written * (times != null ? 12 : 4));
+            } finally {
+                try {
+                    if (times != null) times.close();
+                } finally {
+                    try {
+                        if (clients != null) clients.close();
+                    } finally {
+                        channel.close();
+                    }
+                }
+            }
+        }
+    }
+
+    // numbers that go after every track of a binary trace, held in a file next to it until the tracks are all written
+    private static final class Spill implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+
+        Spill(File trace, String suffix) throws IOException {
+            File directory = trace.getAbsoluteFile().getParentFile();
+            File file = File.createTempFile(trace.getName(), suffix, directory);
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+        }
+
+        void putLong(long value) throws IOException {
+            if (buffer.remaining() < 8) flush();
+            buffer.putLong(value);
+        }
+
+        void putInt(int value) throws IOException {
+            if (buffer.remaining() < 4) flush();
+            buffer.putInt(value);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        // copies everything onto the trace, starting at start
+        void copyTo(FileChannel trace, long start) throws IOException {
+            flush();
+            long bytes = channel.position();
+            channel.position(0);
+            for (long done = 0; done < bytes; ) {
+                done += trace.transferFrom(channel, start + done, bytes - done);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    // parses one number per line straight from the bytes, without making a String for every line
+    private static final class TextReader implements Reader {
+        private final InputStream in;
+        private final byte buffer[] = new byte[1 << 16];
+        private int position = 0;
+        private int limit = 0;
+        private long line = 1;
+        private int pending = -2; // a character that was read one too early, -2 if none
+        private int timed = -1;   // whether the lines have @times, -1 until the first line says
+        private final int tracks; // how many the disk has
+
+        TextReader(File file, int tracks) throws IOException {
+            in = new FileInputStream(file);
+            this.tracks = tracks;
+        }
+
+        @Override
+        public int read(int[] values, int offset, int length) throws IOException {
+            return read(values, null, null, offset, length);
+        }
+
+        @Override
+        public int read(int[] values, long[] arrivals, int offset, int length) throws IOException {
+            return read(values, arrivals, null, offset, length);
+        }
+
+        @Override
+        public int read(int[] values, long[] arrivals, int[] clients, int offset, int length) throws IOException {
+            int n = 0;
+            while (n < length) {
+                int c = skipBlanks();
+                if (c < 0) break;
+                if (c == '-') {
+                    throw new IOException("Line " + line + " of the input has a negative track");
+                }
+                if (c < '0' || c > '9') {
+                    throw new IOException("Line " + line + " of the input doesn't start with a number");
+                }
+                long value = 0;
+                while (c >= '0' && c <= '9') {
+                    value = value * 10 + (c - '0');
+                    if (value > Integer.MAX_VALUE) {
+                        throw new IOException("The number on line " + line + " of the input is too big");
+                    }
+                    c = next();
+                }
+                if (value == 0) {
+                    throw new IOException("Line " + line + " of the input is on track 0, tracks start from 1");
+                }
+                if (value > tracks) {
+                    throw new IOException("Line " + line + " of the input is on track " + value + ", past the end of the " + tracks + " track disk");
+                }
+                // then maybe an R or a W
+                while (c == ' ' || c == '\t') {
+                    c = next();
+                }
+                boolean write = false;
+                if (c == 'W' || c == 'w' || c == 'R' || c == 'r') {
+                    write = (c == 'W' || c == 'w');
+                    c = next();
+                }
+                // then maybe when it arrives
+                while (c == ' ' || c == '\t') {
+                    c = next();
+                }
+                long arrival = -1;
+                if (c == '@') {
+                    c = next();
+                    if (c < '0' || c > '9') {
+                        throw new IOException("Line " + line + " of the input has an @ without a time after it");
+                    }
+                    arrival = 0;
+                    while (c >= '0' && c <= '9') {
+                        arrival = arrival * 10 + (c - '0');
+                        if (arrival > Long.MAX_VALUE / 10000) {
+                            throw new IOException("The time on line " + line + " of the input is too big");
+                        }
+                        c = next();
+                    }
+                }
+                // then maybe the client that sent it
+                while (c == ' ' || c == '\t') {
+                    c = next();
+                }
+                long client = 0;
+                if (c == 'c' || c == 'C') {
+                    c = next();
+                    if (c < '0' || c > '9') {
+                        throw new IOException("Line " + line + " of the input has a c without a client after it");
+                    }
+                    while (c >= '0' && c <= '9') {
+                        client = client * 10 + (c - '0');
+                        if (client > Integer.MAX_VALUE) {
+                            throw new IOException("The client on line " + line + " of the input is too big");
+                        }
+                        c = next();
+                    }
+                    while (c == ' ' || c == '\t') {
+                        c = next();
+                    }
+                }
+                if (c >= '0' && c <= '9') {
+                    // another number on the same line, leave it for the next time around
+                    pending = c;
+                    c = ' ';
+                }
+                if (c != '\n' && c != '\r' && c != ' ' && c != '\t' && c >= 0) {
+                    throw new IOException("Line " + line + " of the input has something other than a number, R or W, @time and client on it");
+                }
+                if (timed < 0) timed = (arrival >= 0) ? 1 : 0;
+                if ((arrival >= 0) != (timed == 1)) {
+                    throw new IOException("Line " + line + " of the input needs an @time like the others, or none of them can have one");
+                }
+                if (c == '\n') line++;
+                values[offset + n] = write ? ((int) value | WRITE) : (int) value;
+                // the file has microseconds, everything else works in nanoseconds
+                if (arrivals != null) arrivals[offset + n] = (arrival < 0) ? -1 : arrival * 1000;
+                if (clients != null) clients[offset + n] = (int) client;
+                n++;
+            }
+            return (n == 0) ? -1 : n;
+        }
+
+        private int skipBlanks() throws IOException {
+            int c = next();
+            while (c == '\n' || c == '\r' || c == ' ' || c == '\t') {
+                if (c == '\n') line++;
+                c = next();
+            }
+            return c;
+        }
+
+        private int next() throws IOException {
+            if (pending != -2) {
+                int c = pending;
+                pending = -2;
+                return c;
+            }
+            if (position == limit) {
+                limit = in.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            // a byte past 0x7f (UTF-8 in a process name) mustn't come out negative and look like the end of the file
+            return buffer[position++] & 0xFF;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    // writes one number per line (and a W after the writes, @time for timed traces and c and the client if it isn't 0),
+    // turning the digits into bytes by hand
+    private static final class TextWriter implements Writer {
+        private final OutputStream out;
+        private final byte buffer[] = new byte[1 << 16];
+        private final byte digits[] = new byte[20];
+        private int position = 0;
+
+        TextWriter(File file) throws IOException {
+            out = new FileOutputStream(file);
+        }
+
+        @Override
+        public void put(int track) throws IOException {
+            put(track, -1);
+        }
+
+        @Override
+        public void put(int track, long arrival) throws IOException {
+            put(track, arrival, 0);
+        }
+
+        // a negative arrival leaves the time off
+        @Override
+        public void put(int track, long arrival, int client) throws IOException {
+            if (buffer.length - position < 3 * digits.length + 8) flush();
+            putNumber(track(track));
+            if (isWrite(track)) {
+                buffer[position++] = ' ';
+                buffer[position++] = 'W';
+            }
+            if (arrival >= 0) {
+                buffer[position++] = ' ';
+                buffer[position++] = '@';
+                // microseconds, the same as it's read back in
+                putNumber(arrival / 1000);
+            }
+            if (client != 0) {
+                buffer[position++] = ' ';
+                buffer[position++] = 'c';
+                putNumber(client);
+            }
+            buffer[position++] = '\n';
+        }
+
+        private void putNumber(long value) {
+            int d = digits.length;
+            do {
+                digits[--d] = (byte) ('0' + (value % 10));
+                value /= 10;
+            } while (value > 0);
+            System.arraycopy(digits, d, buffer, position, digits.length - d);
+            position += digits.length - d;
+        }
+
+        private void flush() throws IOException {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                out.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import java.util.*;
+
+/*
+ * The drive's on-board track buffer, between the queue and the head.
+ * Whenever the head reads a track it keeps it, and the readAhead tracks after it too,
+ * in a buffer of capacity tracks with LRU, CLOCK or ARC deciding what goes when it's full.
+ * A read the policy sends out for a track that's still in there is served out of the buffer:
+ * the head doesn't move and the request only takes HIT_TIME.
+ * Writes always go to the disk (it's write-through), but the track they wrote stays in the buffer.
+ * Reading ahead is free, the drive does it while it'd otherwise be waiting on the platter.
+ *
+ * One of these is made for every run, since what's in it depends on the order the policy picked.
+ */
+public final class TrackBuffer {
+    // a request's worth of bytes out of the buffer over the bus, no seek or rotation
+    public static final long HIT_TIME = 20000;
+
+    private static final Map<String, Factory> EVICTIONS = new LinkedHashMap<String, Factory>();
+    static {
+        EVICTIONS.put("lru", LruCache::new);
+        EVICTIONS.put("clock", ClockCache::new);
+        EVICTIONS.put("arc", ArcCache::new);
+    }
+
+    interface Factory {
+        TrackCache create(int capacity, int highestTrack);
+    }
+
+    public static Set<String> evictions() {
+        return Collections.unmodifiableSet(EVICTIONS.keySet());
+    }
+
+    // what --buffer and --read-ahead asked for, which every run makes its own buffer from
+    public static final class Config {
+        public final String eviction;
+        public final int capacity;  // how many tracks it holds
+        public final int readAhead; // how many tracks after each one read are read too
+
+        public Config(String eviction, int capacity, int readAhead) {
+            if (!EVICTIONS.containsKey(eviction)) {
+                throw new IllegalArgumentException(eviction + " isn't one of " + String.join(", ", EVICTIONS.keySet()));
+            }
+            if (capacity < 1 || readAhead < 0) {
+                throw new IllegalArgumentException("the buffer has to hold at least 1 track, and can't read ahead less than 0");
+            }
+            this.eviction = eviction;
+            this.capacity = capacity;
+            this.readAhead = readAhead;
+        }
+
+        // "lru:64" is 64 tracks evicted least recently used first
+        public static Config parse(String spec, int readAhead) {
+            int colon = spec.indexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException("it needs to be eviction:tracks");
+            }
+            try {
+                return new Config(spec.substring(0, colon), Integer.parseInt(spec.substring(colon + 1)), readAhead);
+            } catch (NumberFormatException nfe) {
+                throw new IllegalArgumentException(spec.substring(colon + 1) + " isn't a number of tracks");
+            }
+        }
+
+        public TrackBuffer open(int highestTrack) {
+            return new TrackBuffer(this, highestTrack);
+        }
+
+        @Override
+        public String toString() {
+            return eviction + ":" + capacity + ((readAhead > 0) ? " reading " + readAhead + " ahead" : "");
+        }
+    }
+
+    private final TrackCache cache;
+    private final int readAhead;
+    private final int highestTrack;
+
+    // how it did
+    public long reads = 0;        // reads that looked in the buffer
+    public long hits = 0;         // reads the buffer had
+    public long seeksAvoided = 0; // hits the head would have had to move for
+
+    private TrackBuffer(Config config, int highestTrack) {
+        this.cache = EVICTIONS.get(config.eviction).create(config.capacity, highestTrack);
+        this.readAhead = config.readAhead;
+        this.highestTrack = highestTrack;
+    }
+
+    // whether the request is served out of the buffer, otherwise the head goes and gets its track
+    // (which it keeps, along with the ones after it)
+    public boolean serve(int head, int track, boolean write) {
+        if (!write) {
+            reads++;
+            if (cache.lookup(track)) {
+                hits++;
+                if (track != head) seeksAvoided++;
+                return true;
+            }
+        }
+        cache.load(track, false);
+        int end = (int) Math.min(highestTrack, (long) track + readAhead);
+        for (int t = track + 1; t <= end; t++) {
+            cache.load(t, true);
+        }
+        return false;
+    }
+
+    public double hitRate() {
+        return (reads == 0) ? 0 : (double) hits / reads;
+    }
+}
@@ -0,0 +1,24 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+/*
+ * Which tracks the drive's buffer is holding, and which one goes when it's full.
+ * Tracks go in once the head has read them, either because a request asked for them
+ * or because they were read ahead, and a lookup that finds one counts as using it.
+ */
+interface TrackCache {
+    // whether the track is in the buffer, a hit is a use of it
+    boolean lookup(int track);
+
+    // puts a track the head just read into the buffer, evicting one if it's full.
+    // prefetched is set for the tracks read ahead, which nobody has asked for yet
+    void load(int track, boolean prefetched);
+}
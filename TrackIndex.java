@@ -0,0 +1,121 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+/*
+ * Keeps track of which tracks still have requests waiting on them.
+ * Occupied tracks are bits in a bitmap with a summary bitmap on top of it,
+ * so finding the nearest occupied track above or below the head only looks at a handful of words.
+ * Requests on the same track are kept in arrival order, so ties can go to whoever came first.
+ */
+final class TrackIndex {
+    private final long words[];   // bit t is set when track t has a waiting request
+    private final long summary[]; // bit w is set when words[w] has any bit set
+    private final int first[];    // earliest waiting request on each track, -1 if none
+    private final int last[];     // latest waiting request on each track
+    private final int next[];     // the request that arrived after this one on the same track
+    private final int highestTrack;
+
+    TrackIndex(int highestTrack, int requests) {
+        this(highestTrack, new int[requests]);
+    }
+
+    // indexes that never hold the same request at once can share the links between requests,
+    // so each one only costs its tracks, however many requests there are
+    TrackIndex(int highestTrack, int[] next) {
+        this.highestTrack = highestTrack;
+        words = new long[(highestTrack >>> 6) + 1];
+        summary = new long[(words.length >>> 6) + 1];
+        first = new int[highestTrack + 1];
+        last = new int[highestTrack + 1];
+        this.next = next;
+        java.util.Arrays.fill(first, -1);
+    }
+
+    int highestTrack() {
+        return highestTrack;
+    }
+
+    void add(int request, int track) {
+        next[request] = -1;
+        if (first[track] < 0) {
+            first[track] = request;
+            words[track >>> 6] |= 1L << track;
+            summary[track >>> 12] |= 1L << (track >>> 6);
+        } else {
+            next[last[track]] = request;
+        }
+        last[track] = request;
+    }
+
+    // the earliest request still waiting on a track, or -1
+    int peek(int track) {
+        return first[track];
+    }
+
+    // removes and returns the earliest request waiting on a track
+    int poll(int track) {
+        int request = first[track];
+        first[track] = next[request];
+        if (first[track] < 0) {
+            int w = track >>> 6;
+            words[w] &= ~(1L << track);
+            if (words[w] == 0) {
+                summary[w >>> 6] &= ~(1L << w);
+            }
+        }
+        return request;
+    }
+
+    // lowest occupied track at or above the given one, or -1
+    int ceiling(int track) {
+        if (track < 0) track = 0;
+        if (track > highestTrack) return -1;
+        int w = track >>> 6;
+        long bits = words[w] & (-1L << track);
+        if (bits != 0) {
+            return (w << 6) + Long.numberOfTrailingZeros(bits);
+        }
+        // find the next word with anything in it
+        w++;
+        for (int s = w >>> 6; s < summary.length; s++) {
+            long filled = summary[s];
+            if (s == (w >>> 6)) filled &= -1L << w;
+            if (filled != 0) {
+                int word = (s << 6) + Long.numberOfTrailingZeros(filled);
+                return (word << 6) + Long.numberOfTrailingZeros(words[word]);
+            }
+        }
+        return -1;
+    }
+
+    // highest occupied track at or below the given one, or -1
+    int floor(int track) {
+        if (track < 0) return -1;
+        if (track > highestTrack) track = highestTrack;
+        int w = track >>> 6;
+        long bits = words[w] & (-1L >>> (63 - (track & 63)));
+        if (bits != 0) {
+            return (w << 6) + 63 - Long.numberOfLeadingZeros(bits);
+        }
+        // find the previous word with anything in it
+        w--;
+        if (w < 0) return -1;
+        for (int s = w >>> 6; s >= 0; s--) {
+            long filled = summary[s];
+            if (s == (w >>> 6)) filled &= -1L >>> (63 - (w & 63));
+            if (filled != 0) {
+                int word = (s << 6) + 63 - Long.numberOfLeadingZeros(filled);
+                return (word << 6) + 63 - Long.numberOfLeadingZeros(words[word]);
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+/*
+ * A few doubly linked lists of tracks, most recent use at the front,
+ * which LruCache and ArcCache keep their tracks in.
+ * A track is only ever in one of the lists, so they all share the same link arrays
+ * and moving a track from one to another never allocates.
+ */
+final class TrackLists {
+    static final int NONE = -1;
+
+    private final int prev[];
+    private final int next[];
+    private final int list[];  // which list each track is in, NONE if it isn't in any
+    private final int first[]; // the front of each list, NONE if it's empty
+    private final int last[];
+    private final int size[];
+
+    TrackLists(int lists, int highestTrack) {
+        prev = new int[highestTrack + 1];
+        next = new int[highestTrack + 1];
+        list = new int[highestTrack + 1];
+        java.util.Arrays.fill(list, NONE);
+        first = new int[lists];
+        last = new int[lists];
+        java.util.Arrays.fill(first, NONE);
+        java.util.Arrays.fill(last, NONE);
+        size = new int[lists];
+    }
+
+    int list(int track) {
+        return list[track];
+    }
+
+    int size(int which) {
+        return size[which];
+    }
+
+    // puts a track at the front of a list, out of whichever one it was in
+    void addFirst(int which, int track) {
+        if (list[track] != NONE) remove(track);
+        prev[track] = NONE;
+        next[track] = first[which];
+        if (first[which] != NONE) {
+            prev[first[which]] = track;
+        } else {
+            last[which] = track;
+        }
+        first[which] = track;
+        list[track] = which;
+        size[which]++;
+    }
+
+    void remove(int track) {
+        int which = list[track];
+        if (prev[track] != NONE) {
+            next[prev[track]] = next[track];
+        } else {
+            first[which] = next[track];
+        }
+        if (next[track] != NONE) {
+            prev[next[track]] = prev[track];
+        } else {
+            last[which] = prev[track];
+        }
+        list[track] = NONE;
+        size[which]--;
+    }
+
+    // takes the least recently used track off the back of a list
+    int removeLast(int which) {
+        int track = last[which];
+        remove(track);
+        return track;
+    }
+}
@@ -0,0 +1,327 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/*
+ * Makes up request traces for -g.
+ * Every method is a Distribution that either picks a track outright or steps away from the last one.
+ * The trace is made in fixed size chunks, each with its own random generator split off the seed in order,
+ * so the chunks can be filled in parallel and a given seed always makes exactly the same trace.
+ *
+ * Methods joined with + make a trace from several clients at once, client k (from 1) drawing from the k-th method,
+ * e.g. "sequential+random" is a streaming client sharing the disk with a seeky one.
+ * Each client's requests come from its own trace, and they're mixed together at random.
+ */
+public final class WorkloadGenerator {
+    static final int CHUNK = 1 << 16;
+    private static final Map<String, Factory> METHODS = new LinkedHashMap<String, Factory>();
+    static {
+        METHODS.put("random", (tracks, random) -> new Uniform(tracks));
+        METHODS.put("alternate", (tracks, random) -> new Alternate(tracks));
+        METHODS.put("zipf", (tracks, random) -> new Zipf(tracks, 1.0, random));
+        METHODS.put("sequential", (tracks, random) -> new Sequential(tracks, 32));
+        METHODS.put("bimodal", (tracks, random) -> new Bimodal(tracks));
+    }
+
+    private WorkloadGenerator() {}
+
+    public interface Factory {
+        // random comes from the seed, so anything a distribution shuffles up front (like where the hot spots are) is repeatable
+        Distribution create(int tracks, SplittableRandom random);
+    }
+
+    /*
+     * One distribution is shared by every chunk, so draw() mustn't change anything.
+     */
+    public interface Distribution {
+        // returns a track from 0 to tracks-1,
+        // or -(step + 1) to step that far up from the previous request instead (wrapping around)
+        int draw(SplittableRandom random);
+    }
+
+    public static Set<String> methods() {
+        return Collections.unmodifiableSet(METHODS.keySet());
+    }
+
+    // one method's distribution on its own, for drawing tracks one at a time instead of a whole trace
+    public static Distribution distribution(String method, int tracks, SplittableRandom random) {
+        Factory factory = METHODS.get(method);
+        if (factory == null) {
+            throw new IllegalArgumentException(method + " is not a generation method");
+        }
+        return factory.create(tracks, random);
+    }
+
+    // whether a -g argument is a method, or methods joined with +
+    public static boolean isMethod(String spec) {
+        for (String method: spec.split("\\+", -1)) {
+            if (!METHODS.containsKey(method)) return false;
+        }
+        return true;
+    }
+
+    // makes a whole trace from a -g argument, with the clients filled in if it has more than one method
+    public static TraceFile.Trace trace(String spec, int count, int tracks, long seed) {
+        String methods[] = spec.split("\\+", -1);
+        if (methods.length == 1) {
+            return new TraceFile.Trace(generate(spec, count, tracks, seed), null);
+        }
+        // which client sends each request, evenly on average, then each client's own tracks in its order
+        SplittableRandom root = new SplittableRandom(seed);
+        int clients[] = new int[count];
+        int sent[] = new int[methods.length];
+        SplittableRandom mixing = root.split();
+        for (int i = 0; i < count; i++) {
+            clients[i] = mixing.nextInt(methods.length) + 1;
+            sent[clients[i] - 1]++;
+        }
+        int own[][] = new int[methods.length][];
+        for (int c = 0; c < methods.length; c++) {
+            own[c] = generate(methods[c], sent[c], tracks, root.nextLong());
+        }
+        int numbers[] = new int[count];
+        int taken[] = new int[methods.length];
+        for (int i = 0; i < count; i++) {
+            int c = clients[i] - 1;
+            numbers[i] = own[c][taken[c]++];
+        }
+        return new TraceFile.Trace(numbers, null, null, clients);
+    }
+
+    // makes count tracks between 1 and tracks
+    public static int[] generate(String method, int count, int tracks, long seed) {
+        Factory factory = METHODS.get(method);
+        if (factory == null) {
+            throw new IllegalArgumentException(method + " is not a generation method");
+        }
+        SplittableRandom root = new SplittableRandom(seed);
+        Distribution distribution = factory.create(tracks, root.split());
+
+        int chunks = (count + CHUNK - 1) / CHUNK;
+        SplittableRandom randoms[] = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) {
+            randoms[c] = root.split();
+        }
+        int numbers[] = new int[count];
+        // where each chunk's first absolute pick is (or the chunk's length if it only steps),
+        // and where the head ends up after the chunk, relative or not
+        int firstAbsolute[] = new int[chunks];
+        int last[] = new int[chunks];
+
+        // fill every chunk on its own, keeping positions relative until something absolute comes along
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            SplittableRandom random = randoms[c];
+            int from = c * CHUNK;
+            int to = Math.min(count, from + CHUNK);
+            int position = 0;
+            int absoluteAt = to - from;
+            for (int i = from; i < to; i++) {
+                // the first number is always random
+                int value = (i == 0) ? random.nextInt(tracks) : distribution.draw(random);
+                if (value >= 0) {
+                    position = value;
+                    if (absoluteAt == to - from) absoluteAt = i - from;
+                } else {
+                    position = (int) (((long) position - value - 1) % tracks);
+                }
+                numbers[i] = position;
+            }
+            firstAbsolute[c] = absoluteAt;
+            last[c] = position;
+        });
+
+        // work out where the head is coming into each chunk
+        int carry[] = new int[chunks];
+        int position = 0;
+        for (int c = 0; c < chunks; c++) {
+            carry[c] = position;
+            int length = Math.min(count, (c + 1) * CHUNK) - c * CHUNK;
+            position = (firstAbsolute[c] < length) ? last[c] : (int) (((long) position + last[c]) % tracks);
+        }
+
+        // then shift the relative part of each chunk by that, and number the tracks from 1
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int from = c * CHUNK;
+            int to = Math.min(count, from + CHUNK);
+            int relativeUntil = from + firstAbsolute[c];
+            for (int i = from; i < to; i++) {
+                if (i < relativeUntil) {
+                    numbers[i] = (int) (((long) numbers[i] + carry[c]) % tracks);
+                }
+                numbers[i]++;
+            }
+        });
+        return numbers;
+    }
+
+    // any track, all equally likely
+    private static final class Uniform implements Distribution {
+        private final int tracks;
+
+        Uniform(int tracks) {
+            this.tracks = tracks;
+        }
+
+        public int draw(SplittableRandom random) {
+            return random.nextInt(tracks);
+        }
+    }
+
+    // 10% chance of the same track as before, and a linearly decreasing chance
+    // of stepping further away, up to 99 tracks either way
+    private static final class Alternate implements Distribution {
+        private final int tracks;
+        private final AliasTable steps;
+
+        Alternate(int tracks) {
+            this.tracks = tracks;
+            // the old generator tried step 0 with probability 0.100, step 1 with 0.099, and so on,
+            // taking the first one that came up. These are the chances each step ends up picked,
+            // with the leftover (nothing came up) spread back over all of them
+            double weights[] = new double[100];
+            double missed = 1.0;
+            for (int step = 0; step < 100; step++) {
+                double chance = (100 - step) / 1000.0;
+                weights[step] = missed * chance;
+                missed *= 1 - chance;
+            }
+            steps = new AliasTable(weights);
+        }
+
+        public int draw(SplittableRandom random) {
+            int step = steps.sample(random) % tracks;
+            // then up or down, equally likely
+            return -1 - (random.nextBoolean() ? step : (tracks - step) % tracks);
+        }
+    }
+
+    // a few hot tracks get most of the requests, the chance of the k-th hottest falls off as 1/k^s.
+    // which tracks are hot is shuffled from the seed
+    private static final class Zipf implements Distribution {
+        private final AliasTable ranks;
+        private final int hottest[];
+
+        Zipf(int tracks, double exponent, SplittableRandom random) {
+            double weights[] = new double[tracks];
+            for (int rank = 0; rank < tracks; rank++) {
+                weights[rank] = 1.0 / Math.pow(rank + 1, exponent);
+            }
+            ranks = new AliasTable(weights);
+            hottest = new int[tracks];
+            for (int i = 0; i < tracks; i++) {
+                hottest[i] = i;
+            }
+            for (int i = tracks - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = hottest[i];
+                hottest[i] = hottest[j];
+                hottest[j] = swap;
+            }
+        }
+
+        public int draw(SplittableRandom random) {
+            return hottest[ranks.sample(random)];
+        }
+    }
+
+    // runs of requests on consecutive tracks, averaging runLength long, each starting somewhere random
+    private static final class Sequential implements Distribution {
+        private final int tracks;
+        private final double jumpChance;
+
+        Sequential(int tracks, int runLength) {
+            this.tracks = tracks;
+            this.jumpChance = 1.0 / runLength;
+        }
+
+        public int draw(SplittableRandom random) {
+            if (random.nextDouble() < jumpChance) {
+                return random.nextInt(tracks);
+            }
+            return -1 - (1 % tracks);
+        }
+    }
+
+    // two busy regions, a quarter and three quarters of the way across the disk
+    private static final class Bimodal implements Distribution {
+        private final int tracks;
+        private final double spread;
+
+        Bimodal(int tracks) {
+            this.tracks = tracks;
+            this.spread = Math.max(1.0, tracks / 20.0);
+        }
+
+        public int draw(SplittableRandom random) {
+            double center = random.nextBoolean() ? tracks / 4.0 : tracks * 3 / 4.0;
+            long track = Math.round(center + random.nextGaussian() * spread);
+            return (int) Math.floorMod(track, (long) tracks);
+        }
+    }
+
+    /*
+     * Vose's alias method: after setting up, each sample is one random index and one coin flip,
+     * no matter how many outcomes there are.
+     */
+    static final class AliasTable {
+        private final double chance[];
+        private final int alias[];
+
+        AliasTable(double[] weights) {
+            int n = weights.length;
+            chance = new double[n];
+            alias = new int[n];
+            double total = 0;
+            for (double weight: weights) {
+                total += weight;
+            }
+            double scaled[] = new double[n];
+            int small[] = new int[n];
+            int large[] = new int[n];
+            int smalls = 0;
+            int larges = 0;
+            for (int i = 0; i < n; i++) {
+                scaled[i] = weights[i] * n / total;
+                if (scaled[i] < 1.0) {
+                    small[smalls++] = i;
+                } else {
+                    large[larges++] = i;
+                }
+            }
+            while (smalls > 0 && larges > 0) {
+                int less = small[--smalls];
+                int more = large[--larges];
+                chance[less] = scaled[less];
+                alias[less] = more;
+                scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+                if (scaled[more] < 1.0) {
+                    small[smalls++] = more;
+                } else {
+                    large[larges++] = more;
+                }
+            }
+            // whatever is left over is (within rounding) exactly 1
+            while (larges > 0) {
+                chance[large[--larges]] = 1.0;
+            }
+            while (smalls > 0) {
+                chance[small[--smalls]] = 1.0;
+            }
+        }
+
+        int sample(SplittableRandom random) {
+            int i = random.nextInt(chance.length);
+            return (random.nextDouble() < chance[i]) ? i : alias[i];
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import os_project3.*;
+
+/*
+ * How long each -g method takes to make a trace.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneratorBenchmark {
+    @Param({"random", "alternate", "zipf", "sequential", "bimodal"})
+    public String method;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int requests;
+
+    @Param({"200"})
+    public int tracks;
+
+    @Benchmark
+    public int[] generate() {
+        return WorkloadGenerator.generate(method, requests, tracks, 42);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import os_project3.*;
+
+/*
+ * A whole run of the simulator, from reading the trace to writing the table,
+ * with every policy on its own thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PipelineBenchmark {
+    // every policy there is
+    @Param({"FIFO,LIFO,SSTF,SCAN,C-SCAN,N-STEP-SCAN,FSCAN,LOOK,C-LOOK,F-LOOK,DEADLINE,BFQ"})
+    public String policies;
+
+    @Param({"1000", "100000", "1000000"})
+    public int requests;
+
+    // either way the main thread loads the whole trace before any policy starts,
+    // txt has it parse every line and trace has it copy the tracks out of the mapped file
+    @Param({"txt", "trace"})
+    public String format;
+
+    private File directory;
+    private String args[];
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("pipeline").toFile();
+        File input = new File(directory, "input." + format);
+        int trace[] = WorkloadGenerator.generate("random", requests, 200, 42);
+        try (TraceFile.Writer writer = TraceFile.openWriter(input)) {
+            writer.put(trace, 0, trace.length);
+        }
+        args = new String[] {"-q", "-i", input.getPath(), "-p", policies, "-b", "100", "-o", new File(directory, "output.txt").getPath()};
+    }
+
+    @Benchmark
+    public void run() throws Exception {
+        Simulator.main(args);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (File file: directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
+    }
+}
@@ -0,0 +1,67 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import os_project3.*;
+
+/*
+ * How long each policy takes to put a whole trace in order.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchedulerBenchmark {
+    @Param({"FIFO", "LIFO", "SSTF", "SCAN", "C-SCAN", "N-STEP-SCAN", "FSCAN", "LOOK", "C-LOOK", "F-LOOK", "DEADLINE", "BFQ"})
+    public String policy;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int requests;
+
+    @Param({"5"})
+    public int batch;
+
+    @Param({"200"})
+    public int tracks;
+
+    // how many clients the requests are dealt out to in turn, only BFQ looks at them
+    @Param({"8"})
+    public int clients;
+
+    private int trace[];
+    private int senders[];
+    private int order[];
+    private byte directions[];
+    private DiskScheduler scheduler;
+    private SchedulerSettings settings;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        trace = WorkloadGenerator.generate("random", requests, tracks, 42);
+        senders = new int[requests];
+        for (int i = 0; i < requests; i++) {
+            senders[i] = i % clients;
+        }
+        order = new int[requests];
+        directions = new byte[requests];
+        scheduler = SchedulerRegistry.create(policy);
+        settings = new SchedulerSettings((tracks + 1) / 2, batch, tracks);
+    }
+
+    @Benchmark
+    public int[] schedule() {
+        scheduler.schedule(trace, null, senders, requests, settings, order, directions);
+        return order;
+    }
+}
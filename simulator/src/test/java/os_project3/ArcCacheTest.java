@@ -0,0 +1,78 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class ArcCacheTest {
+    private static int size(ArcCache cache, int list) {
+        return cache.lists.size(list);
+    }
+
+    @Test
+    void ghostHitsMoveTheTarget() {
+        ArcCache cache = new ArcCache(2, 10);
+        cache.load(1, false);
+        assertTrue(cache.lookup(1));
+        cache.load(2, false);
+        // T1 is over its target of 0, so 2 goes to B1
+        cache.load(3, false);
+        assertEquals(ArcCache.B1, cache.lists.list(2));
+        assertEquals(0, cache.p);
+
+        // asking for it again means T1 was too small
+        cache.load(2, false);
+        assertEquals(1, cache.p);
+        assertEquals(ArcCache.T2, cache.lists.list(2));
+        assertEquals(ArcCache.B2, cache.lists.list(1));
+
+        // and asking for the one T2 let go of means it was
+        cache.load(1, false);
+        assertEquals(0, cache.p);
+        assertEquals(ArcCache.T2, cache.lists.list(1));
+        assertEquals(ArcCache.B1, cache.lists.list(3));
+    }
+
+    @Test
+    void prefetchedGhostsLeaveTheTargetAlone() {
+        ArcCache cache = new ArcCache(2, 10);
+        cache.load(1, false);
+        assertTrue(cache.lookup(1));
+        cache.load(2, false);
+        cache.load(3, false);
+        assertEquals(ArcCache.B1, cache.lists.list(2));
+        cache.load(2, true);
+        assertEquals(0, cache.p);
+        assertEquals(ArcCache.T1, cache.lists.list(2));
+    }
+
+    @Test
+    void listsStayWithinTheirBounds() {
+        int capacity = 16;
+        ArcCache cache = new ArcCache(capacity, 1000);
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 200000; i++) {
+            // a hot set that gets reused and a long tail that mostly doesn't, so both ghost lists fill up
+            int track = (random.nextInt(4) == 0) ? 1 + random.nextInt(1000) : 1 + random.nextInt(24);
+            if (!cache.lookup(track)) cache.load(track, random.nextInt(8) == 0);
+            int t1 = size(cache, ArcCache.T1);
+            int t2 = size(cache, ArcCache.T2);
+            int b1 = size(cache, ArcCache.B1);
+            int b2 = size(cache, ArcCache.B2);
+            assertTrue(t1 + t2 <= capacity, "the buffer holds " + (t1 + t2) + " tracks");
+            assertTrue(t1 + b1 <= capacity, "T1 and B1 have " + (t1 + b1) + " tracks");
+            assertTrue(t1 + t2 + b1 + b2 <= 2 * capacity, "all four have " + (t1 + t2 + b1 + b2) + " tracks");
+            assertTrue(cache.p >= 0 && cache.p <= capacity, "the target is " + cache.p);
+        }
+    }
+}
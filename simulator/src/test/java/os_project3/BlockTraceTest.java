@@ -0,0 +1,60 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BlockTraceTest {
+    @TempDir
+    Path dir;
+
+    private File trace(String name, String contents) throws IOException {
+        Path file = dir.resolve(name);
+        Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+        return file.toFile();
+    }
+
+    @Test
+    void spcSectorsBecomeTracksAndAsusBecomeClients() throws IOException {
+        // 16 heads of 63 sectors is 1008 sectors a track
+        TraceFile.Trace trace = TraceFile.load(trace("t.spc", "0,0,8192,R,0.5\n2,2016,8192,W,0.75\n"), BlockTrace.Geometry.DEFAULT, 200);
+        assertArrayEquals(new int[] {1, 3}, trace.tracks);
+        assertArrayEquals(new boolean[] {false, true}, trace.writes);
+        assertArrayEquals(new long[] {500000000, 750000000}, trace.arrivals);
+        assertArrayEquals(new int[] {0, 2}, trace.clients);
+    }
+
+    @Test
+    void readsPastNonAsciiProcessNames() throws IOException {
+        File file = trace("t.blkparse",
+                "  8,0    3        1     0.000000000   697  Q   W 1008 + 8 [\u65e5]\n"
+                + "  8,0    3        2     0.000100000   698  Q   R 2016 + 8 [kjournald]\n"
+                + "  8,0    3        3     0.000200000   699  Q  RS 3024 + 8 [caf\u00e9]\n");
+        TraceFile.Trace trace = TraceFile.load(file, BlockTrace.Geometry.DEFAULT, 200);
+        assertArrayEquals(new int[] {2, 3, 4}, trace.tracks);
+        assertArrayEquals(new int[] {697, 698, 699}, trace.clients);
+    }
+
+    @Test
+    void rejectsSectorsPastTheDisk() throws IOException {
+        File file = trace("t.spc", "0,20941264,8192,W,0.551706\n");
+        IOException e = assertThrows(IOException.class, () -> TraceFile.load(file, BlockTrace.Geometry.DEFAULT, 200));
+        assertTrue(e.getMessage().contains("line 1"), e.getMessage());
+        assertEquals(20776, TraceFile.load(file, BlockTrace.Geometry.DEFAULT, 20776).tracks[0]);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class EventSimulatorTest {
+    // the head starts at 50 on a 100 track disk
+    private static final SchedulerSettings SETTINGS = new SchedulerSettings(50, 4, 100);
+
+    private static EventSimulator run(String policy, int[] tracks, long[] arrivals) {
+        EventSimulator simulation = new EventSimulator(policy, SchedulerRegistry.create(policy), tracks, null, null, arrivals,
+                tracks.length, SETTINGS, null, false);
+        simulation.run();
+        return simulation;
+    }
+
+    @Test
+    void anIdleDiskServesInArrivalOrder() {
+        // a second apart, so each one is done long before the next shows up
+        int tracks[] = {90, 10, 70, 30, 50};
+        long arrivals[] = {0, 1000000000L, 2000000000L, 3000000000L, 4000000000L};
+        for (String policy: SchedulerRegistry.names()) {
+            EventSimulator simulation = run(policy, tracks, arrivals);
+            assertArrayEquals(new int[] {0, 1, 2, 3, 4}, simulation.order, policy);
+            assertEquals(1, simulation.maxDepth, policy);
+        }
+        // FIFO takes the short way round, 90 to 10 wraps past the top
+        assertArrayEquals(new int[] {40, 20, 40, 40, 20}, run("FIFO", tracks, arrivals).moves);
+        // SCAN never turns short of the edge, and each one is behind it, so every one after the first is out to the edge and back
+        assertArrayEquals(new int[] {40, 10 + 90, 9 + 69, 30 + 70, 29 + 49}, run("SCAN", tracks, arrivals).moves);
+    }
+
+    @Test
+    void thePolicyOnlyPicksFromWhatHasArrived() {
+        int tracks[] = {90, 52, 48};
+        // all waiting at once, SSTF goes to the near ones first
+        EventSimulator together = run("SSTF", tracks, new long[] {0, 0, 0});
+        assertArrayEquals(new int[] {1, 2, 0}, together.order);
+        assertArrayEquals(new int[] {2, 4, 42}, together.moves);
+        assertEquals(3, together.maxDepth);
+        // but if 90 is the only one there when the disk starts, the head is already on its way
+        EventSimulator apart = run("SSTF", tracks, new long[] {0, 1, 1});
+        assertArrayEquals(new int[] {0, 1, 2}, apart.order);
+        assertArrayEquals(new int[] {40, 38, 4}, apart.moves);
+    }
+
+    @Test
+    void anArrivalAtACompletionIsSeenBeforeTheNextPick() {
+        // how long the head takes to get from 50 to 70
+        long done = run("SSTF", new int[] {70}, new long[] {0}).completed[0];
+        // 71 shows up right as 70 is done, so SSTF takes it ahead of 10
+        EventSimulator simulation = run("SSTF", new int[] {70, 10, 71}, new long[] {0, 0, done});
+        assertArrayEquals(new int[] {0, 2, 1}, simulation.order);
+        assertEquals(done, simulation.completed[0]);
+    }
+
+    @Test
+    void requestsWaitForTheOnesAheadOfThem() {
+        int tracks[] = {60, 40, 80};
+        EventSimulator simulation = run("FIFO", tracks, new long[] {0, 0, 0});
+        // each one finishes after the one before it, by as long as the head took to get to it
+        long last = 0;
+        for (int i = 0; i < tracks.length; i++) {
+            int request = simulation.order[i];
+            assertTrue(simulation.completed[request] > last);
+            last = simulation.completed[request];
+        }
+        assertEquals(last, simulation.endTime);
+        assertEquals(last, simulation.sumOfServiceTimes);
+        assertEquals(10 + 20 + 40, simulation.sumOfSeekLengths);
+        assertEquals(3, simulation.responseTimes.count());
+    }
+}
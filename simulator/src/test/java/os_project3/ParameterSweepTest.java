@@ -0,0 +1,57 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ParameterSweepTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void rangesAndSteps() {
+        assertArrayEquals(new long[] {1, 50, 100, 150, 200}, ParameterSweep.parseRange("1,50..200:50"));
+        assertArrayEquals(new long[] {3, 5, 7}, ParameterSweep.parseRange("3..8:2"));
+        assertThrows(NumberFormatException.class, () -> ParameterSweep.parseRange("5..1"));
+        assertThrows(NumberFormatException.class, () -> ParameterSweep.parseRange("1..5:0"));
+    }
+
+    @Test
+    void rangesEndingNearTheTopDontWrapAround() {
+        long max = Long.MAX_VALUE;
+        assertArrayEquals(new long[] {max - 2, max - 1, max}, ParameterSweep.parseRange((max - 2) + ".." + max));
+        assertArrayEquals(new long[] {max - 10, max - 4}, ParameterSweep.parseRange((max - 10) + ".." + max + ":6"));
+        // from the bottom to the top is wider than a long, but still only 3 steps of Long.MAX_VALUE
+        assertArrayEquals(new long[] {Long.MIN_VALUE, -1, max - 1}, ParameterSweep.parseRange(Long.MIN_VALUE + ".." + max + ":" + max));
+    }
+
+    @Test
+    void hugeRangesAreTurnedAway() {
+        assertThrows(NumberFormatException.class, () -> ParameterSweep.parseRange("1.." + Long.MAX_VALUE));
+        assertThrows(NumberFormatException.class, () -> ParameterSweep.parseRange(Long.MIN_VALUE + ".." + Long.MAX_VALUE + ":2"));
+        assertEquals(ParameterSweep.MAX_JOBS, ParameterSweep.parseRange("1.." + ParameterSweep.MAX_JOBS).length);
+    }
+
+    @Test
+    void aGridThatsTooBigIsntStarted() {
+        // 1024 starts by 1024 batches by 2 policies, each range fine on its own
+        ParameterSweep sweep = new ParameterSweep(new String[] {"FIFO", "SSTF"}, ParameterSweep.parseIntRange("1..1024"),
+                ParameterSweep.parseIntRange("1..1024"), new String[] {"random"}, new long[] {1}, null, BlockTrace.Geometry.DEFAULT,
+                100, null, new SchedulerSettings(1, 1, 2000), false);
+        File out = dir.resolve("sweep.csv").toFile();
+        assertThrows(IllegalArgumentException.class, () -> sweep.run(out.getPath()));
+        assertFalse(out.exists());
+    }
+}
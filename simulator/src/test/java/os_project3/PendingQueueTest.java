@@ -0,0 +1,199 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class PendingQueueTest {
+    private static final int TRACKS = 100;
+    // every test starts the head at 50
+    private static final SchedulerSettings SETTINGS = new SchedulerSettings(50, 4, TRACKS);
+
+    // the policy's queue with the tracks handed in as requests 0, 1, 2, ... all at time 0
+    private static PendingQueue queue(String policy, SchedulerSettings settings, int... tracks) {
+        PendingQueue queue = SchedulerRegistry.create(policy).online(settings, 16, TRACKS);
+        for (int i = 0; i < tracks.length; i++) {
+            queue.add(i, tracks[i], false, 0);
+        }
+        return queue;
+    }
+
+    // what came out of the queue, and how the head got to each one
+    private static final class Served {
+        final int order[];
+        final byte directions[];
+        int head;
+        long moves = 0;
+
+        Served(int count, int head) {
+            order = new int[count];
+            directions = new byte[count];
+            this.head = head;
+        }
+    }
+
+    // takes count requests off the queue at time 0, moving the head to each one in turn
+    private static Served serve(PendingQueue queue, int[] tracks, int head, int count) {
+        Served served = new Served(count, head);
+        for (int i = 0; i < count; i++) {
+            step(queue, tracks, served, i, 0);
+        }
+        assertTrue(queue.isEmpty());
+        return served;
+    }
+
+    private static void step(PendingQueue queue, int[] tracks, Served served, int i, long now) {
+        int request = queue.next(served.head, now);
+        served.order[i] = request;
+        served.directions[i] = queue.direction();
+        served.moves += SeekEngine.distance(served.head, tracks[request], served.directions[i], TRACKS);
+        served.head = tracks[request];
+    }
+
+    @Test
+    void fifoLifoAndSstf() {
+        int tracks[] = {80, 20, 60};
+        assertArrayEquals(new int[] {0, 1, 2}, serve(queue("FIFO", SETTINGS, tracks), tracks, 50, 3).order);
+        assertArrayEquals(new int[] {2, 1, 0}, serve(queue("LIFO", SETTINGS, tracks), tracks, 50, 3).order);
+        // 60 is nearest, then 80 is nearer than 20, which is then reached by wrapping around the top
+        Served sstf = serve(queue("SSTF", SETTINGS, tracks), tracks, 50, 3);
+        assertArrayEquals(new int[] {2, 0, 1}, sstf.order);
+        assertEquals(10 + 20 + 40, sstf.moves);
+    }
+
+    @Test
+    void theElevators() {
+        // the first one is above the head, so they all start off going up
+        int tracks[] = {60, 40, 70, 30};
+        Served scan = serve(queue("SCAN", SETTINGS, tracks), tracks, 50, 4);
+        assertArrayEquals(new int[] {0, 2, 1, 3}, scan.order);
+        assertArrayEquals(new byte[] {SeekEngine.UP, SeekEngine.UP, SeekEngine.TURN_AT_TOP, SeekEngine.DOWN}, scan.directions);
+        assertEquals(10 + 10 + (30 + 60) + 10, scan.moves);
+
+        Served look = serve(queue("LOOK", SETTINGS, tracks), tracks, 50, 4);
+        assertArrayEquals(new int[] {0, 2, 1, 3}, look.order);
+        assertArrayEquals(new byte[] {SeekEngine.UP, SeekEngine.UP, SeekEngine.DOWN, SeekEngine.DOWN}, look.directions);
+        assertEquals(10 + 10 + 30 + 10, look.moves);
+
+        Served cLook = serve(queue("C-LOOK", SETTINGS, tracks), tracks, 50, 4);
+        assertArrayEquals(new int[] {0, 2, 3, 1}, cLook.order);
+        assertArrayEquals(new byte[] {SeekEngine.UP, SeekEngine.UP, SeekEngine.DOWN, SeekEngine.UP}, cLook.directions);
+        assertEquals(10 + 10 + 40 + 10, cLook.moves);
+
+        Served cScan = serve(queue("C-SCAN", SETTINGS, tracks), tracks, 50, 4);
+        assertArrayEquals(new int[] {0, 2, 3, 1}, cScan.order);
+        assertArrayEquals(new byte[] {SeekEngine.UP, SeekEngine.UP, SeekEngine.WRAP_AT_TOP, SeekEngine.UP}, cScan.directions);
+        assertEquals(10 + 10 + (30 + 99 + 29) + 10, cScan.moves);
+    }
+
+    @Test
+    void anArrivalAheadOfTheElevatorJoinsThePassButFscanWaits() {
+        int tracks[] = {60, 40, 65};
+        // 65 shows up once the head is at 60, going up
+        for (String policy: new String[] {"SCAN", "FSCAN"}) {
+            PendingQueue queue = queue(policy, SETTINGS, 60, 40);
+            Served served = new Served(3, 50);
+            step(queue, tracks, served, 0, 0);
+            queue.add(2, 65, false, 1);
+            step(queue, tracks, served, 1, 2);
+            step(queue, tracks, served, 2, 3);
+            assertTrue(queue.isEmpty());
+            if (policy.equals("SCAN")) {
+                assertArrayEquals(new int[] {0, 2, 1}, served.order, policy);
+            } else {
+                // the pass was frozen with 60 and 40 in it, so 65 waits for the next one
+                assertArrayEquals(new int[] {0, 1, 2}, served.order, policy);
+            }
+        }
+    }
+
+    @Test
+    void nStepScanTakesBatchAtATime() {
+        // the first 4 are swept up then back down, and only then does 55 get a pass of its own
+        int tracks[] = {90, 10, 80, 20, 55};
+        assertArrayEquals(new int[] {2, 0, 3, 1, 4}, serve(queue("N-STEP-SCAN", SETTINGS, tracks), tracks, 50, 5).order);
+    }
+
+    @Test
+    void sameTrackGoesInArrivalOrderBothWays() {
+        // requests 1 and 2 share track 40, and the sweep reaches it going down
+        int tracks[] = {60, 40, 40, 70};
+        for (String policy: new String[] {"SCAN", "LOOK", "FSCAN", "F-LOOK", "N-STEP-SCAN"}) {
+            int order[] = serve(queue(policy, SETTINGS, tracks), tracks, 50, 4).order;
+            assertArrayEquals(new int[] {0, 3, 1, 2}, order, policy);
+        }
+    }
+
+    @Test
+    void deadlineKeepsToTrackOrderUntilAReadExpires() {
+        // reads expire after 100ns, and 2 go out in track order before the FIFO is looked at again
+        SchedulerSettings settings = new SchedulerSettings(50, 4, TRACKS, DiskModels.create("hdd", TRACKS), 100, 1000, 2, 2);
+        int tracks[] = {60, 10, 70, 80};
+        for (long later: new long[] {50, 150}) {
+            PendingQueue queue = queue("DEADLINE", settings, tracks);
+            Served served = new Served(4, 50);
+            step(queue, tracks, served, 0, 0);
+            step(queue, tracks, served, 1, 0);
+            step(queue, tracks, served, 2, later);
+            step(queue, tracks, served, 3, later);
+            if (later < 100) {
+                assertArrayEquals(new int[] {0, 2, 3, 1}, served.order);
+            } else {
+                // by then the read on 10 has waited too long, so the next batch starts from it
+                assertArrayEquals(new int[] {0, 2, 1, 3}, served.order);
+            }
+        }
+    }
+
+    @Test
+    void deadlineDoesntStarveWrites() {
+        int tracks[] = {60, 55, 70};
+        for (int writesStarved = 1; writesStarved <= 2; writesStarved++) {
+            SchedulerSettings settings = new SchedulerSettings(50, 4, TRACKS, DiskModels.create("hdd", TRACKS),
+                    SchedulerSettings.DEFAULT_READ_EXPIRE, SchedulerSettings.DEFAULT_WRITE_EXPIRE, 1, writesStarved);
+            PendingQueue queue = SchedulerRegistry.create("DEADLINE").online(settings, 16, TRACKS);
+            queue.add(0, 60, false, 0);
+            queue.add(1, 55, true, 0);
+            queue.add(2, 70, false, 0);
+            int order[] = serve(queue, tracks, 50, 3).order;
+            if (writesStarved == 1) {
+                // one read has gone ahead of the write, so the write goes next
+                assertArrayEquals(new int[] {0, 1, 2}, order);
+            } else {
+                assertArrayEquals(new int[] {0, 2, 1}, order);
+            }
+        }
+    }
+
+    @Test
+    void bfqTakesTurnsOnceABudgetIsUsedUp() {
+        // client 1 is below the head and client 2 above it, three requests each
+        int tracks[] = {30, 31, 32, 70, 71, 72};
+        int clients[] = {1, 1, 1, 2, 2, 2};
+        for (long budget: new long[] {15, 1000}) {
+            SchedulerSettings settings = new SchedulerSettings(50, 4, TRACKS, DiskModels.create("hdd", TRACKS),
+                    SchedulerSettings.DEFAULT_READ_EXPIRE, SchedulerSettings.DEFAULT_WRITE_EXPIRE, SchedulerSettings.DEFAULT_FIFO_BATCH,
+                    SchedulerSettings.DEFAULT_WRITES_STARVED, budget, SchedulerSettings.DEFAULT_BFQ_SLICE, null, null);
+            PendingQueue queue = SchedulerRegistry.create("BFQ").online(settings, 16, TRACKS);
+            for (int i = 0; i < tracks.length; i++) {
+                queue.add(i, tracks[i], false, clients[i], 0);
+            }
+            int order[] = serve(queue, tracks, 50, 6).order;
+            if (budget == 15) {
+                // every seek across the disk uses up a whole turn
+                assertArrayEquals(new int[] {0, 3, 1, 4, 2, 5}, order);
+            } else {
+                assertArrayEquals(new int[] {0, 1, 2, 3, 4, 5}, order);
+            }
+        }
+    }
+}
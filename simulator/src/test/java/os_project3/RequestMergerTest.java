@@ -0,0 +1,50 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class RequestMergerTest {
+    // 50 leads, then 49 and 51 ride with it, then 52 rides on 51's side
+    private static final int TRACKS[] = {50, 49, 51, 52};
+
+    private static int[] take(int from, byte direction) {
+        RequestMerger merger = new RequestMerger.Config(2, 8).open(TRACKS.length, 100);
+        assertFalse(merger.add(0, TRACKS[0], false));
+        for (int i = 1; i < TRACKS.length; i++) {
+            assertTrue(merger.add(i, TRACKS[i], false));
+        }
+        int riders[] = new int[8];
+        int count = merger.take(0, false, TRACKS, riders, from, direction);
+        return Arrays.copyOf(riders, count);
+    }
+
+    @Test
+    void ridersKeepGoingTheWayTheHeadCame() {
+        // coming up from below it carries on up to 51 and 52, and only then turns back for 49
+        assertArrayEquals(new int[] {2, 3, 1}, take(10, SeekEngine.ANY));
+        // and coming down from above it's 49 first, then back up
+        assertArrayEquals(new int[] {1, 2, 3}, take(90, SeekEngine.ANY));
+    }
+
+    @Test
+    void theElevatorsSayWhichWayTheHeadIsGoing() {
+        // from below, but going down wraps it around past track 1, so it arrives from the top going down
+        assertArrayEquals(new int[] {1, 2, 3}, take(10, SeekEngine.DOWN));
+        // from above, but it went up to the top and came back down
+        assertArrayEquals(new int[] {1, 2, 3}, take(90, SeekEngine.TURN_AT_TOP));
+        // from above, but it went down to track 1 and came back up
+        assertArrayEquals(new int[] {2, 3, 1}, take(90, SeekEngine.TURN_AT_BOTTOM));
+        assertArrayEquals(new int[] {2, 3, 1}, take(90, SeekEngine.UP));
+    }
+}
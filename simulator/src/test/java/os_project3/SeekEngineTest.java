@@ -0,0 +1,38 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class SeekEngineTest {
+    @Test
+    void theElevatorsPayForTheEdge() {
+        // SCAN goes out to 200 and back down to 50
+        assertEquals(200, SeekEngine.distance(150, 50, SeekEngine.TURN_AT_TOP, 200));
+        // C-SCAN goes out to 200, back across to 1, then up to 50
+        assertEquals(50 + 199 + 49, SeekEngine.distance(150, 50, SeekEngine.WRAP_AT_TOP, 200));
+        assertEquals(49 + 199 + 50, SeekEngine.distance(50, 150, SeekEngine.WRAP_AT_BOTTOM, 200));
+    }
+
+    @Test
+    void cScanIsChargedItsReturnStroke() {
+        // from 100 everyone goes up to 150 first, then they differ on the way to 50
+        SchedulerSettings settings = new SchedulerSettings(100, 5, 200);
+        int tracks[] = {150, 50};
+        long arrivals[] = {0, 0};
+        assertEquals(50 + 200, PolicyRun.run("SCAN", tracks, null, 2, settings, false).totalMoves);
+        assertEquals(50 + 100, PolicyRun.run("C-LOOK", tracks, null, 2, settings, false).totalMoves);
+        assertEquals(50 + 298, PolicyRun.run("C-SCAN", tracks, null, 2, settings, false).totalMoves);
+        // and the same when it's picking as they arrive
+        assertEquals(50 + 298, PolicyRun.run("C-SCAN", tracks, null, arrivals, 2, settings, false).totalMoves);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StreamingRunTest {
+    private static final int COUNT = 400;
+    private static final int TRACKS = 200;
+
+    @TempDir
+    Path dir;
+
+    // bursts of requests that all arrive at once, on few enough tracks that lots of them share one
+    private static TraceFile.Trace trace() {
+        Random random = new Random(7);
+        int tracks[] = new int[COUNT];
+        boolean writes[] = new boolean[COUNT];
+        long arrivals[] = new long[COUNT];
+        int clients[] = new int[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            tracks[i] = 1 + random.nextInt(24) * 8;
+            writes[i] = random.nextInt(4) == 0;
+            arrivals[i] = (i / 10) * 20000000L;
+            clients[i] = random.nextInt(3);
+        }
+        return new TraceFile.Trace(tracks, writes, arrivals, clients);
+    }
+
+    private List<String> lines(String name, java.util.function.Consumer<ResultsWriter> run) throws IOException {
+        Path file = dir.resolve(name + ".jsonl");
+        try (ResultsWriter results = new ResultsWriter(file.toString())) {
+            run.accept(results);
+        }
+        return Files.readAllLines(file);
+    }
+
+    @Test
+    void aWindowAsBigAsTheTraceIsTheEventSimulator() throws IOException {
+        TraceFile.Trace trace = trace();
+        File file = dir.resolve("t.trace").toFile();
+        TraceFile.save(trace, file);
+        SchedulerSettings settings = new SchedulerSettings(100, 5, TRACKS);
+        for (String policy : SchedulerRegistry.names()) {
+            PolicyRun events[] = new PolicyRun[1];
+            StreamingRun stream[] = new StreamingRun[1];
+            List<String> expected = lines(policy + ".events", results -> events[0] = PolicyRun.run(policy, trace.tracks, trace.writes, trace.clients,
+                    trace.arrivals, COUNT, settings, results.records(policy), false));
+            List<String> streamed = lines(policy + ".stream", results -> {
+                try {
+                    stream[0] = new StreamingRun(policy, file, BlockTrace.Geometry.DEFAULT, COUNT, null, 0, settings, results.records(policy), false).run();
+                } catch (IOException e) {
+                    throw new java.io.UncheckedIOException(e);
+                }
+            });
+            assertEquals(COUNT, expected.size(), policy);
+            assertEquals(expected, streamed, policy);
+            assertEquals(events[0].totalMoves, stream[0].sumOfSeekLengths, policy);
+            assertEquals(events[0].maxQueueDepth, stream[0].maxQueueDepth, policy);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TraceFileTest {
+    @TempDir
+    Path dir;
+
+    private File text(String name, String contents) throws IOException {
+        Path file = dir.resolve(name);
+        Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+        return file.toFile();
+    }
+
+    @Test
+    void loadsTracksWritesTimesAndClients() throws IOException {
+        TraceFile.Trace trace = TraceFile.load(text("t.txt", "57 W @1200 c3\n12 @1300\n"), BlockTrace.Geometry.DEFAULT, 200);
+        assertArrayEquals(new int[] {57, 12}, trace.tracks);
+        assertArrayEquals(new boolean[] {true, false}, trace.writes);
+        assertArrayEquals(new long[] {1200000, 1300000}, trace.arrivals);
+        assertArrayEquals(new int[] {3, 0}, trace.clients);
+    }
+
+    @Test
+    void binaryTracesKeepTheirClients() throws IOException {
+        File timed = dir.resolve("timed.trace").toFile();
+        TraceFile.save(new TraceFile.Trace(new int[] {5, 6, 7}, new boolean[] {false, true, false}, new long[] {1000, 2000, 3000}, new int[] {0, 2, 1}), timed);
+        TraceFile.Trace back = TraceFile.load(timed);
+        assertArrayEquals(new int[] {5, 6, 7}, back.tracks);
+        assertArrayEquals(new boolean[] {false, true, false}, back.writes);
+        assertArrayEquals(new long[] {1000, 2000, 3000}, back.arrivals);
+        assertArrayEquals(new int[] {0, 2, 1}, back.clients);
+
+        File untimed = dir.resolve("untimed.trace").toFile();
+        TraceFile.convert(text("t.txt", "5\n6 c4\n7\n"), untimed);
+        back = TraceFile.load(untimed);
+        assertNull(back.arrivals);
+        assertArrayEquals(new int[] {0, 4, 0}, back.clients);
+
+        File plain = dir.resolve("plain.trace").toFile();
+        TraceFile.save(new TraceFile.Trace(new int[] {5, 6}, null), plain);
+        assertNull(TraceFile.load(plain).clients);
+        assertEquals(16 + 2 * 4, plain.length());
+    }
+
+    @Test
+    void readsVersionTwoTraces() throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(16 + 2 * 4).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.put(new byte[] {'D', 'T', 'R', 'C'}).putShort((short) 2).putShort((short) 0).putLong(2);
+        bytes.putInt(9).putInt(11 | TraceFile.WRITE);
+        Path file = dir.resolve("old.trace");
+        Files.write(file, bytes.array());
+        TraceFile.Trace trace = TraceFile.load(file.toFile());
+        assertArrayEquals(new int[] {9, 11}, trace.tracks);
+        assertArrayEquals(new boolean[] {false, true}, trace.writes);
+        assertNull(trace.clients);
+    }
+
+    @Test
+    void nonAsciiIsAnErrorInsteadOfTheEnd() throws IOException {
+        File file = text("t.txt", "10\n20 \u65e5\n30\n");
+        IOException e = assertThrows(IOException.class, () -> TraceFile.load(file, BlockTrace.Geometry.DEFAULT, 200));
+        assertTrue(e.getMessage().contains("Line 2"), e.getMessage());
+    }
+
+    @Test
+    void rejectsTracksPastTheDisk() throws IOException {
+        File file = text("t.txt", "10\n500\n20\n0\n150\n");
+        IOException e = assertThrows(IOException.class, () -> TraceFile.load(file, BlockTrace.Geometry.DEFAULT, 200));
+        assertTrue(e.getMessage().contains("Line 2"), e.getMessage());
+        assertTrue(e.getMessage().contains("500"), e.getMessage());
+    }
+
+    @Test
+    void rejectsTrackZero() throws IOException {
+        File file = text("t.txt", "10\n20\n0\n150\n");
+        IOException e = assertThrows(IOException.class, () -> TraceFile.load(file, BlockTrace.Geometry.DEFAULT, 200));
+        assertTrue(e.getMessage().contains("Line 3"), e.getMessage());
+    }
+
+    @Test
+    void rejectsNegativeTracks() throws IOException {
+        File file = text("t.txt", "10\n-5\n20\n");
+        IOException e = assertThrows(IOException.class, () -> TraceFile.load(file, BlockTrace.Geometry.DEFAULT, 200));
+        assertTrue(e.getMessage().contains("Line 2"), e.getMessage());
+        assertTrue(e.getMessage().contains("negative"), e.getMessage());
+    }
+
+    @Test
+    void rejectsTracksPastTheDiskInABinaryTrace() throws IOException {
+        File file = dir.resolve("t.trace").toFile();
+        TraceFile.save(new TraceFile.Trace(new int[] {10, 500, 20}, null), file);
+        assertEquals(3, TraceFile.load(file, BlockTrace.Geometry.DEFAULT, 500).size());
+        IOException e = assertThrows(IOException.class, () -> TraceFile.load(file, BlockTrace.Geometry.DEFAULT, 200));
+        assertTrue(e.getMessage().contains("Request 2"), e.getMessage());
+    }
+
+    @Test
+    void policiesRejectTracksOffTheDisk() {
+        SchedulerSettings settings = new SchedulerSettings(100, 5, 200);
+        assertThrows(IllegalArgumentException.class, () -> PolicyRun.run("FIFO", new int[] {10, 500, 20}, null, 3, settings, false));
+        assertThrows(IllegalArgumentException.class, () -> PolicyRun.run("SSTF", new int[] {10, 0, 20}, null, 3, settings, false));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class TrackIndexTest {
+    // past 4096 tracks the summary takes more than one word too
+    private static final int HIGHEST = 10000;
+
+    private static void assertMatches(TrackIndex index, boolean[] occupied) {
+        for (int t = 0; t <= HIGHEST; t++) {
+            int ceiling = -1;
+            for (int u = t; u <= HIGHEST && ceiling < 0; u++) {
+                if (occupied[u]) ceiling = u;
+            }
+            int floor = -1;
+            for (int u = t; u >= 0 && floor < 0; u--) {
+                if (occupied[u]) floor = u;
+            }
+            assertEquals(ceiling, index.ceiling(t), "ceiling of " + t);
+            assertEquals(floor, index.floor(t), "floor of " + t);
+        }
+    }
+
+    @Test
+    void findsNeighboursAcrossWordBoundaries() {
+        TrackIndex index = new TrackIndex(HIGHEST, 16);
+        boolean occupied[] = new boolean[HIGHEST + 1];
+        int tracks[] = {0, 63, 64, 127, 4095, 4096, 4160, 9999, HIGHEST};
+        for (int r = 0; r < tracks.length; r++) {
+            index.add(r, tracks[r]);
+            occupied[tracks[r]] = true;
+        }
+        assertMatches(index, occupied);
+        assertEquals(-1, index.floor(-1));
+        assertEquals(-1, index.ceiling(HIGHEST + 1));
+        assertEquals(HIGHEST, index.floor(HIGHEST + 1));
+
+        // emptying a word has to clear its summary bit as well
+        assertEquals(4, index.poll(4095));
+        assertEquals(5, index.poll(4096));
+        occupied[4095] = false;
+        occupied[4096] = false;
+        assertMatches(index, occupied);
+    }
+
+    @Test
+    void matchesAScanOfEveryTrack() {
+        SplittableRandom random = new SplittableRandom(11);
+        int requests = 64;
+        TrackIndex index = new TrackIndex(HIGHEST, requests);
+        boolean occupied[] = new boolean[HIGHEST + 1];
+        int trackOf[] = new int[requests];
+        for (int r = 0; r < requests; r++) {
+            trackOf[r] = random.nextInt(HIGHEST + 1);
+            index.add(r, trackOf[r]);
+            occupied[trackOf[r]] = true;
+        }
+        assertMatches(index, occupied);
+        // take half of them back out, earliest first on each track
+        for (int r = 0; r < requests; r += 2) {
+            int track = trackOf[r];
+            while (index.peek(track) >= 0) index.poll(track);
+            occupied[track] = false;
+        }
+        assertMatches(index, occupied);
+    }
+
+    @Test
+    void sameTrackRequestsComeOutInArrivalOrder() {
+        TrackIndex index = new TrackIndex(HIGHEST, 4);
+        index.add(2, 70);
+        index.add(0, 70);
+        index.add(3, 70);
+        assertEquals(2, index.poll(70));
+        assertEquals(0, index.poll(70));
+        assertEquals(70, index.ceiling(0));
+        assertEquals(3, index.poll(70));
+        assertEquals(-1, index.ceiling(0));
+    }
+}
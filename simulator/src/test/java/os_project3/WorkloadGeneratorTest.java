@@ -0,0 +1,71 @@
+/*
+*   Operating Systems Concepts
+*   NDSU Spring 2019
+*   Prof. Joseph Latimer
+*       Tedd Oravec*
+*       Gerald Mbanu
+*       Samantha Ingersoll
+*       Christopher Busacker
+*/
+package os_project3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class WorkloadGeneratorTest {
+    private static final int TRACKS = 200;
+
+    // the same numbers drawn one at a time on one thread, the way generate() would if it didn't split them into chunks
+    private static int[] serial(String method, int count, long seed) {
+        SplittableRandom root = new SplittableRandom(seed);
+        WorkloadGenerator.Distribution distribution = WorkloadGenerator.distribution(method, TRACKS, root.split());
+        int chunks = (count + WorkloadGenerator.CHUNK - 1) / WorkloadGenerator.CHUNK;
+        SplittableRandom randoms[] = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) {
+            randoms[c] = root.split();
+        }
+        int numbers[] = new int[count];
+        int position = 0;
+        for (int i = 0; i < count; i++) {
+            SplittableRandom random = randoms[i / WorkloadGenerator.CHUNK];
+            int value = (i == 0) ? random.nextInt(TRACKS) : distribution.draw(random);
+            position = (value >= 0) ? value : (int) (((long) position - value - 1) % TRACKS);
+            numbers[i] = position + 1;
+        }
+        return numbers;
+    }
+
+    @Test
+    void chunksJoinUpLikeOneLongRun() {
+        int count = 3 * WorkloadGenerator.CHUNK + 123;
+        for (String method: WorkloadGenerator.methods()) {
+            assertArrayEquals(serial(method, count, 42), WorkloadGenerator.generate(method, count, TRACKS, 42), method);
+        }
+    }
+
+    @Test
+    void aShorterTraceIsTheStartOfALongerOne() {
+        // one chunk, part of a second, and three and a bit
+        int counts[] = {WorkloadGenerator.CHUNK, WorkloadGenerator.CHUNK + 1, 3 * WorkloadGenerator.CHUNK + 5};
+        for (String method: WorkloadGenerator.methods()) {
+            int longest[] = WorkloadGenerator.generate(method, 4 * WorkloadGenerator.CHUNK, TRACKS, 9);
+            for (int count: counts) {
+                assertArrayEquals(Arrays.copyOf(longest, count), WorkloadGenerator.generate(method, count, TRACKS, 9), method + " " + count);
+            }
+        }
+    }
+
+    @Test
+    void theSameSeedMakesTheSameTrace() {
+        for (String method: WorkloadGenerator.methods()) {
+            int first[] = WorkloadGenerator.generate(method, 2 * WorkloadGenerator.CHUNK + 7, TRACKS, 3);
+            assertArrayEquals(first, WorkloadGenerator.generate(method, 2 * WorkloadGenerator.CHUNK + 7, TRACKS, 3), method);
+            for (int track: first) {
+                assertTrue(track >= 1 && track <= TRACKS, method + " made track " + track);
+            }
+        }
+    }
+}